@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+#
+# Side-by-side load test of the event read API served by event-planner (Spring MVC + JPA)
+# and event-planner-reactive (WebFlux + R2DBC) against the same MySQL database.
+#
+# Start both applications first, then run:
+#   ./bench/compare.sh [duration] [connections...]
+# e.g.
+#   ./bench/compare.sh 30s 16 64 256 1024
+#
+# Requires wrk (https://github.com/wg/wrk). Override the targets with MVC_URL / REACTIVE_URL,
+# and the looked-up event with EVENT_ID.
+
+set -euo pipefail
+
+DURATION="${1:-30s}"
+shift || true
+if [ "$#" -gt 0 ]; then
+  CONNECTIONS=("$@")
+else
+  CONNECTIONS=(16 64 256 1024)
+fi
+
+MVC_URL="${MVC_URL:-http://localhost:8080/api}"
+REACTIVE_URL="${REACTIVE_URL:-http://localhost:8081/api}"
+EVENT_ID="${EVENT_ID:-1}"
+THREADS="${THREADS:-$(nproc)}"
+
+ENDPOINTS=(
+  "/v1/events?page=0&size=20"
+  "/v1/events/${EVENT_ID}"
+  "/v1/events/status?status=UPCOMING"
+  "/v1/events/between?start=2020-01-01T00:00:00&end=2030-12-31T23:59:59"
+)
+
+command -v wrk >/dev/null || { echo "wrk is required" >&2; exit 1; }
+
+run() {
+  local label="$1" url="$2" connections="$3"
+  local threads=$(( THREADS < connections ? THREADS : connections ))
+  printf '%-9s c=%-5s ' "$label" "$connections"
+  wrk -t"$threads" -c"$connections" -d"$DURATION" --latency \
+      -H 'Accept: application/json' "$url" \
+    | awk '/Requests\/sec/ {rps=$2} /^ +50%/ {p50=$2} /^ +99%/ {p99=$2} /Non-2xx/ {err=$NF}
+           END {printf "req/s=%-10s p50=%-9s p99=%-9s non2xx=%s\n", rps, p50, p99, (err == "" ? 0 : err)}'
+}
+
+for endpoint in "${ENDPOINTS[@]}"; do
+  echo "== ${endpoint}"
+  for connections in "${CONNECTIONS[@]}"; do
+    run mvc "${MVC_URL}${endpoint}" "$connections"
+    run reactive "${REACTIVE_URL}${endpoint}" "$connections"
+  done
+done
@@ -0,0 +1,13 @@
+package com.bluecomet.event_planner_reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class EventPlannerReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(EventPlannerReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.bluecomet.event_planner_reactive.advice;
+
+import com.bluecomet.event_planner.exception.EventNotFoundException;
+import com.bluecomet.event_planner.model.exchange.ApiErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+/**
+ * Global exception handler for the reactive endpoints, producing the same {@link ApiErrorResponse}
+ * as the {@code event-planner} module.
+ *
+ * @author Priyansu
+ */
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    /**
+     * Handles {@link EventNotFoundException} when an event is not found.
+     *
+     * @param ex       The exception instance.
+     * @param exchange The exchange where the error occurred.
+     * @return A structured {@link ApiErrorResponse} with a 404 NOT FOUND status.
+     */
+    @ExceptionHandler(EventNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleEventNotFoundException(
+            EventNotFoundException ex, ServerWebExchange exchange)
+    {
+        log.warn("Event not found: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), exchange);
+    }
+
+    /**
+     * Handles {@link IllegalArgumentException} when an illegal argument is provided.
+     *
+     * @param ex       The exception instance.
+     * @param exchange The exchange where the error occurred.
+     * @return A structured {@link ApiErrorResponse} with a 400 BAD REQUEST status.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(
+            IllegalArgumentException ex, ServerWebExchange exchange)
+    {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), exchange);
+    }
+
+    private ResponseEntity<ApiErrorResponse> buildErrorResponse(
+            HttpStatus status, String message, ServerWebExchange exchange)
+    {
+        ApiErrorResponse response = ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(exchange.getRequest().getPath().value())
+                .build();
+        return ResponseEntity.status(status).body(response);
+    }
+}
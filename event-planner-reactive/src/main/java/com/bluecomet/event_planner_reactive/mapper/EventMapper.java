@@ -0,0 +1,29 @@
+package com.bluecomet.event_planner_reactive.mapper;
+
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner_reactive.model.entity.Event;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Priyansu
+ */
+@Component
+public class EventMapper {
+
+    /**
+     * Converts an {@link Event} row to the {@link EventResponse} DTO shared with the {@code event-planner} module.
+     *
+     * @param event the Event row
+     * @return the corresponding {@link EventResponse} DTO
+     */
+    public EventResponse toResponse(Event event) {
+        return new EventResponse(
+                event.getId(),
+                event.getName(),
+                event.getLocation(),
+                event.getEventDateTime(),
+                event.getDescription(),
+                event.getStatus()
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package com.bluecomet.event_planner_reactive.model.entity;
+
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of the "events" table, mapped for R2DBC.
+ * <p>
+ * The table is owned by the {@code event-planner} module; this module only reads it.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Table("events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Event {
+
+    @Id
+    @Column("event_id")
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private String location;
+
+    @Column("event_datetime")
+    private LocalDateTime eventDateTime;
+
+    private EventStatus status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
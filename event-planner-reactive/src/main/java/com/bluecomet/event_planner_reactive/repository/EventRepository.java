@@ -0,0 +1,21 @@
+package com.bluecomet.event_planner_reactive.repository;
+
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner_reactive.model.entity.Event;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+/**
+ * @author Priyansu
+ */
+@Repository
+public interface EventRepository extends R2dbcRepository<Event, Long> {
+    Flux<Event> findAllBy(Pageable pageable);
+
+    Flux<Event> findByStatus(EventStatus status);
+
+    Flux<Event> findByEventDateTimeBetween(LocalDateTime start, LocalDateTime end);
+}
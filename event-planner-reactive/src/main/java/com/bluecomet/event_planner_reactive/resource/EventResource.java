@@ -0,0 +1,164 @@
+package com.bluecomet.event_planner_reactive.resource;
+
+import com.bluecomet.event_planner.exception.EventNotFoundException;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner.utils.DateTimeUtils;
+import com.bluecomet.event_planner_reactive.service.impl.EventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+/**
+ * Reactive read endpoints mirroring the {@code EventResource} of the {@code event-planner} module.
+ * <p>
+ * The status and date range lookups can also be requested as {@code application/x-ndjson}; events are then
+ * written one per line as they arrive from the database, under the client's backpressure.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@RestController
+@RequestMapping(path = "/v1/events")
+@Tag(name = "Event Management (Reactive)", description = "Reactive Event Read API")
+@RequiredArgsConstructor
+@Slf4j
+public class EventResource {
+
+    private final EventService eventService;
+
+    /**
+     * Retrieves a paginated list of all events.
+     *
+     * @param page the page number (0-based index)
+     * @param size the number of events per page
+     * @return a paginated list of events or 204 No Content if no events exist
+     */
+    @GetMapping(produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get all events", description = "Retrieve a paginated list of all events")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "List of events fetched successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid pagination parameters"),
+        @ApiResponse(responseCode = "204", description = "No events found")
+    })
+    public Mono<ResponseEntity<Page<EventResponse>>> getAllEvents(
+        @Parameter(description = "Page number (0-based index)", example = "0") @RequestParam(defaultValue = "0") int page,
+        @Parameter(description = "Number of events per page", example = "10") @RequestParam(defaultValue = "10") int size) {
+        log.info("API Call: GET /api/v1/events?page={}&size={} - Fetching paginated events", page, size);
+
+        return eventService.getAllEvents(page, size)
+                .map(events -> events.isEmpty()
+                        ? ResponseEntity.noContent().<Page<EventResponse>>build()
+                        : ResponseEntity.ok(events));
+    }
+
+    /**
+     * Retrieves an event by its unique identifier.
+     *
+     * @param id the unique ID of the event to retrieve
+     * @return the event details {@link EventResponse} if found
+     * @throws EventNotFoundException if no event is found with the given ID
+     */
+    @GetMapping(path = "/{id}", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get an event by ID", description = "Retrieve an event using its ID")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event fetched successfully"),
+        @ApiResponse(responseCode = "404", description = "Event not found exception")
+    })
+    public Mono<EventResponse> getEventById(
+        @Parameter(description = "ID of the event to retrieve", example = "1") @PathVariable Long id) {
+        log.info("API Call: GET /api/v1/events/{} - Fetching event details", id);
+        return eventService.getEventById(id);
+    }
+
+    /**
+     * Streams the events filtered by their status {@link EventStatus}.
+     *
+     * @param status the event status (e.g., UPCOMING, ONGOING, COMPLETED, CANCELLED)
+     * @return the events matching the given status
+     */
+    @GetMapping(path = "/status", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(
+        summary = "Get events by status",
+        description = "Retrieve the events filtered by their status (e.g., UPCOMING, ONGOING, COMPLETED, CANCELLED)"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Events fetched successfully",
+            content = @Content(
+                array = @ArraySchema(
+                    schema = @Schema(implementation = EventResponse.class)))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid event status")
+    })
+    public Flux<EventResponse> getEventsByStatus(
+        @Parameter(name = "status", description = "The status of the Event",
+            required = true, schema = @Schema(
+            description = "Event status must be one of the allowed values",
+            implementation = EventStatus.class))
+        @RequestParam String status) {
+        log.info("API Call: GET /api/v1/events/status?status={} - Fetching events by status", status);
+        return eventService.getEventsByStatus(EventStatus.fromString(status));
+    }
+
+    /**
+     * Streams the events that fall within the specified date range.
+     *
+     * @param start the field containing the start date.
+     * @param end   the field containing the end date.
+     * @return the {@link EventResponse}s in the given range
+     * @throws IllegalArgumentException if the start date is after the end date.
+     */
+    @GetMapping(path = "/between", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(
+        summary = "Get events within a date range",
+        description = "Retrieve the events that fall within the specified date range"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Events fetched successfully",
+            content = @Content(mediaType = "application/json",
+                array = @ArraySchema(
+                    schema = @Schema(implementation = EventResponse.class)
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid date range format")
+    })
+    public Flux<EventResponse> getEventsBetweenDates(
+        @RequestParam
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime start,
+
+        @RequestParam
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime end
+    ) {
+        log.info("API Call: GET /api/v1/events/between - Fetching events from {} to {}", start, end);
+
+        if (!DateTimeUtils.validateStartAndEndDT(start, end))
+            throw new IllegalArgumentException("Invalid date range format");
+
+        return eventService.getEventsByDateTimeRange(start, end);
+    }
+}
@@ -0,0 +1,102 @@
+package com.bluecomet.event_planner_reactive.service.impl;
+
+import com.bluecomet.event_planner.exception.EventNotFoundException;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner_reactive.mapper.EventMapper;
+import com.bluecomet.event_planner_reactive.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of the read operations of the {@code event-planner} {@code EventService}.
+ * <p>
+ * Multi-row results are returned as {@link Flux}es fed straight from the R2DBC result set. Rows are requested
+ * from the driver in batches of {@code event-planner.reactive.stream.prefetch}, so a slow client throttles
+ * the query instead of letting rows pile up in memory.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventService {
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+
+    @Value("${event-planner.reactive.stream.prefetch:256}")
+    private int prefetch;
+
+    /**
+     * Fetches a paginated list of events sorted by event date in descending order, newest ID first on ties.
+     *
+     * @param page the page number (0-based index)
+     * @param size the number of events per page
+     * @return a Page containing {@link EventResponse}
+     */
+    public Mono<Page<EventResponse>> getAllEvents(int page, int size) {
+        log.info("Fetching events - Page: {}, Size: {}", page, size);
+
+        Pageable eventPages = PageRequest.of(page, size,
+                Sort.by("eventDateTime").descending().and(Sort.by("id").descending()));
+        return eventRepository.findAllBy(eventPages)
+                .map(eventMapper::toResponse)
+                .collectList()
+                .zipWith(eventRepository.count())
+                .map(events -> new PageImpl<>(events.getT1(), eventPages, events.getT2()));
+    }
+
+    /**
+     * Fetches an event by its ID.
+     *
+     * @param id the unique identifier of the event
+     * @return the corresponding {@link EventResponse} DTO
+     * @throws EventNotFoundException if the event is not found
+     */
+    public Mono<EventResponse> getEventById(Long id) {
+        log.info("Fetching event with ID: {}", id);
+        return eventRepository.findById(id)
+                .map(eventMapper::toResponse)
+                .switchIfEmpty(Mono.error(() -> new EventNotFoundException("Event with ID: " + id + " not found")));
+    }
+
+    /**
+     * Streams the events with the provided status.
+     *
+     * @param status the event status
+     * @return the event responses DTO {@link EventResponse} matching the status
+     */
+    public Flux<EventResponse> getEventsByStatus(EventStatus status) {
+        log.info("Fetching events with status: {}", status);
+        return eventRepository.findByStatus(status)
+                .limitRate(prefetch)
+                .map(eventMapper::toResponse);
+    }
+
+    /**
+     * Streams the events occurring within the given date range.
+     *
+     * @param start the start date-time of the range.
+     * @param end the end date-time of the range.
+     * @return the {@link EventResponse}s in the range
+     */
+    public Flux<EventResponse> getEventsByDateTimeRange(LocalDateTime start, LocalDateTime end) {
+        log.info("Fetching events between {} and {}", start, end);
+        return eventRepository.findByEventDateTimeBetween(start, end)
+                .limitRate(prefetch)
+                .map(eventMapper::toResponse);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bluecomet.event_planner_reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class EventPlannerReactiveApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.bluecomet.event_planner.actuator;
+
+import com.bluecomet.event_planner.model.exchange.FlightRecordingSummary;
+import com.bluecomet.event_planner.service.impl.FlightRecorderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Management endpoint over the continuous flight recording, exposed as {@code /actuator/flightrecording}.
+ * <ul>
+ *     <li>{@code GET} summarizes the last {@code minutes} (5 by default) into hot methods, allocation sites,
+ *     GC pauses and socket wait time;</li>
+ *     <li>{@code POST} dumps the whole recorded window and returns it as a {@code .jfr} file.</li>
+ * </ul>
+ * Both answer 404 when continuous recording is disabled. Access requires management credentials, see
+ * {@link com.bluecomet.event_planner.config.SecurityConfig}.
+ *
+ * @author Priyansu
+ */
+@Component
+@Endpoint(id = "flightrecording")
+@RequiredArgsConstructor
+public class FlightRecordingEndpoint {
+
+    private static final int DEFAULT_WINDOW_MINUTES = 5;
+
+    private final FlightRecorderService flightRecorderService;
+
+    @ReadOperation
+    public WebEndpointResponse<FlightRecordingSummary> summary(@Nullable Integer minutes) {
+        Duration window = Duration.ofMinutes(minutes == null ? DEFAULT_WINDOW_MINUTES : Math.max(1, minutes));
+        return flightRecorderService.summarize(window)
+                .map(summary -> new WebEndpointResponse<>(summary))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Resource> dump() {
+        return flightRecorderService.dump()
+                .<WebEndpointResponse<Resource>>map(file -> new WebEndpointResponse<>(new FileSystemResource(file)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
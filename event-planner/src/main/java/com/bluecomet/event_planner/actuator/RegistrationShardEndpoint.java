@@ -0,0 +1,64 @@
+package com.bluecomet.event_planner.actuator;
+
+import com.bluecomet.event_planner.model.exchange.RegistrationShardReport;
+import com.bluecomet.event_planner.model.exchange.RegistrationShardReport.BucketMove;
+import com.bluecomet.event_planner.shard.RegistrationShardMap;
+import com.bluecomet.event_planner.shard.ShardRebalancer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Management endpoint over the registration shards, exposed as {@code /actuator/registrationshards}.
+ * <ul>
+ *     <li>{@code GET} reports the buckets per shard, the frozen buckets and the bucket moves;</li>
+ *     <li>{@code POST /{bucket}} with a {@code shard} queues the move of a bucket to that shard;</li>
+ *     <li>{@code POST} queues the moves that spread the buckets evenly over all shards.</li>
+ * </ul>
+ * Moves run in the background, one at a time, see {@link ShardRebalancer}. Access requires management
+ * credentials, see {@link com.bluecomet.event_planner.config.SecurityConfig}.
+ *
+ * @author Priyansu
+ */
+@Component
+@Endpoint(id = "registrationshards")
+@RequiredArgsConstructor
+public class RegistrationShardEndpoint {
+
+    private final RegistrationShardMap registrationShardMap;
+    private final ShardRebalancer shardRebalancer;
+
+    @ReadOperation
+    public RegistrationShardReport report() {
+        Map<String, Integer> bucketsPerShard = new LinkedHashMap<>();
+        registrationShardMap.bucketsByShard().forEach((shard, buckets) -> bucketsPerShard.put(shard, buckets.size()));
+        return new RegistrationShardReport(
+                registrationShardMap.bucketCount(),
+                bucketsPerShard,
+                registrationShardMap.frozenBuckets(),
+                shardRebalancer.pendingMoves(),
+                shardRebalancer.lastResult().orElse(null));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<BucketMove> move(@Selector int bucket, String shard) {
+        try {
+            return new WebEndpointResponse<>(shardRebalancer.startMove(bucket, shard));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @WriteOperation
+    public List<BucketMove> rebalance() {
+        return shardRebalancer.startRebalance();
+    }
+}
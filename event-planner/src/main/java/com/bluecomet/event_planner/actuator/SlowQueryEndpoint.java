@@ -0,0 +1,40 @@
+package com.bluecomet.event_planner.actuator;
+
+import com.bluecomet.event_planner.jdbc.SlowQueryRecorder;
+import com.bluecomet.event_planner.model.exchange.SlowQueryReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Management endpoint listing the slowest statement shapes with their captured execution plans, exposed as
+ * {@code /actuator/slowqueries}. {@code DELETE} clears the statistics, for example after an index change.
+ *
+ * @author Priyansu
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    @Value("${event-planner.slow-query.top-n:20}")
+    private int defaultLimit;
+
+    @ReadOperation
+    public List<SlowQueryReport> slowQueries(@Nullable Integer limit) {
+        return slowQueryRecorder.topSlowShapes(limit == null ? defaultLimit : Math.max(1, limit));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryRecorder.reset();
+    }
+}
@@ -6,8 +6,11 @@ import com.bluecomet.event_planner.exception.EventNotFoundException;
 import com.bluecomet.event_planner.exception.RegistrationAlreadyCancelledException;
 import com.bluecomet.event_planner.exception.RegistrationAlreadyExistsException;
 import com.bluecomet.event_planner.exception.RegistrationNotFoundException;
+import com.bluecomet.event_planner.exception.ShardUnavailableException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -33,6 +36,11 @@ import java.time.LocalDateTime;
  * </p>
  *
  * <p>
+ * Expected business outcomes are raised as stackless {@link com.bluecomet.event_planner.exception.BusinessException}s,
+ * or returned without any exception where the endpoint uses {@link RejectionResponses}.
+ * </p>
+ *
+ * <p>
  * Uses {@link RestControllerAdvice} to globally handle exceptions for REST controllers
  * and {@link Slf4j} for logging.
  * </p>
@@ -136,6 +144,39 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Handles {@link OptimisticLockingFailureException} once all retries of a concurrent update are exhausted.
+     *
+     * @param ex      The exception instance.
+     * @param request The web request where the error occurred.
+     * @return A structured {@link ApiErrorResponse} with a 409 CONFLICT status.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request)
+    {
+        log.warn("Concurrent update conflict: {}", ex.getMessage());
+        ApiErrorResponse response = buildErrorResponse(HttpStatus.CONFLICT,
+                "The resource was modified concurrently, please retry the request.", request);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Handles {@link ShardUnavailableException} while a registration shard is being rebalanced or does not answer.
+     *
+     * @param ex      The exception instance.
+     * @param request The web request where the error occurred.
+     * @return A structured {@link ApiErrorResponse} with a 503 SERVICE UNAVAILABLE status and a Retry-After header.
+     */
+    @ExceptionHandler(ShardUnavailableException.class)
+    public ResponseEntity<ApiErrorResponse> handleShardUnavailableException(
+            ShardUnavailableException ex, WebRequest request)
+    {
+        log.warn("Registration shard unavailable: {}", ex.getMessage());
+        ApiErrorResponse response = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+    }
+
     /**
      * Handles generic exceptions that are not explicitly caught by other handlers.
      *
@@ -146,6 +187,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGeneralException(Exception ex, WebRequest request)
     {
+        // Unlike the expected business outcomes above, this is a genuine fault: keep its stack trace
+        log.error("Unexpected error while handling {}", ((ServletWebRequest) request).getRequest().getRequestURI(), ex);
         ApiErrorResponse response = buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR,
                 "An unexpected error occurred: " + ex.getMessage(), request);
 
@@ -0,0 +1,42 @@
+package com.bluecomet.event_planner.advice;
+
+import com.bluecomet.event_planner.exception.EventNotFoundException;
+import com.bluecomet.event_planner.exception.RegistrationNotFoundException;
+import graphql.GraphQLError;
+import graphql.schema.DataFetchingEnvironment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+/**
+ * Maps exceptions raised by GraphQL data fetchers to GraphQL errors, mirroring {@link GlobalExceptionHandler}
+ * for the REST endpoints.
+ *
+ * @author Priyansu
+ */
+@ControllerAdvice
+@Slf4j
+public class GraphQLExceptionHandler {
+
+    @GraphQlExceptionHandler({EventNotFoundException.class, RegistrationNotFoundException.class})
+    public GraphQLError handleNotFound(RuntimeException ex, DataFetchingEnvironment environment) {
+        log.warn("GraphQL lookup failed: {}", ex.getMessage());
+        return error(ErrorType.NOT_FOUND, ex, environment);
+    }
+
+    @GraphQlExceptionHandler(IllegalArgumentException.class)
+    public GraphQLError handleIllegalArgument(IllegalArgumentException ex, DataFetchingEnvironment environment) {
+        log.warn("Invalid GraphQL argument: {}", ex.getMessage());
+        return error(ErrorType.BAD_REQUEST, ex, environment);
+    }
+
+    private GraphQLError error(ErrorType errorType, RuntimeException ex, DataFetchingEnvironment environment) {
+        return GraphQLError.newError()
+                .errorType(errorType)
+                .message(ex.getMessage())
+                .path(environment.getExecutionStepInfo().getPath())
+                .location(environment.getField().getSourceLocation())
+                .build();
+    }
+}
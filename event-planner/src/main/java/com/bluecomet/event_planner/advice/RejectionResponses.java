@@ -0,0 +1,55 @@
+package com.bluecomet.event_planner.advice;
+
+import com.bluecomet.event_planner.model.exchange.ApiErrorResponse;
+import com.bluecomet.event_planner.model.vo.Outcome;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Renders an {@link Outcome} returned by a service as an HTTP response.
+ * <p>
+ * This is the non-throwing counterpart of {@link GlobalExceptionHandler} for expected rejections: the error
+ * body has the same shape, but no exception is created or dispatched through the handler chain.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Slf4j
+public final class RejectionResponses {
+    private RejectionResponses() {}
+
+    /**
+     * Returns 200 with the value of a successful outcome, or the mapped error status and an
+     * {@link ApiErrorResponse} for a rejected one.
+     *
+     * @param outcome the service outcome
+     * @param request the request being answered, for the error path
+     * @return the response entity
+     */
+    public static ResponseEntity<?> toResponse(Outcome<?> outcome, HttpServletRequest request) {
+        return switch (outcome) {
+            case Outcome.Success<?> success -> ResponseEntity.ok(success.value());
+            case Outcome.Failure<?> failure -> rejected(failure, request);
+        };
+    }
+
+    private static ResponseEntity<ApiErrorResponse> rejected(Outcome.Failure<?> failure, HttpServletRequest request) {
+        HttpStatus status = failure.rejection().getStatus();
+        String message = failure.message();
+        log.debug("Request to {} rejected: {}", request.getRequestURI(), message);
+
+        ApiErrorResponse response = ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(status).body(response);
+    }
+}
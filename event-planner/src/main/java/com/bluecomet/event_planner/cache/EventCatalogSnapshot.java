@@ -0,0 +1,197 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Read-only, memory-mapped view of an event catalog snapshot file.
+ * <p>
+ * The file is laid out as follows, all numbers big-endian:
+ * </p>
+ * <pre>
+ * header      magic:int, formatVersion:int, watermark:long, rowCount:int,
+ *             rowsOffset:int, dateIndexOffset:int, stringPoolOffset:int, reserved:int
+ * rows        rowCount fixed-width rows sorted by event ID:
+ *             id:long, eventDateTime:long, updatedAt:long,
+ *             nameRef:int, locationRef:int, descriptionRef:int, status:byte, padding:3
+ * dateIndex   rowCount row numbers ordered by eventDateTime descending, then ID descending
+ * stringPool  length-prefixed UTF-8 strings referenced by offset, identical strings stored once
+ * </pre>
+ * <p>
+ * Timestamps are stored as microseconds since the epoch, reading the {@link LocalDateTime} as UTC.
+ * A {@code descriptionRef} of {@code -1} stands for a {@code null} description. Rows are decoded straight
+ * from the mapping, so the catalog itself never lives on the heap.
+ * </p>
+ *
+ * @author Priyansu
+ */
+public final class EventCatalogSnapshot {
+
+    static final int MAGIC = 0x42434543;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 36;
+    static final int ROW_BYTES = 40;
+    static final int NULL_REF = -1;
+
+    private static final EventStatus[] STATUSES = EventStatus.values();
+
+    private final ByteBuffer buffer;
+    private final LocalDateTime watermark;
+    private final int rowCount;
+    private final int rowsOffset;
+    private final int dateIndexOffset;
+    private final int stringPoolOffset;
+
+    private EventCatalogSnapshot(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not an event catalog snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported event catalog snapshot version " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.watermark = decodeDateTime(buffer.getLong(8));
+        this.rowCount = buffer.getInt(16);
+        this.rowsOffset = buffer.getInt(20);
+        this.dateIndexOffset = buffer.getInt(24);
+        this.stringPoolOffset = buffer.getInt(28);
+    }
+
+    /**
+     * Maps a snapshot file into memory.
+     *
+     * @param path the snapshot file
+     * @return the mapped snapshot
+     * @throws IOException              if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is not a supported snapshot
+     */
+    public static EventCatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new EventCatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return the time up to which every change is contained in this snapshot
+     */
+    public LocalDateTime watermark() {
+        return watermark;
+    }
+
+    /**
+     * @return the number of events in the snapshot
+     */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * @return the row number of the event with the given ID, or {@code -1} if it is not in the snapshot
+     */
+    public int rowOf(long id) {
+        int low = 0;
+        int high = rowCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the row number at the given position of the eventDateTime-descending order
+     */
+    public int rowInDateOrder(int position) {
+        return buffer.getInt(dateIndexOffset + position * Integer.BYTES);
+    }
+
+    /**
+     * @return the position of the given row in the eventDateTime-descending order, found by binary search
+     */
+    public int positionInDateOrder(int row) {
+        long dateTime = buffer.getLong(rowOffset(row) + 8);
+        long id = idAt(row);
+        int low = 0;
+        int high = rowCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midRow = rowInDateOrder(mid);
+            long midDateTime = buffer.getLong(rowOffset(midRow) + 8);
+            long midId = idAt(midRow);
+            if (midDateTime > dateTime || midDateTime == dateTime && midId > id) {
+                low = mid + 1;
+            } else if (midDateTime < dateTime || midId < id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IllegalArgumentException("Row " + row + " is not in the date index");
+    }
+
+    public long idAt(int row) {
+        return buffer.getLong(rowOffset(row));
+    }
+
+    public LocalDateTime eventDateTimeAt(int row) {
+        return decodeDateTime(buffer.getLong(rowOffset(row) + 8));
+    }
+
+    public LocalDateTime updatedAtAt(int row) {
+        return decodeDateTime(buffer.getLong(rowOffset(row) + 16));
+    }
+
+    /**
+     * Decodes the event stored at the given row.
+     */
+    public EventResponse eventAt(int row) {
+        int offset = rowOffset(row);
+        return new EventResponse(
+                buffer.getLong(offset),
+                string(buffer.getInt(offset + 24)),
+                string(buffer.getInt(offset + 28)),
+                decodeDateTime(buffer.getLong(offset + 8)),
+                string(buffer.getInt(offset + 32)),
+                STATUSES[buffer.get(offset + 36)]
+        );
+    }
+
+    static long encodeDateTime(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime decodeDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private int rowOffset(int row) {
+        return rowsOffset + row * ROW_BYTES;
+    }
+
+    private String string(int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        int position = stringPoolOffset + ref;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,349 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.mapper.EventMapper;
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.entity.Event;
+import com.bluecomet.event_planner.model.entity.EventDeletion;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+import com.bluecomet.event_planner.repository.EventDeletionRepository;
+import com.bluecomet.event_planner.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the event catalog from a memory-mapped {@link EventCatalogSnapshot} so a freshly started instance
+ * can answer event reads before its database connections and caches are warm.
+ * <p>
+ * The snapshot is mapped at startup and periodically rewritten from the database. Changes newer than the
+ * snapshot are kept in a small on-heap overlay, fed by local {@link EventChange}s after commit and by an
+ * incremental catch-up that reads every event whose {@code updatedAt} is not older than the last watermark,
+ * together with the {@link EventDeletion} tombstones of events deleted or archived since then on any node.
+ * Watermarks are taken from the start of each scan, moved back by a clock-skew margin, so rows committed
+ * while a scan runs are picked up by the next one.
+ * </p>
+ * <p>
+ * Tombstones are kept for {@code event-planner.event-catalog.snapshot.deletion-retention}; a snapshot file
+ * older than that at startup is ignored and rewritten, since the removals it misses can no longer be caught up.
+ * Point reads only use the snapshot while the instance warms up, until the first catch-up succeeds; after
+ * that, {@code EventService} reads events from the database and only deep listing pages come from here.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventCatalogSnapshotStore {
+
+    private static final Comparator<EventResponse> DATE_ORDER =
+            Comparator.comparing(EventResponse::eventDateTime).thenComparing(EventResponse::id).reversed();
+
+    private final EventRepository eventRepository;
+    private final EventDeletionRepository eventDeletionRepository;
+    private final EventMapper eventMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, OverlayEntry> overlay = new ConcurrentHashMap<>();
+    private volatile EventCatalogSnapshot snapshot;
+    private volatile LocalDateTime catchUpFrom;
+    private volatile boolean caughtUp;
+
+    @Value("${event-planner.event-catalog.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${event-planner.event-catalog.snapshot.path:${java.io.tmpdir}/event-planner/event-catalog.snapshot}")
+    private Path path;
+
+    @Value("${event-planner.event-catalog.snapshot.write-interval:PT10M}")
+    private Duration writeInterval;
+
+    @Value("${event-planner.event-catalog.snapshot.clock-skew-margin:PT5S}")
+    private Duration clockSkewMargin;
+
+    @Value("${event-planner.event-catalog.snapshot.scan-chunk-size:1000}")
+    private int scanChunkSize;
+
+    @Value("${event-planner.event-catalog.snapshot.deletion-retention:P1D}")
+    private Duration deletionRetention;
+
+    @PostConstruct
+    void load() {
+        if (!enabled || !Files.exists(path)) {
+            return;
+        }
+        try {
+            EventCatalogSnapshot loaded = EventCatalogSnapshot.open(path);
+            if (loaded.watermark().isBefore(LocalDateTime.now().minus(deletionRetention))) {
+                log.info("Ignoring event catalog snapshot with watermark {}, older than the deletion tombstones",
+                        loaded.watermark());
+                return;
+            }
+            catchUpFrom = loaded.watermark();
+            snapshot = loaded;
+            log.info("Mapped event catalog snapshot with {} events, watermark {}", loaded.size(), loaded.watermark());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable event catalog snapshot at {}", path, e);
+        }
+    }
+
+    /**
+     * @return {@code true} once a snapshot is mapped and reads can be served from it
+     */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * @return {@code true} while a snapshot is mapped but no catch-up has succeeded yet, so that point reads
+     * cannot reach the database or would find its caches cold
+     */
+    public boolean isWarmingUp() {
+        return snapshot != null && !caughtUp;
+    }
+
+    /**
+     * Looks up an event by ID.
+     *
+     * @return the event, or empty if it is unknown or deleted here, in which case the database has the final say
+     */
+    public Optional<EventResponse> find(long id) {
+        OverlayEntry entry = overlay.get(id);
+        if (entry != null) {
+            return Optional.ofNullable(entry.event());
+        }
+        EventCatalogSnapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        int row = current.rowOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(current.eventAt(row));
+    }
+
+    /**
+     * Returns a page of events ordered by event date descending, then ID descending, merging the snapshot
+     * with the overlay.
+     * <p>
+     * The page start is found by a binary search over the date index, counting the overlay events and the
+     * shadowed snapshot rows ahead of each probed position, so deep pages cost no more than the first one.
+     * </p>
+     *
+     * @param page the page number (0-based index)
+     * @param size the number of events per page
+     */
+    public Page<EventResponse> findPage(int page, int size) {
+        EventCatalogSnapshot current = snapshot;
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by("eventDateTime").descending().and(Sort.by("id").descending()));
+
+        List<EventResponse> overlayEvents = new ArrayList<>();
+        List<Integer> shadowed = new ArrayList<>();
+        for (Map.Entry<Long, OverlayEntry> entry : overlay.entrySet()) {
+            int row = current.rowOf(entry.getKey());
+            if (row >= 0) {
+                shadowed.add(current.positionInDateOrder(row));
+            }
+            if (entry.getValue().event() != null) {
+                overlayEvents.add(entry.getValue().event());
+            }
+        }
+        overlayEvents.sort(DATE_ORDER);
+        int[] shadowedPositions = shadowed.stream().mapToInt(Integer::intValue).sorted().toArray();
+
+        // Seek to the last date index position with at most offset events ahead of it
+        long offset = pageable.getOffset();
+        int position = 0;
+        int overlayIndex = 0;
+        long skipped = 0;
+        if (eventsAhead(current, overlayEvents, shadowedPositions, 0) <= offset) {
+            int low = 0;
+            int high = current.size();
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (eventsAhead(current, overlayEvents, shadowedPositions, mid) <= offset) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            position = low;
+            overlayIndex = overlayAhead(current, overlayEvents, low);
+            skipped = eventsAhead(current, overlayEvents, shadowedPositions, low);
+        }
+
+        List<EventResponse> content = new ArrayList<>(size);
+        while (content.size() < size) {
+            while (position < current.size() && Arrays.binarySearch(shadowedPositions, position) >= 0) {
+                position++;
+            }
+            EventResponse fromOverlay = overlayIndex < overlayEvents.size() ? overlayEvents.get(overlayIndex) : null;
+            int row = position < current.size() ? current.rowInDateOrder(position) : -1;
+            if (fromOverlay == null && row < 0) {
+                break;
+            }
+            boolean takeOverlay = row < 0 || fromOverlay != null
+                    && DATE_ORDER.compare(fromOverlay, snapshotKey(current, row)) <= 0;
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                content.add(takeOverlay ? fromOverlay : current.eventAt(row));
+            }
+            if (takeOverlay) {
+                overlayIndex++;
+            } else {
+                position++;
+            }
+        }
+        long total = current.size() - shadowedPositions.length + overlayEvents.size();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Records a committed local change in the overlay.
+     */
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        if (!enabled) {
+            return;
+        }
+        EventResponse event = change.type() == EventChangeType.DELETED || change.type() == EventChangeType.ARCHIVED
+                ? null : change.event();
+        apply(change.eventId(), new OverlayEntry(event, change.occurredAt()));
+    }
+
+    /**
+     * Pulls events changed on any node since the last watermark into the overlay.
+     */
+    @Scheduled(
+        initialDelayString = "${event-planner.event-catalog.snapshot.catch-up-interval:PT10S}",
+        fixedDelayString = "${event-planner.event-catalog.snapshot.catch-up-interval:PT10S}"
+    )
+    public void catchUp() {
+        LocalDateTime from = catchUpFrom;
+        if (!enabled || from == null) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now().minus(clockSkewMargin);
+        List<Event> changed = eventRepository.findByUpdatedAtGreaterThanEqual(from);
+        changed.forEach(event -> apply(event.getId(), new OverlayEntry(eventMapper.toResponse(event), event.getUpdatedAt())));
+        List<EventDeletion> deleted = eventDeletionRepository.findByDeletedAtGreaterThanEqual(from);
+        deleted.forEach(deletion -> apply(deletion.getEventId(), new OverlayEntry(null, deletion.getDeletedAt())));
+        catchUpFrom = started;
+        caughtUp = true;
+        log.debug("Event catalog catch-up from {} applied {} changes and {} deletions",
+                from, changed.size(), deleted.size());
+    }
+
+    /**
+     * Rewrites the snapshot file from the database once the current one is older than the write interval,
+     * or straight away if there is none yet, and prunes the overlay entries it now contains.
+     */
+    @Scheduled(
+        initialDelayString = "${event-planner.event-catalog.snapshot.catch-up-interval:PT10S}",
+        fixedDelayString = "${event-planner.event-catalog.snapshot.catch-up-interval:PT10S}"
+    )
+    public synchronized void rewriteIfStale() {
+        EventCatalogSnapshot current = snapshot;
+        if (!enabled || current != null
+                && current.watermark().isAfter(LocalDateTime.now().minus(writeInterval))) {
+            return;
+        }
+        long started = System.nanoTime();
+        LocalDateTime watermark = LocalDateTime.now().minus(clockSkewMargin);
+        EventCatalogSnapshotWriter writer = new EventCatalogSnapshotWriter();
+        long afterId = 0L;
+        List<Event> chunk;
+        do {
+            chunk = eventRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(scanChunkSize));
+            chunk.forEach(writer::add);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.getLast().getId();
+            }
+        } while (chunk.size() == scanChunkSize);
+
+        try {
+            writer.writeTo(path, watermark);
+            EventCatalogSnapshot written = EventCatalogSnapshot.open(path);
+            if (catchUpFrom == null) {
+                catchUpFrom = watermark;
+            }
+            snapshot = written;
+            overlay.entrySet().removeIf(entry -> entry.getValue().updatedAt().isBefore(watermark));
+            transactionTemplate.executeWithoutResult(status -> eventDeletionRepository.deleteByDeletedAtBefore(
+                    LocalDateTime.now().minus(deletionRetention)));
+            log.info("Wrote event catalog snapshot with {} events in {} ms", written.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Failed to write event catalog snapshot to {}", path, e);
+        }
+    }
+
+    private void apply(Long eventId, OverlayEntry entry) {
+        overlay.merge(eventId, entry, (existing, candidate) ->
+                candidate.updatedAt().isBefore(existing.updatedAt()) ? existing : candidate);
+    }
+
+    /**
+     * @return the number of merged events ahead of the given date index position, which need not be visible
+     */
+    private static long eventsAhead(EventCatalogSnapshot snapshot, List<EventResponse> overlayEvents,
+                                    int[] shadowedPositions, int position) {
+        int shadowedAhead = Arrays.binarySearch(shadowedPositions, position);
+        shadowedAhead = shadowedAhead >= 0 ? shadowedAhead : -shadowedAhead - 1;
+        return position - shadowedAhead + overlayAhead(snapshot, overlayEvents, position);
+    }
+
+    /**
+     * @return the number of overlay events ordered before the given date index position
+     */
+    private static int overlayAhead(EventCatalogSnapshot snapshot, List<EventResponse> overlayEvents, int position) {
+        if (position >= snapshot.size()) {
+            return overlayEvents.size();
+        }
+        EventResponse key = snapshotKey(snapshot, snapshot.rowInDateOrder(position));
+        int low = 0;
+        int high = overlayEvents.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (DATE_ORDER.compare(overlayEvents.get(mid), key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static EventResponse snapshotKey(EventCatalogSnapshot snapshot, int row) {
+        return new EventResponse(snapshot.idAt(row), null, null, snapshot.eventDateTimeAt(row), null, null);
+    }
+
+    /**
+     * A change newer than the snapshot; a {@code null} event marks a deletion.
+     */
+    private record OverlayEntry(EventResponse event, LocalDateTime updatedAt) {}
+}
@@ -0,0 +1,124 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.entity.Event;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds an event catalog snapshot file in the format read by {@link EventCatalogSnapshot}.
+ * <p>
+ * Events may be added in any order. The file is first written next to its target and then moved over it
+ * atomically, so a reader never maps a half-written snapshot.
+ * </p>
+ *
+ * @author Priyansu
+ */
+final class EventCatalogSnapshotWriter {
+
+    private final List<Event> events = new ArrayList<>();
+    private final Map<String, Integer> stringRefs = new HashMap<>();
+    private final List<byte[]> strings = new ArrayList<>();
+    private int stringPoolBytes;
+
+    void add(Event event) {
+        events.add(event);
+    }
+
+    /**
+     * Writes the snapshot to the given path.
+     *
+     * @param target    the snapshot file to replace
+     * @param watermark the time up to which every change is contained in the added events
+     */
+    void writeTo(Path target, LocalDateTime watermark) throws IOException {
+        events.sort(Comparator.comparing(Event::getId));
+        int rowCount = events.size();
+
+        int[] nameRefs = new int[rowCount];
+        int[] locationRefs = new int[rowCount];
+        int[] descriptionRefs = new int[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            Event event = events.get(row);
+            nameRefs[row] = intern(event.getName());
+            locationRefs[row] = intern(event.getLocation());
+            descriptionRefs[row] = intern(event.getDescription());
+        }
+
+        int rowsOffset = EventCatalogSnapshot.HEADER_BYTES;
+        int dateIndexOffset = rowsOffset + rowCount * EventCatalogSnapshot.ROW_BYTES;
+        int stringPoolOffset = dateIndexOffset + rowCount * Integer.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(stringPoolOffset + stringPoolBytes);
+
+        buffer.putInt(EventCatalogSnapshot.MAGIC)
+                .putInt(EventCatalogSnapshot.FORMAT_VERSION)
+                .putLong(EventCatalogSnapshot.encodeDateTime(watermark))
+                .putInt(rowCount)
+                .putInt(rowsOffset)
+                .putInt(dateIndexOffset)
+                .putInt(stringPoolOffset)
+                .putInt(0);
+
+        for (int row = 0; row < rowCount; row++) {
+            Event event = events.get(row);
+            buffer.putLong(event.getId())
+                    .putLong(EventCatalogSnapshot.encodeDateTime(event.getEventDateTime()))
+                    .putLong(EventCatalogSnapshot.encodeDateTime(event.getUpdatedAt()))
+                    .putInt(nameRefs[row])
+                    .putInt(locationRefs[row])
+                    .putInt(descriptionRefs[row])
+                    .put((byte) event.getStatus().ordinal())
+                    .put(new byte[3]);
+        }
+
+        List<Integer> dateOrder = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            dateOrder.add(row);
+        }
+        dateOrder.sort(Comparator.comparing((Integer row) -> events.get(row).getEventDateTime())
+                .thenComparing(row -> events.get(row).getId())
+                .reversed());
+        dateOrder.forEach(buffer::putInt);
+
+        for (byte[] string : strings) {
+            buffer.putInt(string.length).put(string);
+        }
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private int intern(String value) {
+        if (value == null) {
+            return EventCatalogSnapshot.NULL_REF;
+        }
+        return stringRefs.computeIfAbsent(value, key -> {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            int ref = stringPoolBytes;
+            strings.add(bytes);
+            stringPoolBytes += Integer.BYTES + bytes.length;
+            return ref;
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Approximate event counts for listings, so totals can be shown without a {@code COUNT(*)} per request.
+ * <p>
+ * A periodic refresh counts events per status and calendar month of their event date in one grouped
+ * query. Status totals are exact as of the last refresh; date range totals add up the months the range
+ * covers, pro-rating the months it only partly covers by the share of time it overlaps them.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventCountEstimator {
+
+    private final EventRepository eventRepository;
+
+    private volatile Counts counts;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${event-planner.count-estimate.refresh-interval:PT1M}",
+        fixedDelayString = "${event-planner.count-estimate.refresh-interval:PT1M}"
+    )
+    public void refresh() {
+        Map<EventStatus, Long> byStatus = new EnumMap<>(EventStatus.class);
+        Map<YearMonth, Long> byMonth = new HashMap<>();
+        List<Object[]> rows = eventRepository.countByStatusAndMonth();
+        for (Object[] row : rows) {
+            long count = ((Number) row[3]).longValue();
+            byStatus.merge((EventStatus) row[0], count, Long::sum);
+            byMonth.merge(YearMonth.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue()), count, Long::sum);
+        }
+        counts = new Counts(byStatus, byMonth);
+        log.debug("Refreshed event count estimates over {} status/month groups", rows.size());
+    }
+
+    /**
+     * @return the estimated number of events, or empty until the first refresh
+     */
+    public OptionalLong total() {
+        Counts current = counts;
+        return current == null ? OptionalLong.empty()
+                : OptionalLong.of(current.byStatus().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    /**
+     * @return the estimated number of events with the status, or empty until the first refresh
+     */
+    public OptionalLong byStatus(EventStatus status) {
+        Counts current = counts;
+        return current == null ? OptionalLong.empty() : OptionalLong.of(current.byStatus().getOrDefault(status, 0L));
+    }
+
+    /**
+     * @return the estimated number of events dated within the range, or empty until the first refresh
+     */
+    public OptionalLong between(LocalDateTime start, LocalDateTime end) {
+        Counts current = counts;
+        if (current == null) {
+            return OptionalLong.empty();
+        }
+        double estimate = 0;
+        for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+            Long count = current.byMonth().get(month);
+            if (count == null) {
+                continue;
+            }
+            LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+            LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+            LocalDateTime overlapStart = start.isAfter(monthStart) ? start : monthStart;
+            LocalDateTime overlapEnd = end.isBefore(monthEnd) ? end : monthEnd;
+            estimate += count * (double) Duration.between(overlapStart, overlapEnd).toSeconds()
+                    / Duration.between(monthStart, monthEnd).toSeconds();
+        }
+        return OptionalLong.of(Math.round(estimate));
+    }
+
+    private record Counts(Map<EventStatus, Long> byStatus, Map<YearMonth, Long> byMonth) {}
+}
@@ -0,0 +1,189 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.mapper.EventMapper;
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.entity.Event;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+import com.bluecomet.event_planner.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * The first {@code event-planner.listing-window.capacity} events of the listing order (event date
+ * descending, then ID descending) together with the total event count, so the first pages of
+ * {@code getAllEvents} are served without a sorted query or a {@code COUNT(*)}.
+ * <p>
+ * The window is loaded from the database and then kept up to date from committed local {@link EventChange}s.
+ * When an event leaves the window through an update or delete, the event that would move up to replace it is
+ * not known, so the window shrinks by one; pages reaching past the current window fall back to the database.
+ * The scheduled refresh reloads the window, restoring its capacity and picking up changes made on other nodes.
+ * </p>
+ * <p>
+ * Readers never see a window being modified: every refresh and every change builds a new {@link Listing} off
+ * to the side and publishes it, window and count together, with a single volatile write. A change that
+ * creates or removes an event and was made before the current window finished loading may or may not be
+ * counted in it already; the window is reloaded instead of guessing.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventListingWindow {
+
+    private static final Sort LISTING_ORDER = Sort.by("eventDateTime").descending().and(Sort.by("id").descending());
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+
+    /** The published window, or {@code null} until it is first loaded. */
+    private volatile Listing listing;
+
+    @Value("${event-planner.listing-window.capacity:1000}")
+    private int capacity;
+
+    /**
+     * Loads the window once the application has started and reloads it periodically.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${event-planner.listing-window.refresh-interval:PT1M}",
+        fixedDelayString = "${event-planner.listing-window.refresh-interval:PT1M}"
+    )
+    public synchronized void refresh() {
+        Page<Event> top = eventRepository.findAll(PageRequest.of(0, capacity, LISTING_ORDER));
+        LocalDateTime loadedAt = LocalDateTime.now();
+        NavigableMap<ListingKey, EventResponse> window = new TreeMap<>();
+        Map<Long, ListingKey> keysById = new HashMap<>();
+        top.forEach(event -> put(window, keysById, eventMapper.toResponse(event)));
+        listing = new Listing(window, keysById, top.getTotalElements(), loadedAt);
+        log.debug("Event listing window loaded with {} of {} events", window.size(), top.getTotalElements());
+    }
+
+    /**
+     * Returns the requested page if the window covers it.
+     *
+     * @param page the page number (0-based index)
+     * @param size the number of events per page
+     * @return the page, or empty if it reaches past the window
+     */
+    public Optional<Page<EventResponse>> findPage(int page, int size) {
+        Listing current = listing;
+        if (current == null) {
+            return Optional.empty();
+        }
+        int held = current.window().size();
+        long end = (long) page * size + size;
+        if (end > held && held < current.totalEvents()) {
+            return Optional.empty();
+        }
+        Pageable pageable = PageRequest.of(page, size, LISTING_ORDER);
+        List<EventResponse> content = current.window().values().stream()
+                .skip(pageable.getOffset())
+                .limit(size)
+                .toList();
+        return Optional.of(new PageImpl<>(content, pageable, current.totalEvents()));
+    }
+
+    /**
+     * Applies a committed local change to a copy of the window and publishes it.
+     */
+    @TransactionalEventListener
+    public synchronized void onEventChange(EventChange change) {
+        Listing current = listing;
+        if (current == null) {
+            return;
+        }
+        boolean counted = change.type() == EventChangeType.CREATED || change.type() == EventChangeType.DELETED
+                || change.type() == EventChangeType.ARCHIVED;
+        if (counted && !change.occurredAt().isAfter(current.loadedAt())) {
+            refresh();
+            return;
+        }
+
+        NavigableMap<ListingKey, EventResponse> window = new TreeMap<>(current.window());
+        Map<Long, ListingKey> keysById = new HashMap<>(current.keysById());
+        long totalEvents = current.totalEvents();
+        boolean exhaustive = window.size() >= totalEvents;
+        ListingKey previous = keysById.remove(change.eventId());
+        if (previous != null) {
+            window.remove(previous);
+        }
+
+        if (change.type() == EventChangeType.CREATED) {
+            totalEvents++;
+        } else if (change.type() == EventChangeType.DELETED || change.type() == EventChangeType.ARCHIVED) {
+            listing = new Listing(window, keysById, totalEvents - 1, current.loadedAt());
+            return;
+        }
+        ListingKey key = ListingKey.of(change.event());
+        if (exhaustive || window.isEmpty() || key.compareTo(window.lastKey()) < 0) {
+            put(window, keysById, change.event());
+            while (window.size() > capacity) {
+                Map.Entry<ListingKey, EventResponse> evicted = window.pollLastEntry();
+                keysById.remove(evicted.getKey().id(), evicted.getKey());
+            }
+        }
+        listing = new Listing(window, keysById, totalEvents, current.loadedAt());
+    }
+
+    private static void put(NavigableMap<ListingKey, EventResponse> window, Map<Long, ListingKey> keysById,
+                            EventResponse event) {
+        ListingKey key = ListingKey.of(event);
+        window.put(key, event);
+        keysById.put(event.id(), key);
+    }
+
+    /**
+     * One published state of the window, never modified once published.
+     *
+     * @param window      the first events of the listing order
+     * @param keysById    the listing key of each event in the window
+     * @param totalEvents the number of events in the whole listing
+     * @param loadedAt    when the window was last loaded from the database; changes made before then may
+     *                    already be part of it
+     */
+    private record Listing(NavigableMap<ListingKey, EventResponse> window, Map<Long, ListingKey> keysById,
+                           long totalEvents, LocalDateTime loadedAt) {}
+
+    /**
+     * Position of an event in the listing order: later event dates first, then higher IDs.
+     */
+    record ListingKey(LocalDateTime eventDateTime, long id) implements Comparable<ListingKey> {
+
+        private static final Comparator<ListingKey> ORDER = Comparator.comparing(ListingKey::eventDateTime)
+                .thenComparingLong(ListingKey::id)
+                .reversed();
+
+        static ListingKey of(EventResponse event) {
+            return new ListingKey(event.eventDateTime(), event.id());
+        }
+
+        @Override
+        public int compareTo(ListingKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
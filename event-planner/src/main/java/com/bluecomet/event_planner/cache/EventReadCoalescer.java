@@ -0,0 +1,54 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.mapper.EventMapper;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * {@link SingleFlight} layer in front of the hot {@link EventRepository} lookups, so a burst of identical
+ * requests for a popular event runs one query.
+ * <p>
+ * Only immutable results are shared: events are handed out as {@link EventResponse}s, never as entities
+ * attached to the leader's persistence context. Writes keep loading their own managed entity, and check
+ * existence on {@link EventRepository} directly, since a shared answer may have been read before the writer's
+ * own transaction started.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+@RequiredArgsConstructor
+public class EventReadCoalescer {
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final MeterRegistry meterRegistry;
+
+    private SingleFlight<Long, Optional<EventResponse>> findByIdFlight;
+    private SingleFlight<Long, Boolean> existsByIdFlight;
+
+    @Value("${event-planner.single-flight.timeout:PT2S}")
+    private Duration timeout;
+
+    @PostConstruct
+    void createFlights() {
+        findByIdFlight = new SingleFlight<>("event.findById", timeout, meterRegistry);
+        existsByIdFlight = new SingleFlight<>("event.existsById", timeout, meterRegistry);
+    }
+
+    public Optional<EventResponse> findById(Long id) {
+        return findByIdFlight.execute(id, () -> eventRepository.findById(id).map(eventMapper::toResponse));
+    }
+
+    public boolean existsById(Long id) {
+        return existsByIdFlight.execute(id, () -> eventRepository.existsById(id));
+    }
+}
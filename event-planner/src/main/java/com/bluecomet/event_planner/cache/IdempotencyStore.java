@@ -0,0 +1,77 @@
+package com.bluecomet.event_planner.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded, TTL-evicting store of responses to requests carrying an {@code Idempotency-Key}.
+ * <p>
+ * A key is claimed by storing an incomplete future before the request runs. Duplicates arriving while it
+ * is in flight find that future and wait on it instead of running the request again; once it completes,
+ * later duplicates get the stored response straight away. A claim whose request failed is released, so
+ * the next duplicate runs the request itself.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+public class IdempotencyStore {
+
+    private Cache<String, CompletableFuture<StoredResponse>> responses;
+
+    @Value("${event-planner.idempotency.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${event-planner.idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    @PostConstruct
+    void createCache() {
+        responses = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Claims a key for the calling request.
+     *
+     * @param key   the scoped idempotency key
+     * @param claim the future the caller will complete with its response
+     * @return {@code null} if the caller now owns the key, otherwise the future of the request that owns it
+     */
+    public CompletableFuture<StoredResponse> claim(String key, CompletableFuture<StoredResponse> claim) {
+        return responses.asMap().putIfAbsent(key, claim);
+    }
+
+    /**
+     * Releases a claim whose request failed; waiting duplicates see the failure and retry.
+     */
+    public void release(String key, CompletableFuture<StoredResponse> claim, Throwable failure) {
+        responses.asMap().remove(key, claim);
+        claim.completeExceptionally(failure);
+    }
+
+    /**
+     * A response recorded for replay.
+     *
+     * @param status             the HTTP status
+     * @param contentType        the Content-Type header, if any
+     * @param location           the Location header, if any
+     * @param body               the response body
+     * @param requestFingerprint SHA-256 of the original request body
+     */
+    public record StoredResponse(
+        int status,
+        String contentType,
+        String location,
+        byte[] body,
+        byte[] requestFingerprint
+    ) {}
+}
@@ -0,0 +1,208 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.change.RegistrationChange;
+import com.bluecomet.event_planner.model.vo.RegistrationKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bloom filter over the (userId, eventId) pairs of {@code event_registrations}, used as a negative fast
+ * path for duplicate-registration checks.
+ * <p>
+ * The filter is populated at startup by a streaming {@link RegistrationKeyScanner} pass, receives every local
+ * registration as soon as it is inserted, and periodically catches up with registrations made by other
+ * nodes. Once it had to grow beyond its first stage it is rebuilt in the background with a right-sized
+ * single stage. False positives are counted against the authoritative answer, so the observed rate can be
+ * compared with the expected one.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RegistrationBloomFilter {
+
+    private final RegistrationKeyScanner registrationKeyScanner;
+    private final MeterRegistry meterRegistry;
+
+    private volatile ScalableBloomFilter filter;
+    private volatile ScalableBloomFilter rebuilding;
+    private LocalDateTime lastScanStartedAt;
+
+    private Counter negatives;
+    private Counter confirmedHits;
+    private Counter falsePositives;
+
+    @Value("${event-planner.registration-bloom.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${event-planner.registration-bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${event-planner.registration-bloom.catch-up-overlap:PT1M}")
+    private Duration catchUpOverlap;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("registration.bloom.memory", this, bloom -> bloom.currentOr(ScalableBloomFilter::memoryFootprintBytes))
+                .description("Heap used by the registration Bloom filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("registration.bloom.expected.fpp", this, bloom -> bloom.currentOr(ScalableBloomFilter::expectedFalsePositiveRate))
+                .description("Estimated false-positive rate of the registration Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("registration.bloom.size", this, bloom -> bloom.currentOr(ScalableBloomFilter::size))
+                .description("Registrations added to the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("registration.bloom.stages", this, bloom -> bloom.currentOr(ScalableBloomFilter::stageCount))
+                .description("Stages the Bloom filter has grown to since its last rebuild")
+                .register(meterRegistry);
+
+        negatives = checkCounter("negative");
+        confirmedHits = checkCounter("hit");
+        falsePositives = checkCounter("false_positive");
+    }
+
+    /**
+     * Populates the filter once the application has started.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    /**
+     * Builds a fresh filter from {@code event_registrations} and swaps it in. Registrations inserted
+     * while the scan runs are added to both the live and the fresh filter.
+     */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        ScalableBloomFilter current = filter;
+        long capacity = Math.max(expectedInsertions, current == null ? 0L : current.size() * 2);
+        ScalableBloomFilter fresh = new ScalableBloomFilter(capacity, falsePositiveRate);
+
+        rebuilding = fresh;
+        LocalDateTime scanStartedAt = LocalDateTime.now();
+        RegistrationKeyScanner.ScanResult result = registrationKeyScanner.scan(0L, keys -> putAll(fresh, keys));
+        filter = fresh;
+        rebuilding = null;
+        lastScanStartedAt = scanStartedAt;
+
+        log.info("Registration Bloom filter built from {} registrations in {} ms ({} bytes, expected fpp {})",
+                result.scanned(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                fresh.memoryFootprintBytes(), fresh.expectedFalsePositiveRate());
+    }
+
+    /**
+     * Picks up registrations committed by other nodes since the last scan, rescanning those made within
+     * {@code event-planner.registration-bloom.catch-up-overlap} before it started so that late commits are
+     * not missed.
+     */
+    @Scheduled(
+        initialDelayString = "${event-planner.registration-bloom.catch-up-interval:PT10S}",
+        fixedDelayString = "${event-planner.registration-bloom.catch-up-interval:PT10S}"
+    )
+    public synchronized void catchUp() {
+        ScalableBloomFilter current = filter;
+        if (current != null) {
+            LocalDateTime scanStartedAt = LocalDateTime.now();
+            registrationKeyScanner.scanSince(lastScanStartedAt.minus(catchUpOverlap), keys -> putAll(current, keys));
+            lastScanStartedAt = scanStartedAt;
+        }
+    }
+
+    /**
+     * Rebuilds the filter once it had to grow, so lookups go back to probing a single stage.
+     */
+    @Scheduled(
+        initialDelayString = "${event-planner.registration-bloom.rebuild-check-interval:PT15M}",
+        fixedDelayString = "${event-planner.registration-bloom.rebuild-check-interval:PT15M}"
+    )
+    public void rebuildIfGrown() {
+        ScalableBloomFilter current = filter;
+        if (current != null && current.stageCount() > 1) {
+            log.info("Registration Bloom filter grew to {} stages, rebuilding", current.stageCount());
+            rebuild();
+        }
+    }
+
+    /**
+     * Adds a new registration as soon as it is inserted, so it is never reported as absent.
+     * A rolled back registration only leaves a harmless false positive behind.
+     *
+     * @param change the registration change
+     */
+    @EventListener
+    public void onRegistrationChange(RegistrationChange change) {
+        if (change.previousStatus() == null) {
+            ScalableBloomFilter current = filter;
+            ScalableBloomFilter fresh = rebuilding;
+            if (current != null) {
+                current.put(change.userId(), change.eventId());
+            }
+            if (fresh != null) {
+                fresh.put(change.userId(), change.eventId());
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the user is definitely not registered for the event, {@code false} if the
+     * filter is not built yet or the user may be registered
+     */
+    public boolean isDefinitelyNotRegistered(long userId, long eventId) {
+        ScalableBloomFilter current = filter;
+        if (current != null && !current.mightContain(userId, eventId)) {
+            negatives.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records the authoritative answer for a pair the filter reported as possibly registered.
+     *
+     * @param registered whether the user turned out to be registered
+     */
+    public void recordPossibleHit(boolean registered) {
+        if (filter != null) {
+            (registered ? confirmedHits : falsePositives).increment();
+        }
+    }
+
+    private static void putAll(ScalableBloomFilter target, List<RegistrationKey> keys) {
+        for (RegistrationKey key : keys) {
+            target.put(key.userId(), key.eventId());
+        }
+    }
+
+    private double currentOr(ToDoubleFunction<ScalableBloomFilter> metric) {
+        ScalableBloomFilter current = filter;
+        return current == null ? 0.0 : metric.applyAsDouble(current);
+    }
+
+    private Counter checkCounter(String result) {
+        return Counter.builder("registration.bloom.checks")
+                .description("Duplicate-registration checks answered by the Bloom filter")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
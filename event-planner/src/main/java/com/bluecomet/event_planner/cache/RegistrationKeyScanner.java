@@ -0,0 +1,89 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.vo.RegistrationKey;
+import com.bluecomet.event_planner.repository.EventRegistrationRepository;
+import com.bluecomet.event_planner.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Streams the keys of {@code event_registrations} to in-memory indexes in bounded chunks.
+ * <p>
+ * The scan pages through the table, or through the registrations made since a given time, with a keyset
+ * cursor on the registration ID and only selects the key columns, so no entity is loaded and memory use is
+ * bounded by {@code event-planner.registration-scan.chunk-size}. The shards are scanned one after the other,
+ * each chunk in a short read-only transaction on its shard. While a bucket is being moved, its registrations
+ * may be seen on both shards.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+@RequiredArgsConstructor
+public class RegistrationKeyScanner {
+
+    private final EventRegistrationRepository eventRegistrationRepository;
+    private final ShardRouter shardRouter;
+
+    @Value("${event-planner.registration-scan.chunk-size:10000}")
+    private int chunkSize;
+
+    /**
+     * Feeds every registration with an ID greater than {@code afterId} to the consumer, one chunk at a time.
+     *
+     * @param afterId  the registration ID to start after
+     * @param consumer receives each chunk of keys, in ascending ID order within each shard
+     * @return the number of keys scanned and the highest registration ID seen on any shard
+     */
+    public ScanResult scan(long afterId, Consumer<List<RegistrationKey>> consumer) {
+        return scan(afterId, consumer, eventRegistrationRepository::findKeysAfter);
+    }
+
+    /**
+     * Feeds every registration made at or after {@code since} to the consumer, one chunk at a time. Unlike an
+     * ID cursor, this also finds registrations whose lower IDs were committed after higher ones.
+     *
+     * @param since    the earliest registration time to include
+     * @param consumer receives each chunk of keys, in ascending ID order within each shard
+     * @return the number of keys scanned and the highest registration ID seen on any shard
+     */
+    public ScanResult scanSince(LocalDateTime since, Consumer<List<RegistrationKey>> consumer) {
+        return scan(0L, consumer,
+                (afterId, page) -> eventRegistrationRepository.findKeysRegisteredSince(since, afterId, page));
+    }
+
+    private ScanResult scan(long afterId, Consumer<List<RegistrationKey>> consumer,
+                            BiFunction<Long, Pageable, List<RegistrationKey>> chunks) {
+        long scanned = 0L;
+        long lastId = afterId;
+        for (String shard : shardRouter.shardNames()) {
+            long shardAfterId = afterId;
+            List<RegistrationKey> chunk;
+            do {
+                long from = shardAfterId;
+                chunk = shardRouter.onShard(shard, true, status -> chunks.apply(from, PageRequest.ofSize(chunkSize)));
+                if (!chunk.isEmpty()) {
+                    consumer.accept(chunk);
+                    shardAfterId = chunk.get(chunk.size() - 1).id();
+                    scanned += chunk.size();
+                }
+            } while (chunk.size() == chunkSize);
+            lastId = Math.max(lastId, shardAfterId);
+        }
+        return new ScanResult(scanned, lastId);
+    }
+
+    /**
+     * @param scanned the number of keys scanned
+     * @param lastId  the highest registration ID seen, or the starting ID if nothing was scanned
+     */
+    public record ScanResult(long scanned, long lastId) {}
+}
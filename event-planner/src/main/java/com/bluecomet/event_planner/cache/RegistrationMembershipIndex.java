@@ -0,0 +1,266 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.change.RegistrationChange;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+import com.bluecomet.event_planner.model.vo.RegistrationKey;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of which users are registered for which events.
+ * <p>
+ * Each event maps to a compressed bitmap of its registered user IDs and each user to a compressed bitmap
+ * of their event IDs, both kept in primitive-keyed maps so that lookups do not box. A registration counts
+ * as a member whatever its status, mirroring {@code existsByUserIdAndEventId}.
+ * </p>
+ *
+ * <p>
+ * The index is built at startup with a {@link RegistrationKeyScanner} pass over {@code event_registrations}, kept in
+ * sync with committed local registrations, event deletions and archivals, and periodically catches up with
+ * registrations made by other nodes. Catch-up scans by registration time rather than ID, because IDs are
+ * handed out in blocks per node and commit in any order; the overlap must cover the longest registration
+ * transaction plus the clock skew between nodes. Its answers are therefore only positive hints: a
+ * registration it holds exists, but one it lacks may simply not have been scanned yet, so callers must
+ * check the database on a miss.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RegistrationMembershipIndex {
+
+    private static final long[] NO_EVENTS = new long[0];
+
+    private final RegistrationKeyScanner registrationKeyScanner;
+    private final MeterRegistry meterRegistry;
+
+    private final Long2ObjectOpenHashMap<Roaring64Bitmap> usersByEvent = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<Roaring64Bitmap> eventsByUser = new Long2ObjectOpenHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+    private LocalDateTime lastScanStartedAt;
+
+    @Value("${event-planner.registration-index.catch-up-overlap:PT1M}")
+    private Duration catchUpOverlap;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("registration.index.memory", this, RegistrationMembershipIndex::memoryFootprintBytes)
+                .description("Heap used by the registration membership bitmaps")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("registration.index.events", this, index -> index.size(index.usersByEvent))
+                .description("Events held in the registration membership index")
+                .register(meterRegistry);
+        Gauge.builder("registration.index.users", this, index -> index.size(index.eventsByUser))
+                .description("Users held in the registration membership index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the index from {@code event_registrations} once the application has started.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        long started = System.nanoTime();
+        LocalDateTime scanStartedAt = LocalDateTime.now();
+        long scanned = registrationKeyScanner.scan(0L, this::addAll).scanned();
+        lastScanStartedAt = scanStartedAt;
+        ready = true;
+        log.info("Registration membership index built from {} registrations in {} ms ({} bytes)",
+                scanned, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), memoryFootprintBytes());
+    }
+
+    /**
+     * Picks up registrations committed by other nodes since the last scan. The scan covers the registrations
+     * made since {@code event-planner.registration-index.catch-up-overlap} before the last scan started, so a
+     * registration that was made before that scan but committed after it is not missed, whatever its ID.
+     */
+    @Scheduled(
+        initialDelayString = "${event-planner.registration-index.catch-up-interval:PT10S}",
+        fixedDelayString = "${event-planner.registration-index.catch-up-interval:PT10S}"
+    )
+    public synchronized void catchUp() {
+        if (ready) {
+            LocalDateTime scanStartedAt = LocalDateTime.now();
+            registrationKeyScanner.scanSince(lastScanStartedAt.minus(catchUpOverlap), this::addAll);
+            lastScanStartedAt = scanStartedAt;
+        }
+    }
+
+    /**
+     * Adds committed local registrations to the index.
+     *
+     * @param change the committed registration change
+     */
+    @TransactionalEventListener
+    public void onRegistrationChange(RegistrationChange change) {
+        if (change.previousStatus() == null) {
+            lock.writeLock().lock();
+            try {
+                add(change.userId(), change.eventId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes the members of a deleted or archived event once the change is committed.
+     *
+     * @param change the committed event change
+     */
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        if (change.type() == EventChangeType.DELETED || change.type() == EventChangeType.ARCHIVED) {
+            lock.writeLock().lock();
+            try {
+                removeEvent(change.eventId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} once the initial build has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return whether the index holds a registration, in any status, of the user for the event; {@code false}
+     *         does not rule out one the index has not caught up with
+     */
+    public boolean isRegistered(long userId, long eventId) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap users = usersByEvent.get(eventId);
+            return users != null && users.contains(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the IDs of the events the index holds a registration of the user for, in ascending order
+     */
+    public long[] eventsForUser(long userId) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap events = eventsByUser.get(userId);
+            return events == null ? NO_EVENTS : events.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of users registered for the event, in any status
+     */
+    public long attendeeCount(long eventId) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap users = usersByEvent.get(eventId);
+            return users == null ? 0L : users.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the approximate heap used by all bitmaps of the index, in bytes
+     */
+    public long memoryFootprintBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0L;
+            for (Roaring64Bitmap users : usersByEvent.values()) {
+                bytes += users.getLongSizeInBytes();
+            }
+            for (Roaring64Bitmap events : eventsByUser.values()) {
+                bytes += events.getLongSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addAll(List<RegistrationKey> keys) {
+        lock.writeLock().lock();
+        try {
+            for (RegistrationKey key : keys) {
+                add(key.userId(), key.eventId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(long userId, long eventId) {
+        Roaring64Bitmap users = usersByEvent.get(eventId);
+        if (users == null) {
+            users = new Roaring64Bitmap();
+            usersByEvent.put(eventId, users);
+        }
+        users.addLong(userId);
+
+        Roaring64Bitmap events = eventsByUser.get(userId);
+        if (events == null) {
+            events = new Roaring64Bitmap();
+            eventsByUser.put(userId, events);
+        }
+        events.addLong(eventId);
+    }
+
+    private void removeEvent(long eventId) {
+        Roaring64Bitmap users = usersByEvent.remove(eventId);
+        if (users == null) {
+            return;
+        }
+        users.forEach(userId -> {
+            Roaring64Bitmap events = eventsByUser.get(userId);
+            if (events != null) {
+                events.removeLong(eventId);
+                if (events.isEmpty()) {
+                    eventsByUser.remove(userId);
+                }
+            }
+        });
+    }
+
+    private int size(Long2ObjectOpenHashMap<Roaring64Bitmap> bitmaps) {
+        lock.readLock().lock();
+        try {
+            return bitmaps.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.bluecomet.event_planner.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe scalable Bloom filter over pairs of {@code long} keys.
+ * <p>
+ * The filter starts with a single stage sized for the initial capacity. Whenever the newest stage is full,
+ * a stage with twice the capacity and half the false-positive rate is appended, which keeps the compound
+ * false-positive rate below twice the configured rate however many keys are added. Bits are set with
+ * lock-free compare-and-set, so concurrent inserts and lookups never block.
+ * </p>
+ *
+ * @author Priyansu
+ */
+public final class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final double falsePositiveRate;
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param initialCapacity   the number of keys the first stage is sized for
+     * @param falsePositiveRate the target false-positive rate of the first stage
+     */
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0 || falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0) {
+            throw new IllegalArgumentException("Invalid Bloom filter capacity or false-positive rate");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        this.stages.add(new Stage(initialCapacity, falsePositiveRate));
+    }
+
+    /**
+     * @return {@code false} if the pair was definitely never added, {@code true} if it may have been
+     */
+    public boolean mightContain(long first, long second) {
+        long hash1 = hash1(first, second);
+        long hash2 = hash2(first, second);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the pair to the filter, appending a new stage if the newest one is full.
+     */
+    public void put(long first, long second) {
+        long hash1 = hash1(first, second);
+        long hash2 = hash2(first, second);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash1, hash2)) {
+                return;
+            }
+        }
+        Stage current = stages.get(stages.size() - 1);
+        if (current.isFull()) {
+            current = grow(current);
+        }
+        current.put(hash1, hash2);
+    }
+
+    /**
+     * @return the number of keys added
+     */
+    public long size() {
+        long size = 0L;
+        for (Stage stage : stages) {
+            size += stage.count.get();
+        }
+        return size;
+    }
+
+    /**
+     * @return the number of stages the filter has grown to
+     */
+    public int stageCount() {
+        return stages.size();
+    }
+
+    /**
+     * @return the estimated false-positive rate given the keys added so far
+     */
+    public double expectedFalsePositiveRate() {
+        double allStagesNegative = 1.0;
+        for (Stage stage : stages) {
+            allStagesNegative *= 1.0 - stage.expectedFalsePositiveRate();
+        }
+        return 1.0 - allStagesNegative;
+    }
+
+    /**
+     * @return the heap used by the bit arrays, in bytes
+     */
+    public long memoryFootprintBytes() {
+        long bytes = 0L;
+        for (Stage stage : stages) {
+            bytes += (long) stage.bits.length() * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    private synchronized Stage grow(Stage full) {
+        Stage newest = stages.get(stages.size() - 1);
+        if (newest != full) {
+            return newest;
+        }
+        double stageRate = falsePositiveRate * Math.pow(TIGHTENING_RATIO, stages.size());
+        Stage grown = new Stage(full.capacity * GROWTH_FACTOR, stageRate);
+        stages.add(grown);
+        return grown;
+    }
+
+    private static long hash1(long first, long second) {
+        return mix(first ^ mix(second));
+    }
+
+    private static long hash2(long first, long second) {
+        // Forced odd so that successive probes never collapse onto the same bit
+        return mix(second ^ mix(first ^ 0x9E3779B97F4A7C15L)) | 1L;
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * A classic Bloom filter using double hashing to derive its probe positions.
+     */
+    private static final class Stage {
+
+        private final long capacity;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final AtomicLong count = new AtomicLong();
+
+        Stage(long capacity, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8L, Math.max(1L, (optimalBits + 63) / 64));
+            this.capacity = capacity;
+            this.bitCount = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+            this.bits = new AtomicLongArray(words);
+        }
+
+        boolean mightContain(long hash1, long hash2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long hash1, long hash2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+            count.incrementAndGet();
+        }
+
+        boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1.0 - Math.exp(-hashCount * (double) count.get() / bitCount), hashCount);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.bluecomet.event_planner.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution whose result all of them share.
+ * <p>
+ * The first caller for a key runs the loader on its own thread; callers arriving while it runs wait for
+ * its result instead of running the loader again. Nothing is cached: once the execution finishes, the next
+ * call for the key runs the loader afresh. A waiting caller that does not get a result within the timeout
+ * stops waiting and runs the loader itself, so one stuck execution cannot hold up every caller for its key.
+ * A failure of the shared execution is rethrown to every caller that waited on it.
+ * </p>
+ *
+ * <p>
+ * Calls are counted in {@code single.flight.calls}, tagged with the flight name and whether the call ran
+ * the loader ({@code leader}), shared another call's result ({@code coalesced}) or gave up waiting
+ * ({@code timeout}).
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ *
+ * @author Priyansu
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timeouts;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeoutNanos = timeout.toNanos();
+        this.leaders = counter(meterRegistry, name, "leader");
+        this.coalesced = counter(meterRegistry, name, "coalesced");
+        this.timeouts = counter(meterRegistry, name, "timeout");
+    }
+
+    /**
+     * Returns the loader's result for the key, sharing an execution already in flight for it.
+     *
+     * @param key    the key identifying identical calls
+     * @param loader computes the result; called at most once per flight
+     * @return the result
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            leaders.increment();
+            try {
+                V value = loader.get();
+                flight.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+
+        try {
+            V value = existing.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            coalesced.increment();
+            return value;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            coalesced.increment();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight call", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("single.flight.calls")
+                .description("Calls through a single-flight layer")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bluecomet.event_planner.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables asynchronous listeners and scheduled background jobs, both backed by the
+ * executors auto-configured through the {@code spring.task.*} properties.
+ *
+ * @author Priyansu
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
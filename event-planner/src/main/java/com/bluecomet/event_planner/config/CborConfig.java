@@ -0,0 +1,32 @@
+package com.bluecomet.event_planner.config;
+
+import com.bluecomet.event_planner.timing.TimedMappingJackson2CborHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serves and accepts {@code application/cbor}, a binary encoding of the JSON data model, for clients that ask
+ * for it with {@code Accept} or send it with {@code Content-Type}.
+ * <p>
+ * The converter replaces the default CBOR converter that Spring MVC registers once
+ * {@code jackson-dataformat-cbor} is on the classpath. It keeps that converter's place after the JSON converter,
+ * so a wildcard {@code Accept} header still selects JSON. Its mapper is built from the application's
+ * {@link Jackson2ObjectMapperBuilder}, so modules and features such as ISO-8601 dates match the JSON output and
+ * a CBOR document decodes to the same tree as its JSON counterpart.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new TimedMappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,32 @@
+package com.bluecomet.event_planner.config;
+
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Limits the shape of GraphQL queries so a single request cannot fan out without bound.
+ * <p>
+ * Both instrumentations reject an over-limit query before any data fetcher runs. Complexity counts one
+ * point per selected field, so it bounds the width of a query the same way depth bounds its nesting.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Configuration
+public class GraphQLConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(
+            @Value("${event-planner.graphql.max-query-depth:6}") int maxQueryDepth) {
+        return new MaxQueryDepthInstrumentation(maxQueryDepth);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${event-planner.graphql.max-query-complexity:200}") int maxQueryComplexity) {
+        return new MaxQueryComplexityInstrumentation(maxQueryComplexity);
+    }
+}
@@ -0,0 +1,43 @@
+package com.bluecomet.event_planner.config;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retries the annotated service method when it fails with an {@link OptimisticLockingFailureException}.
+ * <p>
+ * Attempts are bounded and spaced with a jittered exponential backoff, all of which can be tuned through the
+ * {@code event-planner.retry.optimistic-lock.*} properties. Every retry and every give-up is recorded by the
+ * listener registered in {@link RetryConfig}.
+ * </p>
+ *
+ * <p>
+ * The retry advice is ordered before the transaction advice, so each attempt runs in a fresh transaction
+ * and re-reads the current entity version.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(
+    retryFor = OptimisticLockingFailureException.class,
+    maxAttemptsExpression = "${event-planner.retry.optimistic-lock.max-attempts:4}",
+    backoff = @Backoff(
+        delayExpression = "${event-planner.retry.optimistic-lock.initial-delay-ms:25}",
+        multiplierExpression = "${event-planner.retry.optimistic-lock.multiplier:2.0}",
+        maxDelayExpression = "${event-planner.retry.optimistic-lock.max-delay-ms:500}",
+        random = true
+    ),
+    listeners = RetryConfig.OPTIMISTIC_LOCK_RETRY_LISTENER
+)
+public @interface OptimisticLockRetry {
+}
@@ -0,0 +1,162 @@
+package com.bluecomet.event_planner.config;
+
+import com.bluecomet.event_planner.model.entity.EventRegistration;
+import com.bluecomet.event_planner.repository.EventRegistrationRepository;
+import com.bluecomet.event_planner.repository.EventRepository;
+import com.bluecomet.event_planner.shard.RegistrationShards;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypesScanner;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Splits persistence into the primary database and the registration shards.
+ * <p>
+ * {@link EventRegistration} is mapped by one persistence unit per shard, built with the same JPA and Hibernate
+ * settings as the primary unit, including {@code spring.jpa.hibernate.ddl-auto}. The registration repository is
+ * bound to a factory routing over these units and to the {@code registrationTransactionManager}; every other
+ * entity and repository stays on the primary database. Because a second persistence unit makes Spring Boot back
+ * off, the primary entity manager factory and transaction manager are declared here as well.
+ * </p>
+ * <p>
+ * Shards besides the primary database are configured by name, for example
+ * {@code event-planner.sharding.shards.shard-1.url}, with the same {@code url}, {@code username},
+ * {@code password} and {@code driver-class-name} keys as {@code spring.datasource}.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Configuration
+@RequiredArgsConstructor
+public class RegistrationShardingConfig {
+
+    static final String SHARDS_PROPERTY = "event-planner.sharding.shards";
+
+    private final JpaProperties jpaProperties;
+    private final HibernateProperties hibernateProperties;
+
+    @Bean
+    @Primary
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(EntityManagerFactoryBuilder builder,
+                                                                       DataSource dataSource,
+                                                                       ResourceLoader resourceLoader) {
+        PersistenceManagedTypes scanned = new PersistenceManagedTypesScanner(resourceLoader)
+                .scan(EventRegistration.class.getPackageName());
+        List<String> primaryClassNames = scanned.getManagedClassNames().stream()
+                .filter(className -> !className.equals(EventRegistration.class.getName()))
+                .toList();
+        return builder.dataSource(dataSource)
+                .managedTypes(PersistenceManagedTypes.of(primaryClassNames, scanned.getManagedPackages()))
+                .properties(vendorProperties())
+                .persistenceUnit("default")
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(transactionManagerCustomizers -> transactionManagerCustomizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public RegistrationShards registrationShards(DataSource dataSource, EntityManagerFactoryBuilder builder,
+                                                 Environment environment, AutowireCapableBeanFactory beanFactory) {
+        Map<String, DataSourceProperties> configured = Binder.get(environment)
+                .bind(SHARDS_PROPERTY, Bindable.mapOf(String.class, DataSourceProperties.class))
+                .orElseGet(Map::of);
+
+        List<RegistrationShards.Shard> shards = new ArrayList<>();
+        shards.add(shard(RegistrationShards.PRIMARY, dataSource, false, builder));
+        new TreeMap<>(configured).forEach((name, properties) -> {
+            if (RegistrationShards.PRIMARY.equals(name)) {
+                throw new IllegalStateException(SHARDS_PROPERTY + "." + name
+                        + " is reserved for the application's own database");
+            }
+            // Shard pools are not beans, so they get the data source post-processing, such as statement timing, here
+            DataSource shardDataSource = (DataSource) beanFactory.initializeBean(
+                    properties.initializeDataSourceBuilder().build(), "registrationShardDataSource-" + name);
+            shards.add(shard(name, shardDataSource, true, builder));
+        });
+        return new RegistrationShards(shards);
+    }
+
+    @Bean
+    public EntityManagerFactory registrationEntityManagerFactory(RegistrationShards registrationShards) {
+        return registrationShards.routingEntityManagerFactory();
+    }
+
+    @Bean
+    public PlatformTransactionManager registrationTransactionManager(
+            @Qualifier("registrationEntityManagerFactory") EntityManagerFactory registrationEntityManagerFactory) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(registrationEntityManagerFactory);
+        transactionManager.setJpaDialect(new HibernateJpaDialect());
+        return transactionManager;
+    }
+
+    private RegistrationShards.Shard shard(String name, DataSource dataSource, boolean ownsDataSource,
+                                           EntityManagerFactoryBuilder builder) {
+        LocalContainerEntityManagerFactoryBean factory = builder.dataSource(dataSource)
+                .managedTypes(PersistenceManagedTypes.of(EventRegistration.class.getName()))
+                .properties(vendorProperties())
+                .persistenceUnit("registrations-" + name)
+                .build();
+        factory.afterPropertiesSet();
+        return new RegistrationShards.Shard(name, dataSource, factory.getObject(),
+                new NamedParameterJdbcTemplate(dataSource), ownsDataSource);
+    }
+
+    private Map<String, Object> vendorProperties() {
+        return hibernateProperties.determineHibernateProperties(jpaProperties.getProperties(), new HibernateSettings());
+    }
+
+    @Configuration
+    @EnableJpaRepositories(
+        basePackageClasses = EventRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = EventRegistrationRepository.class)
+    )
+    static class PrimaryRepositories {
+    }
+
+    @Configuration
+    @EnableJpaRepositories(
+        basePackageClasses = EventRepository.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = EventRegistrationRepository.class),
+        entityManagerFactoryRef = "registrationEntityManagerFactory",
+        transactionManagerRef = "registrationTransactionManager"
+    )
+    static class RegistrationRepositories {
+    }
+}
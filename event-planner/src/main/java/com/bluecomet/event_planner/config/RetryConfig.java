@@ -0,0 +1,79 @@
+package com.bluecomet.event_planner.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+
+import java.lang.reflect.Method;
+
+/**
+ * Enables declarative retries and publishes optimistic-lock contention metrics.
+ * <p>
+ * {@code optimistic.lock.retries} counts the attempts that were retried after a version conflict and
+ * {@code optimistic.lock.exhausted} counts the calls that gave up. Both are tagged with the service method,
+ * so contention hot spots show up per operation.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Configuration
+@EnableRetry
+@Slf4j
+public class RetryConfig {
+
+    public static final String OPTIMISTIC_LOCK_RETRY_LISTENER = "optimisticLockRetryListener";
+
+    @Bean(OPTIMISTIC_LOCK_RETRY_LISTENER)
+    public RetryListener optimisticLockRetryListener(MeterRegistry meterRegistry) {
+        return new RetryListener() {
+
+            @Override
+            public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                         Throwable throwable) {
+                log.debug("Optimistic lock conflict in {} (attempt {})",
+                        operationName(callback), context.getRetryCount());
+            }
+
+            @Override
+            public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+                                                       Throwable throwable) {
+                String operation = operationName(callback);
+                int failedAttempts = context.getRetryCount();
+                int retries = throwable == null ? failedAttempts : Math.max(0, failedAttempts - 1);
+
+                if (retries > 0) {
+                    Counter.builder("optimistic.lock.retries")
+                            .description("Attempts retried after an optimistic lock conflict")
+                            .tag("method", operation)
+                            .register(meterRegistry)
+                            .increment(retries);
+                }
+
+                if (throwable instanceof OptimisticLockingFailureException) {
+                    log.warn("Giving up on {} after {} optimistic lock conflicts", operation, failedAttempts);
+                    Counter.builder("optimistic.lock.exhausted")
+                            .description("Calls that gave up after exhausting optimistic lock retries")
+                            .tag("method", operation)
+                            .register(meterRegistry)
+                            .increment();
+                }
+            }
+        };
+    }
+
+    private static String operationName(RetryCallback<?, ?> callback) {
+        if (callback instanceof MethodInvocationRetryCallback<?, ?> methodCallback) {
+            Method method = methodCallback.getInvocation().getMethod();
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,22 @@
+package com.bluecomet.event_planner.config;
+
+import com.bluecomet.event_planner.timing.TimedMappingJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Replaces the auto-configured Jackson message converter with one that reports serialization time to the
+ * per-request timings.
+ *
+ * @author Priyansu
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedMappingJackson2HttpMessageConverter(objectMapper);
+    }
+}
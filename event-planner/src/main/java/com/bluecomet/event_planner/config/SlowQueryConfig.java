@@ -0,0 +1,41 @@
+package com.bluecomet.event_planner.config;
+
+import com.bluecomet.event_planner.jdbc.SlowQueryRecorder;
+import com.bluecomet.event_planner.jdbc.StatementTimingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a {@link StatementTimingDataSource}, so that every JDBC
+ * statement is timed and slow ones are logged and explained. The connection pools of the registration shards
+ * are not beans; {@link RegistrationShardingConfig} passes them through the same post-processing. Disable with
+ * {@code event-planner.slow-query.enabled=false}.
+ *
+ * @author Priyansu
+ */
+@Configuration
+@ConditionalOnProperty(name = "event-planner.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    /**
+     * Static and given the recorder lazily, so that registering the post-processor does not initialize the
+     * recorder and its meter registry before the other beans.
+     */
+    @Bean
+    public static BeanPostProcessor statementTimingDataSourcePostProcessor(ObjectProvider<SlowQueryRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTimingDataSource)) {
+                    return new StatementTimingDataSource(dataSource, recorder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.bluecomet.event_planner.exception;
+
+/**
+ * Base class of the exceptions raised for expected business outcomes, such as a missing event or a duplicate
+ * registration.
+ * <p>
+ * These are routine traffic rather than faults, so they neither fill in a stack trace nor record suppressed
+ * exceptions; the message alone identifies the outcome. Genuinely unexpected failures keep using ordinary
+ * exceptions with full stack traces.
+ * </p>
+ *
+ * @author Priyansu
+ */
+public abstract class BusinessException extends RuntimeException {
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -2,7 +2,7 @@ package com.bluecomet.event_planner.exception;
 /**
  * @author Priyansu
  */
-public class EventAlreadyCancelledException extends RuntimeException {
+public class EventAlreadyCancelledException extends BusinessException {
     public EventAlreadyCancelledException(String message) {
         super(message);
     }
@@ -2,7 +2,7 @@ package com.bluecomet.event_planner.exception;
 /**
  * @author Priyansu
  */
-public class EventNotFoundException extends RuntimeException {
+public class EventNotFoundException extends BusinessException {
     public EventNotFoundException(String message) {
         super(message);
     }
@@ -3,7 +3,7 @@ package com.bluecomet.event_planner.exception;
 /**
  * @author Priyansu
  */
-public class RegistrationAlreadyCancelledException extends RuntimeException {
+public class RegistrationAlreadyCancelledException extends BusinessException {
     public RegistrationAlreadyCancelledException(String message) {
         super(message);
     }
@@ -3,7 +3,7 @@ package com.bluecomet.event_planner.exception;
 /**
  * @author Priyansu
  */
-public class RegistrationAlreadyExistsException extends RuntimeException {
+public class RegistrationAlreadyExistsException extends BusinessException {
     public RegistrationAlreadyExistsException(String message) {
         super(message);
     }
@@ -3,7 +3,7 @@ package com.bluecomet.event_planner.exception;
 /**
  * @author Priyansu
  */
-public class RegistrationNotFoundException extends RuntimeException {
+public class RegistrationNotFoundException extends BusinessException {
     public RegistrationNotFoundException(String message) {
         super(message);
     }
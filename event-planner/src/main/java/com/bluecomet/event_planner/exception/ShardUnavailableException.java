@@ -0,0 +1,17 @@
+package com.bluecomet.event_planner.exception;
+
+/**
+ * Raised when a registration shard cannot serve a request for now, because the bucket of the event is being
+ * moved to another shard or because the shard did not answer in time. The request can be retried.
+ *
+ * @author Priyansu
+ */
+public class ShardUnavailableException extends RuntimeException {
+    public ShardUnavailableException(String message) {
+        super(message);
+    }
+
+    public ShardUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,274 @@
+package com.bluecomet.event_planner.filter;
+
+import com.bluecomet.event_planner.cache.IdempotencyStore;
+import com.bluecomet.event_planner.cache.IdempotencyStore.StoredResponse;
+import com.bluecomet.event_planner.model.exchange.ApiErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes the configured {@code POST} endpoints idempotent for requests carrying an {@code Idempotency-Key}
+ * header.
+ * <p>
+ * The first request with a key runs normally and its response is recorded in the {@link IdempotencyStore};
+ * any response below 500 is kept. A retry with the same key and body gets the recorded response, marked
+ * with {@code Idempotent-Replayed: true}, without reaching the controller or the database. A retry that
+ * arrives while the first request is still running waits for it. Reusing a key with a different body is
+ * rejected with 422, and a retry that waited longer than {@code event-planner.idempotency.wait-timeout}
+ * gets 409. The body is read and hashed once, before the request runs, and the controller reads the same
+ * buffered bytes, so the recorded fingerprint and a retry's fingerprint always cover the whole body.
+ * </p>
+ * <p>
+ * Keys are scoped by caller and request path, so the same key sent by different callers, or to different
+ * endpoints, does not collide. The caller is the authenticated principal if there is one and otherwise the
+ * client address, which is only accurate behind a proxy when {@code server.forward-headers-strategy} is set.
+ * </p>
+ * <p>
+ * Recorded responses are held in memory by each node. With several nodes behind a load balancer, a retry
+ * that reaches another node runs the request again, so clients must be routed to the same node per
+ * caller, or the store moved to a shared cache, before relying on replays in such a deployment.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${event-planner.idempotency.paths:/v1/events,/v1/event-registrations}")
+    private Set<String> paths;
+
+    @Value("${event-planner.idempotency.wait-timeout:PT10S}")
+    private Duration waitTimeout;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !paths.contains(pathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = caller(request) + " " + pathWithinApplication(request) + " "
+                + request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        byte[] body = request.getInputStream().readAllBytes();
+        byte[] fingerprint = fingerprint(body);
+
+        while (true) {
+            CompletableFuture<StoredResponse> claim = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> existing = idempotencyStore.claim(key, claim);
+            if (existing == null) {
+                execute(key, claim, fingerprint, new BufferedBodyRequest(request, body), response, chain);
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                stored = existing.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                continue;
+            } catch (TimeoutException e) {
+                count("in_flight_timeout");
+                writeError(request, response, HttpStatus.CONFLICT,
+                        "A request with this Idempotency-Key is still being processed");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for an in-flight idempotent request", e);
+            }
+
+            if (!MessageDigest.isEqual(stored.requestFingerprint(), fingerprint)) {
+                count("mismatch");
+                writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used with a different request body");
+                return;
+            }
+            count("replayed");
+            replay(stored, response);
+            return;
+        }
+    }
+
+    private void execute(String key, CompletableFuture<StoredResponse> claim, byte[] fingerprint,
+                         HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, cachingResponse);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyStore.release(key, claim, e);
+            throw e;
+        }
+
+        if (cachingResponse.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            idempotencyStore.release(key, claim,
+                    new IllegalStateException("Request failed with status " + cachingResponse.getStatus()));
+        } else {
+            count("first");
+            claim.complete(new StoredResponse(
+                    cachingResponse.getStatus(),
+                    cachingResponse.getContentType(),
+                    cachingResponse.getHeader(HttpHeaders.LOCATION),
+                    cachingResponse.getContentAsByteArray(),
+                    fingerprint
+            ));
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        log.warn("Idempotent request to {} rejected: {}", request.getRequestURI(), message);
+        ApiErrorResponse error = ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "client:" + request.getRemoteAddr();
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static byte[] fingerprint(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Serves a request body that was already read in full, so the fingerprint covers exactly the bytes the
+     * controller sees.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("The request body is already buffered");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
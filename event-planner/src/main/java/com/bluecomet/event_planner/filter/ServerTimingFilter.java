@@ -0,0 +1,152 @@
+package com.bluecomet.event_planner.filter;
+
+import com.bluecomet.event_planner.timing.RequestTimings;
+import com.bluecomet.event_planner.timing.RequestTimings.Phase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breaks every request down into the exclusive time of its controller, service, repository, mapping and
+ * serialization phases, see {@link RequestTimings}.
+ * <p>
+ * The breakdown is always recorded into the {@code http.server.requests.phase} histogram, tagged with the
+ * method and URI pattern, so the dominant layer of each endpoint can be found over time. A client can also ask
+ * for the breakdown of its own request by sending {@value #REQUEST_HEADER}{@code : true}, if
+ * {@code event-planner.server-timing.header-enabled} allows it. The response then carries a standard
+ * {@code Server-Timing} header. Because serialization finishes only once the body is written, such responses are
+ * buffered; this is why the header is opt-in and unavailable for event streams.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String METRIC = "http.server.requests.phase";
+    private static final String OTHER = "other";
+    private static final String TOTAL = "total";
+    private static final Phase[] PHASES = Phase.values();
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The phase timers of each method and URI pattern, indexed by phase ordinal with {@code other} last. Looking
+     * a timer up through its builder allocates its tags and id on every request.
+     */
+    private final ConcurrentHashMap<TimerKey, Timer[]> timers = new ConcurrentHashMap<>();
+
+    @Value("${event-planner.server-timing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${event-planner.server-timing.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = headerRequested(request) ? new ContentCachingResponseWrapper(response) : null;
+        RequestTimings timings = RequestTimings.start();
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            RequestTimings.clear();
+            long elapsedNanos = timings.elapsedNanos();
+            record(request, timings, elapsedNanos);
+            if (buffered != null) {
+                buffered.setHeader(SERVER_TIMING_HEADER, serverTiming(timings, elapsedNanos));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private boolean headerRequested(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return headerEnabled
+                && Boolean.parseBoolean(request.getHeader(REQUEST_HEADER))
+                && (accept == null || !accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    private void record(HttpServletRequest request, RequestTimings timings, long elapsedNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        TimerKey key = new TimerKey(request.getMethod().toUpperCase(Locale.ROOT), uri);
+        Timer[] phaseTimers = timers.computeIfAbsent(key, ignored -> new Timer[PHASES.length + 1]);
+        for (Phase phase : PHASES) {
+            long nanos = timings.exclusiveNanos(phase);
+            if (nanos > 0) {
+                timer(phaseTimers, phase.ordinal(), key, phase.metricName()).record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        timer(phaseTimers, PHASES.length, key, OTHER).record(timings.otherNanos(elapsedNanos), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the cached timer of one phase, registering it on first use. Concurrent first uses register the
+     * same meter, so the unsynchronized slot is harmless.
+     */
+    private Timer timer(Timer[] phaseTimers, int index, TimerKey key, String phase) {
+        Timer timer = phaseTimers[index];
+        if (timer == null) {
+            timer = timer(key.method(), key.uri(), phase);
+            phaseTimers[index] = timer;
+        }
+        return timer;
+    }
+
+    private Timer timer(String method, String uri, String phase) {
+        return Timer.builder(METRIC)
+                .description("Exclusive time of a request spent in one application layer")
+                .tags("method", method, "uri", uri, "phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String serverTiming(RequestTimings timings, long elapsedNanos) {
+        StringBuilder header = new StringBuilder(160);
+        for (Phase phase : PHASES) {
+            appendMetric(header, phase.metricName(), timings.exclusiveNanos(phase));
+        }
+        appendMetric(header, OTHER, timings.otherNanos(elapsedNanos));
+        appendMetric(header, TOTAL, elapsedNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(nanos / 1_000 / 1_000.0);
+    }
+
+    private record TimerKey(String method, String uri) {
+    }
+}
@@ -0,0 +1,292 @@
+package com.bluecomet.event_planner.grpc;
+
+import com.bluecomet.event_planner.exception.ShardUnavailableException;
+import com.bluecomet.event_planner.grpc.v1.BatchGetEventsRequest;
+import com.bluecomet.event_planner.grpc.v1.BatchGetEventsResponse;
+import com.bluecomet.event_planner.grpc.v1.Event;
+import com.bluecomet.event_planner.grpc.v1.EventPlannerGrpc;
+import com.bluecomet.event_planner.grpc.v1.GetEventRequest;
+import com.bluecomet.event_planner.grpc.v1.ListRegistrationsRequest;
+import com.bluecomet.event_planner.grpc.v1.RegisterUserRequest;
+import com.bluecomet.event_planner.grpc.v1.RegisterUsersResponse;
+import com.bluecomet.event_planner.grpc.v1.Registration;
+import com.bluecomet.event_planner.grpc.v1.RegistrationRejection;
+import com.bluecomet.event_planner.grpc.v1.RejectionReason;
+import com.bluecomet.event_planner.mapper.GrpcMessageMapper;
+import com.bluecomet.event_planner.model.exchange.EventBatchResponse;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationRequest;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationResponse;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.Outcome;
+import com.bluecomet.event_planner.model.vo.Rejection;
+import com.bluecomet.event_planner.service.api.EventRegistrationService;
+import com.bluecomet.event_planner.service.impl.EventService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * gRPC endpoint of the event planner for service-to-service traffic, backed by the same services as the REST API.
+ * <p>
+ * Both streaming calls use manual flow control, so that the pace of the client maps onto the batches the backend
+ * works in. {@code RegisterUsers} requests one batch of messages at a time and asks for the next only once the
+ * batch is saved, so a fast client is held back by HTTP/2 flow control instead of being buffered in memory.
+ * {@code ListRegistrations} reads one keyset page at a time and only while the client is ready to receive, so no
+ * transaction or cursor stays open while a slow client catches up.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventPlannerGrpcService extends EventPlannerGrpc.EventPlannerImplBase {
+
+    private final EventService eventService;
+    private final EventRegistrationService eventRegistrationService;
+    private final GrpcMessageMapper grpcMessageMapper;
+
+    @Value("${event-planner.grpc.registration-batch-size:100}")
+    private int registrationBatchSize;
+
+    @Value("${event-planner.grpc.registration-page-size:500}")
+    private int registrationPageSize;
+
+    @Override
+    public void getEvent(GetEventRequest request, StreamObserver<Event> responseObserver) {
+        Outcome<EventResponse> outcome = eventService.findEvent(request.getId(), request.getIncludeArchived());
+        switch (outcome) {
+            case Outcome.Success<EventResponse> success -> {
+                responseObserver.onNext(grpcMessageMapper.toMessage(success.value()));
+                responseObserver.onCompleted();
+            }
+            case Outcome.Failure<EventResponse> failure -> responseObserver.onError(toStatus(failure).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void batchGetEvents(BatchGetEventsRequest request, StreamObserver<BatchGetEventsResponse> responseObserver) {
+        EventBatchResponse batch;
+        try {
+            batch = eventService.getEventBatch(request.getIdsList());
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        BatchGetEventsResponse.Builder response = BatchGetEventsResponse.newBuilder().addAllMissingIds(batch.missingIds());
+        for (EventResponse event : batch.events()) {
+            response.addEvents(grpcMessageMapper.toMessage(event));
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<RegisterUserRequest> registerUsers(StreamObserver<RegisterUsersResponse> responseObserver) {
+        ServerCallStreamObserver<RegisterUsersResponse> call = (ServerCallStreamObserver<RegisterUsersResponse>) responseObserver;
+        call.disableAutoRequest();
+        call.request(registrationBatchSize);
+        return new BatchingRegistrationObserver(call);
+    }
+
+    @Override
+    public void listRegistrations(ListRegistrationsRequest request, StreamObserver<Registration> responseObserver) {
+        if (!eventRegistrationService.eventExists(request.getEventId())) {
+            responseObserver.onError(Status.NOT_FOUND
+                    .withDescription(Rejection.EVENT_NOT_FOUND.message(request.getEventId()))
+                    .asRuntimeException());
+            return;
+        }
+        ServerCallStreamObserver<Registration> call = (ServerCallStreamObserver<Registration>) responseObserver;
+        RegistrationPager pager = new RegistrationPager(request.getEventId(), call);
+        call.setOnCancelHandler(pager::cancel);
+        call.setOnReadyHandler(pager);
+    }
+
+    private static Status toStatus(Outcome.Failure<?> failure) {
+        Status status = switch (failure.rejection().getStatus()) {
+            case NOT_FOUND -> Status.NOT_FOUND;
+            case CONFLICT -> Status.ALREADY_EXISTS;
+            default -> Status.FAILED_PRECONDITION;
+        };
+        return status.withDescription(failure.message());
+    }
+
+    /**
+     * Collects the registrations of one {@code RegisterUsers} call into batches of
+     * {@code event-planner.grpc.registration-batch-size} and saves each in one transaction. Callbacks of a call
+     * are never concurrent, so no state here needs synchronization.
+     */
+    private final class BatchingRegistrationObserver implements StreamObserver<RegisterUserRequest> {
+
+        private final ServerCallStreamObserver<RegisterUsersResponse> call;
+        private final List<EventRegistrationRequest> batch = new ArrayList<>(registrationBatchSize);
+        private final RegisterUsersResponse.Builder response = RegisterUsersResponse.newBuilder();
+        private int received;
+        private boolean failed;
+
+        private BatchingRegistrationObserver(ServerCallStreamObserver<RegisterUsersResponse> call) {
+            this.call = call;
+        }
+
+        @Override
+        public void onNext(RegisterUserRequest request) {
+            if (failed) {
+                return;
+            }
+            batch.add(grpcMessageMapper.toRequest(request));
+            if (batch.size() == registrationBatchSize && flush()) {
+                call.request(registrationBatchSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            log.info("RegisterUsers call ended by the client after {} registrations: {}",
+                    received, Status.fromThrowable(t));
+        }
+
+        @Override
+        public void onCompleted() {
+            if (failed || !flush()) {
+                return;
+            }
+            call.onNext(response.setReceived(received).build());
+            call.onCompleted();
+        }
+
+        /**
+         * Saves the pending batch and records its outcomes, failing the call if the batch cannot be saved.
+         *
+         * @return whether the call is still open
+         */
+        private boolean flush() {
+            if (batch.isEmpty()) {
+                return true;
+            }
+            List<Outcome<EventRegistrationResponse>> outcomes;
+            try {
+                outcomes = register(batch);
+            } catch (ShardUnavailableException e) {
+                log.info("RegisterUsers batch of {} registrations rejected: {}", batch.size(), e.getMessage());
+                failed = true;
+                call.onError(Status.UNAVAILABLE
+                        .withDescription(e.getMessage() + " " + response.getRegistered()
+                                + " registrations were saved before the failure")
+                        .asRuntimeException());
+                return false;
+            } catch (RuntimeException e) {
+                log.error("RegisterUsers batch of {} registrations failed", batch.size(), e);
+                failed = true;
+                call.onError(Status.INTERNAL
+                        .withDescription(response.getRegistered() + " registrations were saved before the failure")
+                        .asRuntimeException());
+                return false;
+            }
+            for (int i = 0; i < outcomes.size(); i++) {
+                if (outcomes.get(i) instanceof Outcome.Failure<EventRegistrationResponse> failure) {
+                    EventRegistrationRequest request = batch.get(i);
+                    response.addRejections(RegistrationRejection.newBuilder()
+                            .setIndex(received + i)
+                            .setEventId(request.getEventId())
+                            .setUserId(request.getUserId())
+                            .setReason(toReason(failure.rejection()))
+                            .setMessage(failure.message()));
+                } else {
+                    response.setRegistered(response.getRegistered() + 1);
+                }
+            }
+            received += batch.size();
+            batch.clear();
+            return true;
+        }
+
+        /**
+         * Registers the batch in one transaction. If a registration in it was made concurrently, that
+         * transaction is rolled back and the batch is registered one request at a time instead.
+         */
+        private List<Outcome<EventRegistrationResponse>> register(List<EventRegistrationRequest> requests) {
+            try {
+                return eventRegistrationService.tryRegisterUsersForEvents(requests);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Concurrent registration in a batch of {}, registering one at a time", requests.size());
+                return requests.stream().map(eventRegistrationService::tryRegisterUserForEvent).toList();
+            }
+        }
+
+        private static RejectionReason toReason(Rejection rejection) {
+            return switch (rejection) {
+                case EVENT_NOT_FOUND -> RejectionReason.REJECTION_REASON_EVENT_NOT_FOUND;
+                case REGISTRATION_ALREADY_EXISTS -> RejectionReason.REJECTION_REASON_REGISTRATION_ALREADY_EXISTS;
+                default -> RejectionReason.REJECTION_REASON_UNSPECIFIED;
+            };
+        }
+    }
+
+    /**
+     * Sends the registrations of one {@code ListRegistrations} call while the client is ready, reading a page of
+     * {@code event-planner.grpc.registration-page-size} whenever the previous one is used up. Runs as the ready
+     * handler of the call, which gRPC invokes once the call starts and again whenever the client has caught up.
+     */
+    private final class RegistrationPager implements Runnable {
+
+        private final Long eventId;
+        private final ServerCallStreamObserver<Registration> call;
+        private Iterator<EventRegistrationResponse> page = Collections.emptyIterator();
+        private boolean lastPage;
+        private long afterId;
+        private boolean completed;
+        private volatile boolean cancelled;
+
+        private RegistrationPager(Long eventId, ServerCallStreamObserver<Registration> call) {
+            this.eventId = eventId;
+            this.call = call;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!completed && !cancelled && call.isReady()) {
+                    if (!page.hasNext()) {
+                        if (lastPage) {
+                            completed = true;
+                            call.onCompleted();
+                            return;
+                        }
+                        nextPage();
+                        continue;
+                    }
+                    EventRegistrationResponse registration = page.next();
+                    afterId = registration.id();
+                    call.onNext(grpcMessageMapper.toMessage(registration));
+                }
+            } catch (RuntimeException e) {
+                log.error("ListRegistrations for event ID {} failed after registration ID {}", eventId, afterId, e);
+                completed = true;
+                call.onError(Status.INTERNAL.withDescription("Could not read registrations").asRuntimeException());
+            }
+        }
+
+        private void nextPage() {
+            List<EventRegistrationResponse> registrations =
+                    eventRegistrationService.getRegistrationsByEventAfter(eventId, afterId, registrationPageSize);
+            lastPage = registrations.size() < registrationPageSize;
+            page = registrations.iterator();
+        }
+
+        private void cancel() {
+            cancelled = true;
+            log.debug("ListRegistrations for event ID {} cancelled after registration ID {}", eventId, afterId);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.bluecomet.event_planner.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server next to the embedded web server, serving every {@link BindableService} bean.
+ * <p>
+ * The server starts once the application context is refreshed and stops first on shutdown. Calls in flight get
+ * {@code event-planner.grpc.shutdown-grace-period} to finish before they are cancelled. The server listens in
+ * plaintext and is meant for the internal network only; port {@code 0} picks a free port, see {@link #getPort()}.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "event-planner.grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final List<BindableService> services;
+
+    @Value("${event-planner.grpc.port:9090}")
+    private int port;
+
+    @Value("${event-planner.grpc.max-inbound-message-size:4194304}")
+    private int maxInboundMessageSize;
+
+    @Value("${event-planner.grpc.shutdown-grace-period:PT30S}")
+    private Duration shutdownGracePeriod;
+
+    private volatile Server server;
+
+    @Override
+    public void start() {
+        ServerBuilder<?> builder = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                .maxInboundMessageSize(maxInboundMessageSize);
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the gRPC server on port " + port, e);
+        }
+        log.info("gRPC server started on port {} with {} services", server.getPort(), services.size());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(shutdownGracePeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("gRPC calls still running after {}, cancelling them", shutdownGracePeriod);
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        log.info("gRPC server stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the port the server listens on, which differs from the configured one if that is {@code 0}.
+     *
+     * @return the bound port, or {@code -1} if the server is not running
+     */
+    public int getPort() {
+        Server running = server;
+        return running != null ? running.getPort() : -1;
+    }
+}
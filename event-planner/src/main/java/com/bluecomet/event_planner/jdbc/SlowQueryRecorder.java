@@ -0,0 +1,269 @@
+package com.bluecomet.event_planner.jdbc;
+
+import com.bluecomet.event_planner.model.exchange.SlowQueryReport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Records the latency and row count of every JDBC statement executed through {@link StatementTimingDataSource}.
+ * <p>
+ * All statements feed the {@code jdbc.statements} timer and {@code jdbc.statement.rows} summary, and are
+ * aggregated per statement shape, so that each derived repository query accumulates under one entry whatever
+ * its parameters. Statements slower than {@code event-planner.slow-query.threshold} are logged with their bound
+ * parameters. The first slow execution of a shape also triggers one {@code EXPLAIN} of it on a background
+ * thread, using its own connection and the same parameters. Each shape is explained only once.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlowQueryRecorder {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    /** Shapes by statement text, so that the same prepared statement is not normalized on every execution. */
+    private final ConcurrentHashMap<String, String> shapesBySql = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(64), Thread.ofPlatform().name("slow-query-explain").daemon().factory(),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    private Timer statementTimer;
+    private DistributionSummary rowSummary;
+    private Counter slowStatements;
+
+    @Value("${event-planner.slow-query.threshold:PT0.2S}")
+    private Duration threshold;
+
+    @Value("${event-planner.slow-query.explain:true}")
+    private boolean explain;
+
+    @Value("${event-planner.slow-query.max-shapes:1000}")
+    private int maxShapes;
+
+    @Value("${event-planner.slow-query.max-parameter-length:100}")
+    private int maxParameterLength;
+
+    @PostConstruct
+    void registerMetrics() {
+        statementTimer = Timer.builder("jdbc.statements")
+                .description("Execution time of JDBC statements")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rowSummary = DistributionSummary.builder("jdbc.statement.rows")
+                .description("Rows returned or updated per JDBC statement")
+                .register(meterRegistry);
+        slowStatements = Counter.builder("jdbc.statements.slow")
+                .description("JDBC statements slower than the slow-query threshold")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    /**
+     * Records one completed statement execution.
+     *
+     * @param sql           the statement as sent to the driver
+     * @param parameters    the bound parameters, by index; empty for plain statements and for executions that
+     *                      {@link #isSlow(long) are not slow}
+     * @param elapsedNanos  the time the driver took to execute it
+     * @param rows          the rows read from its result set, or the update count
+     * @param explainSource the data source to run {@code EXPLAIN} against, bypassing the timing proxy
+     */
+    void record(String sql, List<Object> parameters, long elapsedNanos, long rows, DataSource explainSource) {
+        statementTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        rowSummary.record(rows);
+
+        String shape = cachedShapeOf(sql);
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null && shapes.size() < maxShapes) {
+            stats = shapes.computeIfAbsent(shape, ShapeStats::new);
+        }
+        boolean slow = isSlow(elapsedNanos);
+        if (stats != null) {
+            stats.add(elapsedNanos, rows, slow, slow ? parameters : null, this);
+        }
+        if (!slow) {
+            return;
+        }
+
+        slowStatements.increment();
+        log.warn("Slow statement took {} ms and processed {} rows: {} | parameters {}",
+                elapsedNanos / 1_000_000, rows, sql, describe(parameters));
+        if (explain && stats != null && stats.planRequested.compareAndSet(false, true)) {
+            ShapeStats explained = stats;
+            explainExecutor.execute(() -> explained.plan = explain(sql, parameters, explainSource));
+        }
+    }
+
+    /**
+     * Returns the shapes with slow executions, slowest first.
+     *
+     * @param limit the maximum number of shapes to return
+     */
+    public List<SlowQueryReport> topSlowShapes(int limit) {
+        return shapes.values().stream()
+                .filter(stats -> stats.slowExecutions.sum() > 0)
+                .sorted(Comparator.comparingLong((ShapeStats stats) -> stats.maxNanos.get()).reversed())
+                .limit(limit)
+                .map(ShapeStats::toReport)
+                .toList();
+    }
+
+    /**
+     * Forgets all recorded shapes, including their captured plans.
+     */
+    public void reset() {
+        shapes.clear();
+    }
+
+    /**
+     * Whether an execution this long is slow. Only slow executions need their bound parameters.
+     */
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= threshold.toNanos();
+    }
+
+    private String cachedShapeOf(String sql) {
+        String shape = shapesBySql.get(sql);
+        if (shape == null) {
+            shape = shapeOf(sql);
+            if (shapesBySql.size() < maxShapes) {
+                shapesBySql.putIfAbsent(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private String describe(List<Object> parameters) {
+        if (parameters.isEmpty()) {
+            return "[]";
+        }
+        StringBuilder description = new StringBuilder("[");
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                description.append(", ");
+            }
+            String value = String.valueOf(parameters.get(i));
+            description.append(value.length() > maxParameterLength
+                    ? value.substring(0, maxParameterLength) + "..."
+                    : value);
+        }
+        return description.append(']').toString();
+    }
+
+    private String explain(String sql, List<Object> parameters, DataSource explainSource) {
+        String verb = sql.stripLeading().split("\\s", 2)[0].toLowerCase(Locale.ROOT);
+        if (!verb.equals("select") && !verb.equals("update") && !verb.equals("delete")) {
+            return "EXPLAIN not supported for " + verb + " statements";
+        }
+        try (Connection connection = explainSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                return format(plan);
+            }
+        } catch (SQLException e) {
+            log.debug("Could not explain slow statement {}", sql, e);
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static String format(ResultSet plan) throws SQLException {
+        ResultSetMetaData metaData = plan.getMetaData();
+        StringBuilder formatted = new StringBuilder();
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            formatted.append(column > 1 ? " | " : "").append(metaData.getColumnLabel(column));
+        }
+        while (plan.next()) {
+            formatted.append('\n');
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                formatted.append(column > 1 ? " | " : "").append(plan.getString(column));
+            }
+        }
+        return formatted.toString();
+    }
+
+    /**
+     * Running statistics of one statement shape.
+     */
+    private static final class ShapeStats {
+        private final String shape;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder slowExecutions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong maxRows = new AtomicLong();
+        private final AtomicBoolean planRequested = new AtomicBoolean();
+        private volatile String slowestParameters;
+        private volatile String plan;
+
+        ShapeStats(String shape) {
+            this.shape = shape;
+        }
+
+        void add(long nanos, long rows, boolean slow, List<Object> parameters, SlowQueryRecorder recorder) {
+            executions.increment();
+            totalNanos.add(nanos);
+            maxRows.accumulateAndGet(rows, Math::max);
+            if (slow) {
+                slowExecutions.increment();
+            }
+            if (maxNanos.getAndAccumulate(nanos, Math::max) < nanos && parameters != null) {
+                slowestParameters = recorder.describe(parameters);
+            }
+        }
+
+        SlowQueryReport toReport() {
+            return new SlowQueryReport(shape, executions.sum(), slowExecutions.sum(),
+                    totalNanos.sum() / 1_000_000.0, maxNanos.get() / 1_000_000.0, maxRows.get(),
+                    slowestParameters, plan);
+        }
+    }
+}
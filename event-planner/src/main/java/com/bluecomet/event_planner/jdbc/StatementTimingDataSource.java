@@ -0,0 +1,212 @@
+package com.bluecomet.event_planner.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Data source whose connections time every statement they execute and report it to the
+ * {@link SlowQueryRecorder}.
+ * <p>
+ * Connections, statements and result sets are wrapped in JDK dynamic proxies that only look at the handful of
+ * calls they need: statement creation, parameter binding, execution, row iteration and closing. Everything else
+ * passes straight through to the driver. A query is reported when its result set is closed, so that the rows
+ * actually read can be counted; its latency is the time the driver took to execute it, excluding fetching.
+ * </p>
+ *
+ * @author Priyansu
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final SlowQueryRecorder recorder;
+
+    public StatementTimingDataSource(DataSource targetDataSource, SlowQueryRecorder recorder) {
+        super(targetDataSource);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> wrap(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> wrap(CallableStatement.class, (Statement) result, (String) args[0]);
+                case "createStatement" -> wrap(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        });
+    }
+
+    private <S extends Statement> S wrap(Class<S> type, Statement statement, String preparedSql) {
+        return proxy(type, statement, new StatementHandler(statement, preparedSql));
+    }
+
+    /**
+     * Tracks the bound parameters and the pending execution of one statement.
+     */
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private final List<Object> parameters = new ArrayList<>();
+        private Execution pending;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            if (name.equals("getResultSet")) {
+                ResultSet resultSet = (ResultSet) StatementTimingDataSource.invoke(statement, method, args);
+                return resultSet == null || pending == null ? resultSet : pending.wrap(resultSet);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("close")) {
+                complete(0);
+            }
+            return StatementTimingDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            complete(0);
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result = StatementTimingDataSource.invoke(statement, method, args);
+            long elapsedNanos = System.nanoTime() - start;
+            List<Object> bound = recorder.isSlow(elapsedNanos) ? new ArrayList<>(parameters) : List.of();
+            pending = new Execution(sql, bound, elapsedNanos);
+
+            if (result instanceof ResultSet resultSet) {
+                return pending.wrap(resultSet);
+            }
+            if (result instanceof Boolean isResultSet && isResultSet) {
+                return result;
+            }
+            complete(updateCount(result));
+            return result;
+        }
+
+        private void complete(long rows) {
+            if (pending != null) {
+                pending.complete(rows);
+                pending = null;
+            }
+        }
+
+        private void bind(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+
+        private long updateCount(Object result) throws SQLException {
+            return switch (result) {
+                case Integer count -> count;
+                case Long count -> count;
+                case int[] counts -> sum(counts);
+                case long[] counts -> sum(counts);
+                case null, default -> Math.max(0, statement.getLargeUpdateCount());
+            };
+        }
+    }
+
+    /**
+     * One execution of a statement, reported once its rows are known.
+     */
+    private final class Execution {
+        private final String sql;
+        private final List<Object> parameters;
+        private final long elapsedNanos;
+        private long rows;
+        private boolean completed;
+
+        Execution(String sql, List<Object> parameters, long elapsedNanos) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        ResultSet wrap(ResultSet resultSet) {
+            return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+                Object result = StatementTimingDataSource.invoke(resultSet, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else if (method.getName().equals("close")) {
+                    complete(0);
+                }
+                return result;
+            });
+        }
+
+        void complete(long updatedRows) {
+            if (!completed) {
+                completed = true;
+                recorder.record(sql, parameters, elapsedNanos, rows + updatedRows, getTargetDataSource());
+            }
+        }
+    }
+
+    private static long sum(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            total += Math.max(0, count);
+        }
+        return total;
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += Math.max(0, count);
+        }
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementTimingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bluecomet.event_planner.mapper;
+
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Streams {@link EventResponse} DTOs as JSON without going through bean serialization.
+ *
+ * @author Priyansu
+ */
+@Component
+public class EventJsonWriter extends JsonStreamWriter<EventResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString LOCATION = new SerializedString("location");
+    private static final SerializedString EVENT_DATE_TIME = new SerializedString("eventDateTime");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString[] STATUSES = encodedConstants(EventStatus.class, EventStatus::getStatus);
+
+    public EventJsonWriter(ObjectMapper objectMapper) {
+        super(objectMapper.getFactory());
+    }
+
+    @Override
+    protected void write(JsonGenerator generator, EventResponse event, char[] scratch) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        writeNumber(generator, event.id());
+        generator.writeFieldName(NAME);
+        generator.writeString(event.name());
+        generator.writeFieldName(LOCATION);
+        generator.writeString(event.location());
+        generator.writeFieldName(EVENT_DATE_TIME);
+        writeDateTime(generator, event.eventDateTime(), scratch);
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(event.description());
+        generator.writeFieldName(STATUS);
+        writeEnum(generator, event.status(), STATUSES);
+        generator.writeEndObject();
+    }
+}
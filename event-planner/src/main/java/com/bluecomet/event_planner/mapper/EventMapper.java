@@ -6,6 +6,7 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 import com.bluecomet.event_planner.model.exchange.EventRequest;
 import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.entity.ArchivedEvent;
 import com.bluecomet.event_planner.model.entity.Event;
 import com.bluecomet.event_planner.exception.EventNotFoundException;
 
@@ -35,6 +36,23 @@ public class EventMapper {
                 .orElseThrow(() -> new EventNotFoundException("Event cannot be null"));
     }
 
+    /**
+     * Converts an {@link ArchivedEvent} entity to an {@link EventResponse} DTO.
+     *
+     * @param event the archived event entity
+     * @return the corresponding {@link EventResponse} DTO
+     */
+    public EventResponse toResponse(ArchivedEvent event) {
+        return new EventResponse(
+                event.getId(),
+                event.getName(),
+                event.getLocation(),
+                event.getEventDateTime(),
+                event.getDescription(),
+                event.getStatus()
+        );
+    }
+
     public List<EventResponse> toResponseList(List<Event> events) {
         return events.stream()
                 .map(this::toResponse)
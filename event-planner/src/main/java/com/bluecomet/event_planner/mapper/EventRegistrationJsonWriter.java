@@ -0,0 +1,47 @@
+package com.bluecomet.event_planner.mapper;
+
+import com.bluecomet.event_planner.model.exchange.EventRegistrationResponse;
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Streams {@link EventRegistrationResponse} DTOs as JSON without going through bean serialization.
+ *
+ * @author Priyansu
+ */
+@Component
+public class EventRegistrationJsonWriter extends JsonStreamWriter<EventRegistrationResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString EVENT_ID = new SerializedString("eventId");
+    private static final SerializedString USER_ID = new SerializedString("userId");
+    private static final SerializedString REGISTRATION_STATUS = new SerializedString("registrationStatus");
+    private static final SerializedString REGISTERED_AT = new SerializedString("registeredAt");
+    private static final SerializedString[] STATUSES = encodedConstants(RegistrationStatus.class, RegistrationStatus::getRegStatus);
+
+    public EventRegistrationJsonWriter(ObjectMapper objectMapper) {
+        super(objectMapper.getFactory());
+    }
+
+    @Override
+    protected void write(JsonGenerator generator, EventRegistrationResponse registration, char[] scratch)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        writeNumber(generator, registration.id());
+        generator.writeFieldName(EVENT_ID);
+        writeNumber(generator, registration.eventId());
+        generator.writeFieldName(USER_ID);
+        writeNumber(generator, registration.userId());
+        generator.writeFieldName(REGISTRATION_STATUS);
+        writeEnum(generator, registration.registrationStatus(), STATUSES);
+        generator.writeFieldName(REGISTERED_AT);
+        writeDateTime(generator, registration.registeredAt(), scratch);
+        generator.writeEndObject();
+    }
+}
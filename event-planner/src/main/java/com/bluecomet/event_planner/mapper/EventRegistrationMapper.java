@@ -29,7 +29,7 @@ public class EventRegistrationMapper {
 
         return new EventRegistrationResponse(
                     registration.getId(),
-                    registration.getEvent().getId(),
+                    registration.getEventId(),
                     registration.getUserId(),
                     registration.getRegistrationStatus(),
                     registration.getRegisteredAt()
@@ -0,0 +1,92 @@
+package com.bluecomet.event_planner.mapper;
+
+import com.bluecomet.event_planner.grpc.v1.Event;
+import com.bluecomet.event_planner.grpc.v1.Registration;
+import com.bluecomet.event_planner.grpc.v1.RegisterUserRequest;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationRequest;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationResponse;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Mapper between the response and request DTOs and the messages of the gRPC API.
+ * <p>
+ * Date-times are written as ISO-8601 local date-times, as in the REST API. Unset string fields stay empty
+ * rather than {@code null}, which protobuf does not allow.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+public class GrpcMessageMapper {
+
+    public Event toMessage(EventResponse event) {
+        Event.Builder message = Event.newBuilder()
+                .setId(event.id())
+                .setStatus(toMessage(event.status()));
+        if (event.name() != null) {
+            message.setName(event.name());
+        }
+        if (event.location() != null) {
+            message.setLocation(event.location());
+        }
+        if (event.eventDateTime() != null) {
+            message.setEventDateTime(format(event.eventDateTime()));
+        }
+        if (event.description() != null) {
+            message.setDescription(event.description());
+        }
+        return message.build();
+    }
+
+    public Registration toMessage(EventRegistrationResponse registration) {
+        Registration.Builder message = Registration.newBuilder()
+                .setId(registration.id())
+                .setEventId(registration.eventId())
+                .setUserId(registration.userId())
+                .setStatus(toMessage(registration.registrationStatus()));
+        if (registration.registeredAt() != null) {
+            message.setRegisteredAt(format(registration.registeredAt()));
+        }
+        return message.build();
+    }
+
+    public EventRegistrationRequest toRequest(RegisterUserRequest message) {
+        EventRegistrationRequest request = new EventRegistrationRequest();
+        request.setEventId(message.getEventId());
+        request.setUserId(message.getUserId());
+        return request;
+    }
+
+    private static com.bluecomet.event_planner.grpc.v1.EventStatus toMessage(EventStatus status) {
+        if (status == null) {
+            return com.bluecomet.event_planner.grpc.v1.EventStatus.EVENT_STATUS_UNSPECIFIED;
+        }
+        return switch (status) {
+            case UPCOMING -> com.bluecomet.event_planner.grpc.v1.EventStatus.EVENT_STATUS_UPCOMING;
+            case ONGOING -> com.bluecomet.event_planner.grpc.v1.EventStatus.EVENT_STATUS_ONGOING;
+            case COMPLETED -> com.bluecomet.event_planner.grpc.v1.EventStatus.EVENT_STATUS_COMPLETED;
+            case CANCELLED -> com.bluecomet.event_planner.grpc.v1.EventStatus.EVENT_STATUS_CANCELLED;
+        };
+    }
+
+    private static com.bluecomet.event_planner.grpc.v1.RegistrationStatus toMessage(RegistrationStatus status) {
+        if (status == null) {
+            return com.bluecomet.event_planner.grpc.v1.RegistrationStatus.REGISTRATION_STATUS_UNSPECIFIED;
+        }
+        return switch (status) {
+            case PENDING -> com.bluecomet.event_planner.grpc.v1.RegistrationStatus.REGISTRATION_STATUS_PENDING;
+            case CONFIRMED -> com.bluecomet.event_planner.grpc.v1.RegistrationStatus.REGISTRATION_STATUS_CONFIRMED;
+            case CANCELLED -> com.bluecomet.event_planner.grpc.v1.RegistrationStatus.REGISTRATION_STATUS_CANCELLED;
+        };
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+}
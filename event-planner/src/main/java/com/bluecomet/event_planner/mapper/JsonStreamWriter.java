@@ -0,0 +1,166 @@
+package com.bluecomet.event_planner.mapper;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Base class of the hand-written writers that stream response DTOs as a JSON array, element by element.
+ * <p>
+ * The same code writes {@code application/cbor} through a CBOR generator, as indefinite-length arrays and maps
+ * that need no element count up front. The CBOR output decodes to the same tree as the JSON output.
+ * </p>
+ * <p>
+ * Field names and enum constants are encoded once up front, and {@link LocalDateTime} values are written as
+ * ISO-8601 text straight from their fields into a per-array scratch buffer. No intermediate list, tree or
+ * formatter output is created per element. The output matches what the application's {@code ObjectMapper}
+ * writes for the same DTOs.
+ * </p>
+ *
+ * @param <T> the type of the streamed DTO
+ *
+ * @author Priyansu
+ */
+public abstract class JsonStreamWriter<T> {
+
+    /**
+     * The media types the writers can produce, the default first.
+     */
+    public static final List<MediaType> MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
+    private static final int DATE_TIME_LENGTH = 29;
+
+    private final JsonFactory jsonFactory;
+    private final JsonFactory cborFactory = new CBORFactory();
+
+    protected JsonStreamWriter(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Writes the items as a JSON array to the output stream, which is flushed but left open.
+     */
+    public void writeArray(Stream<T> items, OutputStream out) throws IOException {
+        writeArray(items, MediaType.APPLICATION_JSON, out);
+    }
+
+    /**
+     * Writes the items as an array to the output stream in CBOR if the media type is {@code application/cbor},
+     * in JSON otherwise. The stream is flushed but left open.
+     */
+    public void writeArray(Stream<T> items, MediaType mediaType, OutputStream out) throws IOException {
+        JsonFactory factory = MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType) ? cborFactory : jsonFactory;
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeArray(items, generator);
+        }
+    }
+
+    /**
+     * Writes the items as an array to the given generator, whatever its format.
+     */
+    public void writeArray(Stream<T> items, JsonGenerator generator) throws IOException {
+        char[] scratch = new char[DATE_TIME_LENGTH];
+        generator.writeStartArray();
+        for (Iterator<T> iterator = items.iterator(); iterator.hasNext(); ) {
+            write(generator, iterator.next(), scratch);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes one item as an object.
+     *
+     * @param scratch a buffer of at least 29 characters, reused across items, for {@link #writeDateTime}
+     */
+    protected abstract void write(JsonGenerator generator, T item, char[] scratch) throws IOException;
+
+    /**
+     * Pre-encodes the JSON value of every constant of an enum, indexed by ordinal.
+     *
+     * @param jsonValue the accessor annotated with {@code @JsonValue}
+     */
+    protected static <E extends Enum<E>> SerializedString[] encodedConstants(Class<E> type, Function<E, String> jsonValue) {
+        E[] constants = type.getEnumConstants();
+        SerializedString[] encoded = new SerializedString[constants.length];
+        for (E constant : constants) {
+            encoded[constant.ordinal()] = new SerializedString(jsonValue.apply(constant));
+        }
+        return encoded;
+    }
+
+    protected static void writeNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+
+    protected static void writeEnum(JsonGenerator generator, Enum<?> value, SerializedString[] encoded)
+            throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(encoded[value.ordinal()]);
+        }
+    }
+
+    /**
+     * Writes the value like {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: seconds are always present and the
+     * fraction, if any, is written without trailing zeros.
+     */
+    protected static void writeDateTime(JsonGenerator generator, LocalDateTime value, char[] scratch)
+            throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        if (value.getYear() < 0 || value.getYear() > 9999) {
+            generator.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        int length = 0;
+        length = digits(scratch, length, value.getYear(), 4);
+        scratch[length++] = '-';
+        length = digits(scratch, length, value.getMonthValue(), 2);
+        scratch[length++] = '-';
+        length = digits(scratch, length, value.getDayOfMonth(), 2);
+        scratch[length++] = 'T';
+        length = digits(scratch, length, value.getHour(), 2);
+        scratch[length++] = ':';
+        length = digits(scratch, length, value.getMinute(), 2);
+        scratch[length++] = ':';
+        length = digits(scratch, length, value.getSecond(), 2);
+        int nanos = value.getNano();
+        if (nanos > 0) {
+            scratch[length++] = '.';
+            int fractionDigits = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                fractionDigits--;
+            }
+            length = digits(scratch, length, nanos, fractionDigits);
+        }
+        generator.writeString(scratch, 0, length);
+    }
+
+    private static int digits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bluecomet.event_planner.model.change;
+
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published by {@code EventService} whenever an event changes.
+ * <p>
+ * Listeners that must only react to committed data subscribe with
+ * {@code @TransactionalEventListener}, which delivers the change after the surrounding transaction commits.
+ * </p>
+ *
+ * @param type       the kind of change
+ * @param eventId    the ID of the changed event
+ * @param event      the state of the event after the change, or {@code null} once deleted or archived
+ * @param occurredAt when the change was made
+ *
+ * @author Priyansu
+ */
+public record EventChange(
+    EventChangeType type,
+    Long eventId,
+    EventResponse event,
+    LocalDateTime occurredAt
+) {}
@@ -0,0 +1,21 @@
+package com.bluecomet.event_planner.model.change;
+
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+
+import java.util.Set;
+
+/**
+ * Application event published when registrations were moved to a new status with set-based updates,
+ * so the individual transitions are not known.
+ *
+ * @param eventIds  the IDs of the events whose registrations changed
+ * @param newStatus the status the registrations were moved to
+ * @param updated   the number of registrations that changed
+ *
+ * @author Priyansu
+ */
+public record RegistrationBulkChange(
+    Set<Long> eventIds,
+    RegistrationStatus newStatus,
+    long updated
+) {}
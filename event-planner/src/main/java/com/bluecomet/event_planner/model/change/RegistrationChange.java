@@ -0,0 +1,22 @@
+package com.bluecomet.event_planner.model.change;
+
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+
+/**
+ * Application event published by the registration service whenever a single registration changes status.
+ *
+ * @param eventId        the ID of the event the registration belongs to
+ * @param registrationId the ID of the registration
+ * @param userId         the ID of the registered user
+ * @param previousStatus the status before the change, or {@code null} for a new registration
+ * @param newStatus      the status after the change
+ *
+ * @author Priyansu
+ */
+public record RegistrationChange(
+    Long eventId,
+    Long registrationId,
+    Long userId,
+    RegistrationStatus previousStatus,
+    RegistrationStatus newStatus
+) {}
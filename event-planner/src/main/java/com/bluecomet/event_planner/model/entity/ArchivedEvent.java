@@ -0,0 +1,70 @@
+package com.bluecomet.event_planner.model.entity;
+
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+
+/**
+ * Entity representing a completed or cancelled event moved to the "events_archive" table.
+ * <p>
+ * Rows are written by the archival job with set-based inserts and are read-only afterwards.
+ * The table is range-partitioned by event date, see {@code schemas/events_archive.sql}.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Entity
+@Table(
+    name = "events_archive",
+    indexes = {
+        @Index(name = "idx_event_archive_status", columnList = "status, event_datetime")
+    }
+)
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class ArchivedEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4419230872518365042L;
+
+    @Id
+    @Column(name = "event_id")
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String description;
+
+    @Column(nullable = false, length = 200)
+    private String location;
+
+    @Column(name = "event_datetime", nullable = false)
+    private LocalDateTime eventDateTime;
+
+    @Enumerated(STRING)
+    @Column(nullable = false, length = 20)
+    private EventStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
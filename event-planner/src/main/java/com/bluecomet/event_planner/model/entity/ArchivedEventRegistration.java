@@ -0,0 +1,64 @@
+package com.bluecomet.event_planner.model.entity;
+
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+
+/**
+ * Entity representing a registration of an archived event, moved to the "event_registrations_archive" table.
+ * <p>
+ * The event date is copied from the event so registrations share their event's partition.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Entity
+@Table(
+    name = "event_registrations_archive",
+    indexes = {
+        @Index(name = "idx_registration_archive_event", columnList = "event_id"),
+        @Index(name = "idx_registration_archive_user", columnList = "user_id")
+    }
+)
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class ArchivedEventRegistration implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -5723307617284107359L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(STRING)
+    @Column(name = "registration_status", nullable = false, length = 20)
+    private RegistrationStatus registrationStatus;
+
+    @Column(name = "registered_at", nullable = false)
+    private LocalDateTime registeredAt;
+
+    @Column(name = "event_datetime", nullable = false)
+    private LocalDateTime eventDateTime;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
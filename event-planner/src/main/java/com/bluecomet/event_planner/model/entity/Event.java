@@ -42,7 +42,10 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @Table(
     name = "events",
     indexes = {
-        @Index(name = "idx_event_name", columnList = "name")
+        @Index(name = "idx_event_name", columnList = "name"),
+        @Index(name = "idx_event_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_event_status_datetime", columnList = "status, event_datetime"),
+        @Index(name = "idx_event_datetime", columnList = "event_datetime")
     }
 )
 @Data
@@ -83,7 +86,7 @@ public class Event implements Serializable {
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
-    @Column(nullable = false)
+    @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
     {
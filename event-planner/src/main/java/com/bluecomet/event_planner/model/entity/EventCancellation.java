@@ -0,0 +1,62 @@
+package com.bluecomet.event_planner.model.entity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.bluecomet.event_planner.model.vo.CancellationStatus;
+
+import static jakarta.persistence.EnumType.STRING;
+
+/**
+ * Entity tracking the cascade of an event cancellation to its registrations.
+ * <p>
+ * Registrations are cancelled in chunks ordered by registration ID. After every committed chunk the
+ * cursor and counters are stored here, so an interrupted cascade resumes where it stopped.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Entity
+@Table(name = "event_cancellations")
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class EventCancellation implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6502147839017722413L;
+
+    @Version
+    private int version;
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Enumerated(STRING)
+    @Column(nullable = false, length = 20)
+    private CancellationStatus status;
+
+    @Column(name = "last_registration_id", nullable = false)
+    private long lastRegistrationId;
+
+    @Column(name = "cancelled_registrations", nullable = false)
+    private long cancelledRegistrations;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,40 @@
+package com.bluecomet.event_planner.model.entity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity recording that an event was deleted or archived.
+ * <p>
+ * A removed event leaves no row to catch up from, so every node's event catalog snapshot learns of removals
+ * made on other nodes from these tombstones. They are pruned once older than
+ * {@code event-planner.event-catalog.snapshot.deletion-retention}.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Entity
+@Table(name = "event_deletions", indexes = @Index(name = "idx_event_deletions_deleted_at", columnList = "deleted_at"))
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class EventDeletion implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4719305526814097302L;
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -6,12 +6,11 @@ import java.time.LocalDateTime;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,16 +19,28 @@ import lombok.NoArgsConstructor;
 import com.bluecomet.event_planner.model.vo.RegistrationStatus;
 
 import static jakarta.persistence.EnumType.STRING;
-import static jakarta.persistence.FetchType.LAZY;
-import static jakarta.persistence.GenerationType.IDENTITY;
 
 /**
  * Entity representing an event registration.
+ * <p>
+ * Registrations are sharded by event across several databases, see
+ * {@link com.bluecomet.event_planner.shard.ShardRouter}, so the event is referenced by ID rather than by a
+ * foreign key, and IDs are assigned from a global sequence instead of the shard's auto-increment.
+ * </p>
  *
  * @author Priyansu
  */
 @Entity
-@Table(name = "event_registrations")
+@Table(
+    name = "event_registrations",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_registration_user_event", columnNames = {"user_id", "event_id"})
+    },
+    indexes = {
+        @Index(name = "idx_registration_event", columnList = "event_id"),
+        @Index(name = "idx_registration_registered_at", columnList = "registered_at")
+    }
+)
 @Data @NoArgsConstructor @AllArgsConstructor @Builder
 public class EventRegistration implements Serializable {
 
@@ -37,15 +48,13 @@ public class EventRegistration implements Serializable {
     private static final long serialVersionUID = -846646922207589122L;
 
     @Version
-    private int version;
+    private Integer version;
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
     private Long id;
 
-    @ManyToOne(fetch = LAZY)
-    @JoinColumn(name = "event_id", nullable = false)
-    private Event event;
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
 
     /* The user ID of the registrant.
      * User ID will be generated from User services */
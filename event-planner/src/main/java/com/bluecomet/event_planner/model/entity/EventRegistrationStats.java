@@ -0,0 +1,43 @@
+package com.bluecomet.event_planner.model.entity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity holding the number of registrations of an event per registration status.
+ * <p>
+ * Rows are adjusted by an atomic delta after every committed registration change, and periodically
+ * recounted from {@code event_registrations} under a row lock.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Entity
+@Table(name = "event_registration_stats")
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class EventRegistrationStats implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3170950866285541203L;
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "pending_count", nullable = false)
+    private long pendingCount;
+
+    @Column(name = "confirmed_count", nullable = false)
+    private long confirmedCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private long cancelledCount;
+}
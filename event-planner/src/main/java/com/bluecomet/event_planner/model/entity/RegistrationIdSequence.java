@@ -0,0 +1,37 @@
+package com.bluecomet.event_planner.model.entity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity holding the next unallocated registration ID.
+ * <p>
+ * Registration IDs must be unique across all shards, so nodes reserve blocks of IDs from this row in the
+ * primary database instead of relying on each shard's auto-increment.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Entity
+@Table(name = "registration_id_sequence")
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class RegistrationIdSequence implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -7208317946402269155L;
+
+    @Id
+    @Column(name = "sequence_name", length = 64)
+    private String name;
+
+    @Column(name = "next_id", nullable = false)
+    private long nextId;
+}
@@ -0,0 +1,53 @@
+package com.bluecomet.event_planner.model.entity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.bluecomet.event_planner.model.vo.ShardBucketState;
+
+import static jakarta.persistence.EnumType.STRING;
+
+/**
+ * Entity assigning one bucket of events to the shard holding their registrations.
+ * <p>
+ * An event belongs to bucket {@code eventId mod buckets}. The map lives in the primary database and is cached
+ * by every node, so moving a bucket to another shard only rewrites its row.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Entity
+@Table(name = "registration_shard_buckets")
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class RegistrationShardBucket implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2811930524776316540L;
+
+    @Version
+    private int version;
+
+    @Id
+    @Column(name = "bucket")
+    private Integer bucket;
+
+    @Column(nullable = false, length = 64)
+    private String shard;
+
+    @Enumerated(STRING)
+    @Column(nullable = false, length = 20)
+    private ShardBucketState state;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,32 @@
+package com.bluecomet.event_planner.model.exchange;
+
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing a bulk registration status transition.
+ * <p>
+ * Registrations are selected either by an explicit list of registration IDs, or by an event ID
+ * together with the status the registrations currently have.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Getter @Setter
+public class BulkRegistrationStatusRequest {
+
+    @Size(max = 10000, message = "At most 10000 registration IDs can be updated per request")
+    private List<Long> registrationIds;
+
+    private Long eventId;
+
+    private RegistrationStatus currentStatus;
+
+    @NotNull(message = "New status is required")
+    private RegistrationStatus newStatus;
+}
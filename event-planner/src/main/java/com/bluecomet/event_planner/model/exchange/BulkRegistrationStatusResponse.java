@@ -0,0 +1,18 @@
+package com.bluecomet.event_planner.model.exchange;
+
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of a bulk registration status transition.
+ *
+ * @param newStatus the status the registrations were moved to
+ * @param matched   the number of registrations selected by the request
+ * @param updated   the number of registrations whose status actually changed
+ *
+ * @author Priyansu
+ */
+public record BulkRegistrationStatusResponse(
+    RegistrationStatus newStatus,
+    int matched,
+    int updated
+) {}
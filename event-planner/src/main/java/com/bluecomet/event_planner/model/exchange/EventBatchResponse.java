@@ -0,0 +1,16 @@
+package com.bluecomet.event_planner.model.exchange;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of a multi-get of events by ID.
+ *
+ * @param events     the found events, in the order their IDs were requested
+ * @param missingIds the requested IDs for which no event exists, in request order
+ *
+ * @author Priyansu
+ */
+public record EventBatchResponse(
+    List<EventResponse> events,
+    List<Long> missingIds
+) {}
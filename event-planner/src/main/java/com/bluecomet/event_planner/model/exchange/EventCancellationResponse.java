@@ -0,0 +1,20 @@
+package com.bluecomet.event_planner.model.exchange;
+
+import com.bluecomet.event_planner.model.vo.CancellationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO reporting the progress of an event cancellation cascading to its registrations.
+ *
+ * @author Priyansu
+ */
+public record EventCancellationResponse(
+    Long eventId,
+    CancellationStatus status,
+    long cancelledRegistrations,
+    long remainingRegistrations,
+    LocalDateTime startedAt,
+    LocalDateTime updatedAt,
+    LocalDateTime completedAt
+) {}
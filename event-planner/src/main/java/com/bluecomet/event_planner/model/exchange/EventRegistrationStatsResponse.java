@@ -0,0 +1,14 @@
+package com.bluecomet.event_planner.model.exchange;
+
+/**
+ * DTO reporting the number of registrations of an event per registration status.
+ *
+ * @author Priyansu
+ */
+public record EventRegistrationStatsResponse(
+    Long eventId,
+    long pending,
+    long confirmed,
+    long cancelled,
+    long total
+) {}
@@ -0,0 +1,22 @@
+package com.bluecomet.event_planner.model.exchange;
+
+import java.util.List;
+
+/**
+ * DTO for responding with one slice of an event listing, fetched without a count query.
+ *
+ * @param content        the events of this slice
+ * @param page           the slice number (0-based index)
+ * @param size           the requested slice size
+ * @param hasNext        whether another slice follows
+ * @param estimatedTotal the estimated number of matching events, or {@code null} if not requested
+ *
+ * @author Priyansu
+ */
+public record EventSliceResponse(
+    List<EventResponse> content,
+    int page,
+    int size,
+    boolean hasNext,
+    Long estimatedTotal
+) {}
@@ -0,0 +1,40 @@
+package com.bluecomet.event_planner.model.exchange;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Summary of the recent window of the continuous flight recording.
+ *
+ * @param from            start of the summarized window
+ * @param to              end of the summarized window
+ * @param hotMethods      the most sampled methods, by execution samples
+ * @param allocationSites the methods allocating the most, by estimated bytes
+ * @param gcPauses        the garbage collection pauses
+ * @param socketWaits     the time blocked on socket reads and writes, per remote endpoint; JDBC traffic shows
+ *                        up under the database host and port
+ *
+ * @author Priyansu
+ */
+@Schema(description = "Summary of the recent window of the continuous flight recording")
+public record FlightRecordingSummary(
+    Instant from,
+    Instant to,
+    List<Hotspot> hotMethods,
+    List<Hotspot> allocationSites,
+    Wait gcPauses,
+    List<Wait> socketWaits
+) {
+
+    /**
+     * A method and its weight: execution samples for hot methods, estimated bytes for allocation sites.
+     */
+    public record Hotspot(String method, long weight, double percent) {}
+
+    /**
+     * Number, total and longest duration of waits of one kind.
+     */
+    public record Wait(String name, long count, double totalMillis, double maxMillis) {}
+}
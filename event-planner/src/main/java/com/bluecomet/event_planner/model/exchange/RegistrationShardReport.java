@@ -0,0 +1,49 @@
+package com.bluecomet.event_planner.model.exchange;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of the registration shards: how the buckets are spread over them and which moves are under way.
+ *
+ * @param buckets         the number of buckets events are hashed into
+ * @param bucketsPerShard the number of buckets assigned to each shard
+ * @param frozenBuckets   the buckets whose registrations are being moved and reject writes
+ * @param pendingMoves    the moves started and not finished yet, the running one first
+ * @param lastMove        the outcome of the last finished move, or {@code null} if none finished yet
+ *
+ * @author Priyansu
+ */
+@Schema(description = "State of the registration shards and of bucket moves between them")
+public record RegistrationShardReport(
+    int buckets,
+    Map<String, Integer> bucketsPerShard,
+    List<Integer> frozenBuckets,
+    List<BucketMove> pendingMoves,
+    BucketMoveResult lastMove
+) {
+
+    /**
+     * A move of the registrations of one bucket from one shard to another.
+     */
+    public record BucketMove(int bucket, String source, String target) {}
+
+    /**
+     * The outcome of a bucket move: the rows copied while writes were open, the rows fixed up while the bucket
+     * was frozen and the rows deleted from the source afterwards. {@code error} is set if the move failed, in
+     * which case the bucket stays on its source shard.
+     */
+    public record BucketMoveResult(
+        BucketMove move,
+        long copied,
+        long reconciled,
+        long deleted,
+        Instant finishedAt,
+        Duration took,
+        String error
+    ) {}
+}
@@ -0,0 +1,30 @@
+package com.bluecomet.event_planner.model.exchange;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Aggregated statistics of one statement shape, that is a SQL statement with its literals replaced by
+ * placeholders.
+ *
+ * @param shape           the normalized statement
+ * @param executions      how often the shape was executed
+ * @param slowExecutions  how many executions exceeded the slow-query threshold
+ * @param totalMillis     the summed execution time
+ * @param maxMillis       the longest execution time
+ * @param maxRows         the most rows returned or updated by a single execution
+ * @param slowestParameters the bound parameters of the slowest execution
+ * @param plan            the execution plan captured for the shape, or {@code null} if not (yet) available
+ *
+ * @author Priyansu
+ */
+@Schema(description = "Aggregated statistics of one statement shape")
+public record SlowQueryReport(
+    String shape,
+    long executions,
+    long slowExecutions,
+    double totalMillis,
+    double maxMillis,
+    long maxRows,
+    String slowestParameters,
+    String plan
+) {}
@@ -0,0 +1,24 @@
+package com.bluecomet.event_planner.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Progress of the cascade of an event cancellation to its registrations.
+ *
+ * @author Priyansu
+ */
+public enum CancellationStatus {
+    IN_PROGRESS("In Progress"),
+    COMPLETED("Completed");
+
+    private final String status;
+
+    private CancellationStatus(String status) {
+        this.status = status;
+    }
+
+    @JsonValue
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bluecomet.event_planner.model.vo;
+
+/**
+ * Kind of change applied to an event.
+ *
+ * @author Priyansu
+ */
+public enum EventChangeType {
+    CREATED,
+    UPDATED,
+    CANCELLED,
+    DELETED,
+    ARCHIVED
+}
@@ -0,0 +1,54 @@
+package com.bluecomet.event_planner.model.vo;
+
+import java.util.function.Function;
+
+/**
+ * Result of an operation whose expected failures are returned as values rather than thrown.
+ * <p>
+ * A {@link Failure} carries only the {@link Rejection} and the rejected subject, so turning a request down
+ * costs one small allocation instead of an exception with a captured stack trace.
+ * </p>
+ *
+ * @param <T> the type of the successful value
+ *
+ * @author Priyansu
+ */
+public sealed interface Outcome<T> {
+
+    record Success<T>(T value) implements Outcome<T> {}
+
+    record Failure<T>(Rejection rejection, Object subject) implements Outcome<T> {
+
+        public String message() {
+            return rejection.message(subject);
+        }
+    }
+
+    static <T> Outcome<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    static <T> Outcome<T> failure(Rejection rejection, Object subject) {
+        return new Failure<>(rejection, subject);
+    }
+
+    /**
+     * Transforms the successful value, passing failures through unchanged.
+     */
+    default <U> Outcome<U> map(Function<? super T, ? extends U> mapper) {
+        return switch (this) {
+            case Success<T> success -> new Success<>(mapper.apply(success.value()));
+            case Failure<T> failure -> new Failure<>(failure.rejection(), failure.subject());
+        };
+    }
+
+    /**
+     * Returns the successful value, or throws the stackless exception equivalent to the rejection.
+     */
+    default T orElseThrow() {
+        return switch (this) {
+            case Success<T> success -> success.value();
+            case Failure<T> failure -> throw failure.rejection().toException(failure.subject());
+        };
+    }
+}
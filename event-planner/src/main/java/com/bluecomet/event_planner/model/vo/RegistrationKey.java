@@ -0,0 +1,16 @@
+package com.bluecomet.event_planner.model.vo;
+
+/**
+ * Identifying columns of an event registration, used by index scans that do not need the entity.
+ *
+ * @param id      the registration ID
+ * @param userId  the registered user ID
+ * @param eventId the event ID
+ *
+ * @author Priyansu
+ */
+public record RegistrationKey(
+    Long id,
+    Long userId,
+    Long eventId
+) {}
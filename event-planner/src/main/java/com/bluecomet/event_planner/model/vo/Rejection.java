@@ -0,0 +1,84 @@
+package com.bluecomet.event_planner.model.vo;
+
+import com.bluecomet.event_planner.exception.BusinessException;
+import com.bluecomet.event_planner.exception.EventAlreadyCancelledException;
+import com.bluecomet.event_planner.exception.EventNotFoundException;
+import com.bluecomet.event_planner.exception.RegistrationAlreadyCancelledException;
+import com.bluecomet.event_planner.exception.RegistrationAlreadyExistsException;
+import com.bluecomet.event_planner.exception.RegistrationNotFoundException;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.function.Function;
+
+/**
+ * Expected reasons for turning a request down, with the HTTP status they map to and the exception raised
+ * when a caller prefers exceptions over an {@link Outcome}.
+ * <p>
+ * Messages are rendered from the rejected subject only when they are actually needed.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Getter
+public enum Rejection {
+    EVENT_NOT_FOUND(HttpStatus.NOT_FOUND, EventNotFoundException::new) {
+        @Override
+        public String message(Object subject) {
+            return "Event with ID: " + subject + " not found";
+        }
+    },
+    EVENT_ALREADY_CANCELLED(HttpStatus.BAD_REQUEST, EventAlreadyCancelledException::new) {
+        @Override
+        public String message(Object subject) {
+            return "Event with ID: " + subject + " is already cancelled";
+        }
+    },
+    REGISTRATION_ALREADY_EXISTS(HttpStatus.CONFLICT, RegistrationAlreadyExistsException::new) {
+        @Override
+        public String message(Object subject) {
+            return "User with ID " + subject + " is already registered for this event.";
+        }
+    },
+    REGISTRATION_NOT_FOUND(HttpStatus.NOT_FOUND, RegistrationNotFoundException::new) {
+        @Override
+        public String message(Object subject) {
+            if (subject instanceof RegistrationKey key) {
+                return "Registration not found for user ID " + key.userId() + " and event ID " + key.eventId();
+            }
+            return "Registration with ID " + subject + " not found.";
+        }
+    },
+    REGISTRATION_ALREADY_CANCELLED(HttpStatus.BAD_REQUEST, RegistrationAlreadyCancelledException::new) {
+        @Override
+        public String message(Object subject) {
+            return "Registration is already cancelled.";
+        }
+    };
+
+    private final HttpStatus status;
+    private final Function<String, ? extends BusinessException> exceptionFactory;
+
+    Rejection(HttpStatus status, Function<String, ? extends BusinessException> exceptionFactory) {
+        this.status = status;
+        this.exceptionFactory = exceptionFactory;
+    }
+
+    /**
+     * Renders the client-facing message of this rejection.
+     *
+     * @param subject the rejected ID, or a {@link RegistrationKey} for a user/event pair
+     * @return the message
+     */
+    public abstract String message(Object subject);
+
+    /**
+     * Creates the stackless exception equivalent to this rejection.
+     *
+     * @param subject the rejected ID, or a {@link RegistrationKey} for a user/event pair
+     * @return the exception, not thrown
+     */
+    public BusinessException toException(Object subject) {
+        return exceptionFactory.apply(message(subject));
+    }
+}
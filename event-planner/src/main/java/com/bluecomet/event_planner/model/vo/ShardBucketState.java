@@ -0,0 +1,26 @@
+package com.bluecomet.event_planner.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * State of a bucket of the registration shard map.
+ *
+ * @author Priyansu
+ */
+public enum ShardBucketState {
+    /** Registrations of the bucket are read and written on its shard. */
+    ACTIVE("Active"),
+    /** The bucket is being moved to another shard; its registrations can be read but not written. */
+    FROZEN("Frozen");
+
+    private final String state;
+
+    private ShardBucketState(String state) {
+        this.state = state;
+    }
+
+    @JsonValue
+    public String getState() {
+        return state;
+    }
+}
@@ -0,0 +1,37 @@
+package com.bluecomet.event_planner.repository;
+
+import com.bluecomet.event_planner.model.entity.ArchivedEvent;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Priyansu
+ */
+@Repository
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+
+    List<ArchivedEvent> findByStatus(EventStatus status);
+
+    List<ArchivedEvent> findByEventDateTimeBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Copies the given events from {@code events} into {@code events_archive}.
+     *
+     * @return the number of events copied
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO events_archive " +
+                   "(event_id, name, description, location, event_datetime, status, created_at, updated_at, archived_at) " +
+                   "SELECT event_id, name, description, location, event_datetime, status, created_at, updated_at, :archivedAt " +
+                   "FROM events WHERE event_id IN (:eventIds)",
+           nativeQuery = true)
+    int archiveEvents(@Param("eventIds") Collection<Long> eventIds, @Param("archivedAt") LocalDateTime archivedAt);
+}
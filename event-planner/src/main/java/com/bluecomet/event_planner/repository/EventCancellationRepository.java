@@ -0,0 +1,18 @@
+package com.bluecomet.event_planner.repository;
+
+import com.bluecomet.event_planner.model.entity.EventCancellation;
+import com.bluecomet.event_planner.model.vo.CancellationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @author Priyansu
+ */
+@Repository
+public interface EventCancellationRepository extends JpaRepository<EventCancellation, Long> {
+
+    List<EventCancellation> findByStatusAndUpdatedAtBefore(CancellationStatus status, LocalDateTime updatedAt);
+}
@@ -0,0 +1,29 @@
+package com.bluecomet.event_planner.repository;
+
+import com.bluecomet.event_planner.model.entity.EventDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @author Priyansu
+ */
+@Repository
+public interface EventDeletionRepository extends JpaRepository<EventDeletion, Long> {
+
+    List<EventDeletion> findByDeletedAtGreaterThanEqual(LocalDateTime since);
+
+    /**
+     * Deletes the tombstones older than the cutoff in a single statement.
+     *
+     * @return the number of tombstones deleted
+     */
+    @Modifying
+    @Query("DELETE FROM EventDeletion d WHERE d.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
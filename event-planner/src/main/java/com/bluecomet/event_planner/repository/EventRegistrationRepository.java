@@ -1,23 +1,168 @@
 package com.bluecomet.event_planner.repository;
 
 import com.bluecomet.event_planner.model.entity.EventRegistration;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationResponse;
+import com.bluecomet.event_planner.model.vo.RegistrationKey;
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
+ * Repository of {@link EventRegistration}s, bound to the registration shard selected by
+ * {@link com.bluecomet.event_planner.shard.ShardRouter}. Must only be called through the router.
+ * <p>
+ * Queries are spelled out in JPQL rather than derived from method names: derived queries are built with the
+ * criteria builder of one shard's persistence unit, while JPQL is parsed by the shard the call is routed to.
+ * </p>
+ *
  * @author Priyansu
  */
 @Repository
 public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long> {
 
-    List<EventRegistration> findByEventId(Long eventId);
+    @Query("SELECT r FROM EventRegistration r WHERE r.eventId = :eventId")
+    List<EventRegistration> findByEventId(@Param("eventId") Long eventId);
 
-    List<EventRegistration> findByUserId(Long userId);
+    /**
+     * Streams the registrations of an event as DTOs, without loading entities into the persistence context.
+     * Must be consumed and closed within a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EventRepository.STREAMING_FETCH_SIZE))
+    @Query("SELECT new com.bluecomet.event_planner.model.exchange.EventRegistrationResponse(" +
+           "r.id, r.eventId, r.userId, r.registrationStatus, r.registeredAt) " +
+           "FROM EventRegistration r WHERE r.eventId = :eventId ORDER BY r.id")
+    Stream<EventRegistrationResponse> streamByEventId(@Param("eventId") Long eventId);
 
-    Optional<EventRegistration> findByUserIdAndEventId(Long userId, Long eventId);
+    /**
+     * Returns the next chunk of registrations of an event as DTOs, ordered by ID so that callers can page
+     * through them with a keyset cursor.
+     */
+    @Query("SELECT new com.bluecomet.event_planner.model.exchange.EventRegistrationResponse(" +
+           "r.id, r.eventId, r.userId, r.registrationStatus, r.registeredAt) " +
+           "FROM EventRegistration r WHERE r.eventId = :eventId AND r.id > :afterId ORDER BY r.id")
+    List<EventRegistrationResponse> findByEventIdAfter(@Param("eventId") Long eventId,
+                                                       @Param("afterId") Long afterId,
+                                                       Pageable pageable);
 
-    Boolean existsByUserIdAndEventId(Long userId, Long eventId);
+    @Query("SELECT r FROM EventRegistration r WHERE r.userId = :userId")
+    List<EventRegistration> findByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT r FROM EventRegistration r WHERE r.eventId IN :eventIds")
+    List<EventRegistration> findByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
+
+    @Query("SELECT r FROM EventRegistration r WHERE r.userId = :userId AND r.eventId = :eventId")
+    Optional<EventRegistration> findByUserIdAndEventId(@Param("userId") Long userId, @Param("eventId") Long eventId);
+
+    @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM EventRegistration r " +
+           "WHERE r.userId = :userId AND r.eventId = :eventId")
+    Boolean existsByUserIdAndEventId(@Param("userId") Long userId, @Param("eventId") Long eventId);
+
+    /**
+     * Returns the highest registration ID of the shard, or 0 if it holds no registrations.
+     */
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM EventRegistration r")
+    long findMaxId();
+
+    /**
+     * Returns the next chunk of registration keys ordered by ID, without loading entities,
+     * so that in-memory indexes can scan the whole table with a keyset cursor.
+     */
+    @Query("SELECT new com.bluecomet.event_planner.model.vo.RegistrationKey(r.id, r.userId, r.eventId) " +
+           "FROM EventRegistration r WHERE r.id > :afterId ORDER BY r.id")
+    List<RegistrationKey> findKeysAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Returns the next chunk of keys of the registrations made since the given time, ordered by ID, so that
+     * in-memory indexes can catch up with recent registrations whatever order their IDs were committed in.
+     */
+    @Query("SELECT new com.bluecomet.event_planner.model.vo.RegistrationKey(r.id, r.userId, r.eventId) " +
+           "FROM EventRegistration r WHERE r.registeredAt >= :since AND r.id > :afterId ORDER BY r.id")
+    List<RegistrationKey> findKeysRegisteredSince(@Param("since") LocalDateTime since,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    /**
+     * Counts the registrations of an event per registration status.
+     *
+     * @return rows of {@code [RegistrationStatus, Long]}
+     */
+    @Query("SELECT r.registrationStatus, COUNT(r) FROM EventRegistration r " +
+           "WHERE r.eventId = :eventId GROUP BY r.registrationStatus")
+    List<Object[]> countByStatusForEvent(@Param("eventId") Long eventId);
+
+    /**
+     * Returns the keys of the given registrations, so that callers can tell the event, and thus the shard,
+     * of each.
+     */
+    @Query("SELECT new com.bluecomet.event_planner.model.vo.RegistrationKey(r.id, r.userId, r.eventId) " +
+           "FROM EventRegistration r WHERE r.id IN :ids")
+    List<RegistrationKey> findKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns the next chunk of registration IDs of an event in a given status, ordered by ID
+     * so that callers can page through them with a keyset cursor.
+     */
+    @Query("SELECT r.id FROM EventRegistration r " +
+           "WHERE r.eventId = :eventId AND r.registrationStatus = :status AND r.id > :afterId " +
+           "ORDER BY r.id")
+    List<Long> findIdsByEventIdAndStatusAfter(@Param("eventId") Long eventId,
+                                              @Param("status") RegistrationStatus status,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    /**
+     * Returns the next chunk of IDs of registrations of an event that are not in the given status,
+     * ordered by ID so that callers can page through them with a keyset cursor.
+     */
+    @Query("SELECT r.id FROM EventRegistration r " +
+           "WHERE r.eventId = :eventId AND r.registrationStatus <> :status AND r.id > :afterId " +
+           "ORDER BY r.id")
+    List<Long> findIdsByEventIdAndStatusNotAfter(@Param("eventId") Long eventId,
+                                                 @Param("status") RegistrationStatus status,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM EventRegistration r WHERE r.eventId = :eventId AND r.registrationStatus <> :status")
+    long countByEventIdAndRegistrationStatusNot(@Param("eventId") Long eventId,
+                                                @Param("status") RegistrationStatus status);
+
+    /**
+     * Moves the given registrations to a new status in a single statement, bumping their version
+     * so that concurrent entity-level updates fail their optimistic lock check.
+     *
+     * @return the number of registrations whose status changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventRegistration r " +
+           "SET r.registrationStatus = :newStatus, r.version = r.version + 1 " +
+           "WHERE r.id IN :ids AND r.registrationStatus <> :newStatus")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("newStatus") RegistrationStatus newStatus);
+
+    /**
+     * @return the IDs of the events with registrations after the given one, in ascending order
+     */
+    @Query("SELECT DISTINCT r.eventId FROM EventRegistration r WHERE r.eventId > :afterEventId ORDER BY r.eventId")
+    List<Long> findEventIdsAfter(@Param("afterEventId") Long afterEventId, Pageable pageable);
+
+    /**
+     * Deletes the registrations of the given events in a single statement.
+     *
+     * @return the number of registrations deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM EventRegistration r WHERE r.eventId IN :eventIds")
+    int deleteByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
 }
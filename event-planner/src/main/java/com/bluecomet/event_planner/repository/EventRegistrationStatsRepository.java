@@ -0,0 +1,65 @@
+package com.bluecomet.event_planner.repository;
+
+import com.bluecomet.event_planner.model.entity.EventRegistrationStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author Priyansu
+ */
+@Repository
+public interface EventRegistrationStatsRepository extends JpaRepository<EventRegistrationStats, Long> {
+
+    /**
+     * Reads the counters of an event and locks them until the end of the transaction, so that rebuilds of the
+     * same event from several nodes are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM EventRegistrationStats s WHERE s.eventId = :eventId")
+    Optional<EventRegistrationStats> lockByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * @return the IDs of the events with counters after the given one, in ascending order
+     */
+    @Query("SELECT s.eventId FROM EventRegistrationStats s WHERE s.eventId > :afterId ORDER BY s.eventId")
+    List<Long> findEventIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Atomically adds the given deltas to the counters of an event.
+     *
+     * @return the number of rows updated, {@code 0} if the event has no counters row yet
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventRegistrationStats s " +
+           "SET s.pendingCount = s.pendingCount + :pending, " +
+           "    s.confirmedCount = s.confirmedCount + :confirmed, " +
+           "    s.cancelledCount = s.cancelledCount + :cancelled " +
+           "WHERE s.eventId = :eventId")
+    int applyDelta(@Param("eventId") Long eventId,
+                   @Param("pending") long pending,
+                   @Param("confirmed") long confirmed,
+                   @Param("cancelled") long cancelled);
+
+    /**
+     * Inserts or overwrites the counters of an event.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO event_registration_stats (event_id, pending_count, confirmed_count, cancelled_count) " +
+                   "VALUES (:eventId, :pending, :confirmed, :cancelled) " +
+                   "ON DUPLICATE KEY UPDATE pending_count = VALUES(pending_count), " +
+                   "confirmed_count = VALUES(confirmed_count), cancelled_count = VALUES(cancelled_count)",
+           nativeQuery = true)
+    void upsert(@Param("eventId") Long eventId,
+                @Param("pending") long pending,
+                @Param("confirmed") long confirmed,
+                @Param("cancelled") long cancelled);
+}
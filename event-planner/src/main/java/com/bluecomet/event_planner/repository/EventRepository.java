@@ -1,13 +1,26 @@
 package com.bluecomet.event_planner.repository;
 
 import com.bluecomet.event_planner.model.entity.Event;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
 import com.bluecomet.event_planner.model.vo.EventStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 /**
  * @author Priyansu
  */
@@ -18,4 +31,86 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByStatus(EventStatus status);
 
     List<Event> findByEventDateTimeBetween(LocalDateTime start, LocalDateTime end);
+
+    Slice<Event> findSliceBy(Pageable pageable);
+
+    Slice<Event> findSliceByStatus(EventStatus status, Pageable pageable);
+
+    Slice<Event> findSliceByEventDateTimeBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    /**
+     * Fetch size that makes MySQL Connector/J stream rows one at a time instead of buffering the whole result.
+     */
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    /**
+     * Streams the events with the given status as DTOs, without loading entities into the persistence context.
+     * Must be consumed and closed within a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query("SELECT new com.bluecomet.event_planner.model.exchange.EventResponse(" +
+           "e.id, e.name, e.location, e.eventDateTime, e.description, e.status) " +
+           "FROM Event e WHERE e.status = :status ORDER BY e.id")
+    Stream<EventResponse> streamByStatus(@Param("status") EventStatus status);
+
+    /**
+     * Streams the events within the given date range as DTOs, in date order, without loading entities into the
+     * persistence context. Must be consumed and closed within a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query("SELECT new com.bluecomet.event_planner.model.exchange.EventResponse(" +
+           "e.id, e.name, e.location, e.eventDateTime, e.description, e.status) " +
+           "FROM Event e WHERE e.eventDateTime BETWEEN :start AND :end ORDER BY e.eventDateTime, e.id")
+    Stream<EventResponse> streamByEventDateTimeBetween(@Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end);
+
+    /**
+     * Counts events per status and calendar month of their event date.
+     *
+     * @return rows of status, year, month and count
+     */
+    @Query("SELECT e.status, year(e.eventDateTime), month(e.eventDateTime), COUNT(e) FROM Event e " +
+           "GROUP BY e.status, year(e.eventDateTime), month(e.eventDateTime)")
+    List<Object[]> countByStatusAndMonth();
+
+    List<Event> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    List<Event> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Reads an event and share-locks it until the end of the transaction, so that it cannot be deleted or
+     * archived while registrations for it are being written on its shard.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> lockSharedById(@Param("id") Long id);
+
+    /**
+     * @return those of the given event IDs that exist
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks the next completed or cancelled events that ended before the cutoff and whose cancellation
+     * cascade is not still running. Rows locked by another archival run are skipped.
+     *
+     * @return the IDs of the locked events, in ascending order
+     */
+    @Query(value = "SELECT e.event_id FROM events e " +
+                   "WHERE e.status IN ('COMPLETED', 'CANCELLED') AND e.event_datetime < :cutoff " +
+                   "AND NOT EXISTS (SELECT 1 FROM event_cancellations c " +
+                   "                WHERE c.event_id = e.event_id AND c.status = 'IN_PROGRESS') " +
+                   "ORDER BY e.event_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Deletes the given events in a single statement.
+     *
+     * @return the number of events deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Event e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
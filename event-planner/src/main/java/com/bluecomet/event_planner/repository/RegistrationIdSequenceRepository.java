@@ -0,0 +1,26 @@
+package com.bluecomet.event_planner.repository;
+
+import com.bluecomet.event_planner.model.entity.RegistrationIdSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * @author Priyansu
+ */
+@Repository
+public interface RegistrationIdSequenceRepository extends JpaRepository<RegistrationIdSequence, String> {
+
+    /**
+     * Reads a sequence row and locks it until the end of the transaction, so that concurrent allocations
+     * from several nodes are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM RegistrationIdSequence s WHERE s.name = :name")
+    Optional<RegistrationIdSequence> lockByName(@Param("name") String name);
+}
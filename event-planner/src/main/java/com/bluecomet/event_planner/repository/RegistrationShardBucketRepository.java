@@ -0,0 +1,12 @@
+package com.bluecomet.event_planner.repository;
+
+import com.bluecomet.event_planner.model.entity.RegistrationShardBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * @author Priyansu
+ */
+@Repository
+public interface RegistrationShardBucketRepository extends JpaRepository<RegistrationShardBucket, Integer> {
+}
@@ -0,0 +1,59 @@
+package com.bluecomet.event_planner.resource;
+
+import com.bluecomet.event_planner.service.impl.ChangeStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+
+/**
+ * Server-Sent Events stream of committed event and registration changes, replacing polling of the
+ * event and registration lookups.
+ *
+ * @author Priyansu
+ */
+@RestController
+@RequestMapping("/v1/changes")
+@RequiredArgsConstructor
+@Tag(name = "Change Stream", description = "Server-Sent Events stream of event and registration changes")
+@Slf4j
+public class ChangeStreamResource {
+
+    private final ChangeStreamService changeStreamService;
+
+    /**
+     * Opens a change stream.
+     * <p>
+     * Event changes are sent as {@code event}, registration changes of the followed event as
+     * {@code registration} and {@code registration-bulk}. A {@code resync} event means changes were dropped
+     * because the client fell behind, and the displayed state should be reloaded.
+     * </p>
+     *
+     * @param eventId the event to follow including its registrations; omit to receive all event changes
+     * @return the open stream
+     */
+    @GetMapping(path = "/stream", produces = TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream changes",
+        description = "Pushes event changes, and registration changes of one event if requested, as Server-Sent Events"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Change stream opened")
+    })
+    public SseEmitter streamChanges(
+        @Parameter(description = "ID of the event whose changes and registration changes to follow", example = "1")
+        @RequestParam(required = false) Long eventId) {
+        log.info("API Call: GET /api/v1/changes/stream?eventId={} - Opening change stream", eventId);
+        return changeStreamService.subscribe(eventId);
+    }
+}
@@ -0,0 +1,90 @@
+package com.bluecomet.event_planner.resource;
+
+import com.bluecomet.event_planner.model.exchange.EventRegistrationResponse;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.service.api.EventRegistrationService;
+import com.bluecomet.event_planner.service.impl.EventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL entry point over events and their registrations, see {@code graphql/schema.graphqls}.
+ * <p>
+ * Nested fields are resolved through {@link BatchMapping}s, which Spring GraphQL backs with a per-request
+ * {@code DataLoader}: every {@code Registration.event} or {@code Event.registrations} requested in one
+ * query is loaded with a single {@code IN} query, and repeated keys are served from the loader's cache.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Controller
+@RequiredArgsConstructor
+public class EventGraphQLResource {
+
+    private final EventService eventService;
+    private final EventRegistrationService eventRegistrationService;
+
+    @Value("${event-planner.graphql.max-page-size:100}")
+    private int maxPageSize;
+
+    @QueryMapping
+    public EventResponse event(@Argument Long id) {
+        return eventService.getEventById(id);
+    }
+
+    @QueryMapping
+    public List<EventResponse> events(@Argument int page, @Argument int size) {
+        return eventService.getAllEvents(Math.max(page, 0), Math.clamp(size, 1, maxPageSize)).getContent();
+    }
+
+    @QueryMapping
+    public List<EventRegistrationResponse> registrationsByEvent(@Argument Long eventId) {
+        return eventRegistrationService.getRegistrationsByEvent(eventId);
+    }
+
+    @QueryMapping
+    public List<EventRegistrationResponse> registrationsByUser(@Argument Long userId) {
+        return eventRegistrationService.getRegistrationsByUser(userId);
+    }
+
+    /**
+     * Resolves the event of every registration in the current query at once.
+     */
+    @BatchMapping(typeName = "Registration", field = "event")
+    public Map<EventRegistrationResponse, EventResponse> event(List<EventRegistrationResponse> registrations) {
+        Set<Long> eventIds = registrations.stream()
+                .map(EventRegistrationResponse::eventId)
+                .collect(Collectors.toSet());
+        Map<Long, EventResponse> events = eventService.getEventsByIds(eventIds);
+
+        Map<EventRegistrationResponse, EventResponse> result = new LinkedHashMap<>();
+        registrations.forEach(registration -> result.put(registration, events.get(registration.eventId())));
+        return result;
+    }
+
+    /**
+     * Resolves the registrations of every event in the current query at once.
+     */
+    @BatchMapping(typeName = "Event", field = "registrations")
+    public Map<EventResponse, List<EventRegistrationResponse>> registrations(List<EventResponse> events) {
+        Set<Long> eventIds = events.stream()
+                .map(EventResponse::id)
+                .collect(Collectors.toSet());
+        Map<Long, List<EventRegistrationResponse>> registrations =
+                eventRegistrationService.getRegistrationsByEvents(eventIds);
+
+        Map<EventResponse, List<EventRegistrationResponse>> result = new LinkedHashMap<>();
+        events.forEach(event -> result.put(event, registrations.getOrDefault(event.id(), List.of())));
+        return result;
+    }
+}
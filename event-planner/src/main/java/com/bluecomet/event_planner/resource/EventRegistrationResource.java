@@ -1,9 +1,13 @@
 package com.bluecomet.event_planner.resource;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import lombok.RequiredArgsConstructor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,10 +17,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.bluecomet.event_planner.advice.RejectionResponses;
+import com.bluecomet.event_planner.model.exchange.BulkRegistrationStatusRequest;
+import com.bluecomet.event_planner.model.exchange.BulkRegistrationStatusResponse;
 import com.bluecomet.event_planner.model.exchange.EventRegistrationRequest;
 import com.bluecomet.event_planner.model.exchange.EventRegistrationResponse;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationStatsResponse;
+import com.bluecomet.event_planner.model.vo.Outcome;
+import com.bluecomet.event_planner.model.vo.Rejection;
 import com.bluecomet.event_planner.model.vo.RegistrationStatus;
 import com.bluecomet.event_planner.service.api.EventRegistrationService;
+import com.bluecomet.event_planner.mapper.JsonStreamWriter;
+import com.bluecomet.event_planner.utils.MediaTypeUtils;
 import com.bluecomet.event_planner.model.exchange.ApiErrorResponse;
 import com.bluecomet.event_planner.exception.RegistrationNotFoundException;
 
@@ -49,18 +61,21 @@ public class EventRegistrationResource {
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "User successfully registered",
             content = @Content(schema = @Schema(implementation = EventRegistrationResponse.class))),
-        @ApiResponse(responseCode = "400", description = "Validation error or duplicate registration",
+        @ApiResponse(responseCode = "400", description = "Validation error",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "User is already registered for the event",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
         @ApiResponse(responseCode = "404", description = "Event not found",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     })
     @PostMapping
-    public ResponseEntity<EventRegistrationResponse> registerUserForEvent(
+    public ResponseEntity<?> registerUserForEvent(
         @RequestBody
         @Valid
         @Parameter(description = "User and event details for registration")
-        EventRegistrationRequest request) {
-        return ResponseEntity.ok(eventRegistrationService.registerUserForEvent(request));
+        EventRegistrationRequest request,
+        HttpServletRequest httpRequest) {
+        return RejectionResponses.toResponse(eventRegistrationService.tryRegisterUserForEvent(request), httpRequest);
     }
 
     /**
@@ -83,11 +98,13 @@ public class EventRegistrationResource {
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     })
     @DeleteMapping("/{userId}/{eventId}")
-    public ResponseEntity<String> cancelRegistration(
+    public ResponseEntity<?> cancelRegistration(
         @PathVariable Long userId,
-        @PathVariable Long eventId) {
-        eventRegistrationService.cancelRegistration(userId, eventId);
-        return ResponseEntity.ok("Registration cancelled successfully.");
+        @PathVariable Long eventId,
+        HttpServletRequest request) {
+        Outcome<String> outcome = eventRegistrationService.tryCancelRegistration(userId, eventId)
+            .map(cancelled -> "Registration cancelled successfully.");
+        return RejectionResponses.toResponse(outcome, request);
     }
 
     /**
@@ -130,6 +147,57 @@ public class EventRegistrationResource {
         return ResponseEntity.ok(eventRegistrationService.getRegistrationsByEvent(eventId));
     }
 
+    /**
+     * Streams all user registrations for a given event as a JSON array, or a CBOR array when the client accepts
+     * {@code application/cbor}, without buffering them.
+     *
+     * @param eventId The ID of the event.
+     * @param accept  The {@code Accept} header.
+     * @return The streamed registrations, or 404 if the event does not exist.
+     */
+    @Operation(summary = "Stream event registrations",
+        description = "Streams all user registrations for a given event as a JSON or CBOR array, without buffering them.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Registrations streamed successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = EventRegistrationResponse.class)))),
+        @ApiResponse(responseCode = "404", description = "Event not found",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping(value = "/event/{eventId}/stream",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<?> streamEventRegistrations(
+        @PathVariable Long eventId,
+        @Parameter(description = "application/json (default) or application/cbor")
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+        HttpServletRequest request) {
+        if (!eventRegistrationService.eventExists(eventId)) {
+            return RejectionResponses.toResponse(Outcome.failure(Rejection.EVENT_NOT_FOUND, eventId), request);
+        }
+        MediaType mediaType = MediaTypeUtils.negotiate(accept, JsonStreamWriter.MEDIA_TYPES);
+        StreamingResponseBody body = out -> eventRegistrationService.writeRegistrationsByEvent(eventId, mediaType, out);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    /**
+     * Retrieves the number of registrations of a given event per registration status.
+     *
+     * @param eventId The ID of the event.
+     * @return The registration counts of the event.
+     */
+    @Operation(summary = "Get event registration stats",
+        description = "Retrieves the number of pending, confirmed and cancelled registrations of a given event.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Registration counts retrieved successfully",
+            content = @Content(schema = @Schema(implementation = EventRegistrationStatsResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Event not found",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/event/{eventId}/stats")
+    public ResponseEntity<EventRegistrationStatsResponse> getEventRegistrationStats(
+        @PathVariable Long eventId) {
+        return ResponseEntity.ok(eventRegistrationService.getRegistrationStats(eventId));
+    }
+
     /**
      * Updates the status of a specific event registration.
      * If the status is already set to the provided value, no update occurs.
@@ -161,4 +229,31 @@ public class EventRegistrationResource {
         eventRegistrationService.updateRegistrationStatus(registrationId, status);
         return ResponseEntity.ok("Registration status updated successfully or no change needed.");
     }
+
+    /**
+     * Updates the status of many event registrations at once.
+     * Registrations are selected either by their IDs, or by event ID and current status.
+     *
+     * @param request The bulk transition request.
+     * @return ResponseEntity containing the number of matched and updated registrations.
+     * @throws IllegalArgumentException if the request does not select registrations in exactly one way.
+     */
+    @Operation(summary = "Bulk update registration status",
+        description = "Moves many registrations to a new status, selected either by registration IDs or by event ID and current status.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Registration statuses updated",
+            content = @Content(schema = @Schema(implementation = BulkRegistrationStatusResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid selection or registration status",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Event not found",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PutMapping("/status")
+    public ResponseEntity<BulkRegistrationStatusResponse> updateRegistrationStatuses(
+        @RequestBody
+        @Valid
+        @Parameter(description = "Registrations to update and their new status")
+        BulkRegistrationStatusRequest request) {
+        return ResponseEntity.ok(eventRegistrationService.updateRegistrationStatuses(request));
+    }
 }
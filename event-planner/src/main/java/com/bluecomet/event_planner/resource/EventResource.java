@@ -3,12 +3,16 @@ package com.bluecomet.event_planner.resource;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,15 +23,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import com.bluecomet.event_planner.advice.RejectionResponses;
+import com.bluecomet.event_planner.model.exchange.ApiErrorResponse;
+import com.bluecomet.event_planner.model.exchange.EventBatchResponse;
+import com.bluecomet.event_planner.model.exchange.EventCancellationResponse;
 import com.bluecomet.event_planner.model.exchange.EventRequest;
 import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.exchange.EventSliceResponse;
 import com.bluecomet.event_planner.model.entity.Event;
 import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner.service.impl.EventCancellationService;
 import com.bluecomet.event_planner.service.impl.EventService;
 import com.bluecomet.event_planner.utils.DateTimeUtils;
+import com.bluecomet.event_planner.utils.MediaTypeUtils;
+import com.bluecomet.event_planner.mapper.JsonStreamWriter;
 import com.bluecomet.event_planner.exception.EventNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 /**
@@ -36,8 +49,8 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @RestController
 @RequestMapping(
     path = "/v1/events",
-    consumes = APPLICATION_JSON_VALUE,
-    produces = APPLICATION_JSON_VALUE
+    consumes = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE},
+    produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE}
 )
 @Tag(name = "Event Management", description = "Event Management API")
 @RequiredArgsConstructor
@@ -45,6 +58,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 public class EventResource {
 
     private final EventService eventService;
+    private final EventCancellationService eventCancellationService;
 
     /**
      * Retrieves a paginated list of all events.
@@ -70,6 +84,29 @@ public class EventResource {
 
     }
 
+    /**
+     * Retrieves one slice of all events without counting them.
+     *
+     * @param page      the slice number (0-based index)
+     * @param size      the number of events per slice
+     * @param withCount whether to include the estimated total number of events
+     * @return the slice of events {@link EventSliceResponse}
+     */
+    @GetMapping("/slice")
+    @Operation(summary = "Get a slice of events", description = "Retrieve one slice of all events without a count query")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Slice of events fetched successfully",
+            content = @Content(schema = @Schema(implementation = EventSliceResponse.class)))
+    })
+    public ResponseEntity<EventSliceResponse> getEventsSlice(
+        @Parameter(description = "Slice number (0-based index)", example = "0") @RequestParam(defaultValue = "0") int page,
+        @Parameter(description = "Number of events per slice", example = "10") @RequestParam(defaultValue = "10") int size,
+        @Parameter(description = "Whether to include the estimated total", example = "false")
+        @RequestParam(defaultValue = "false") boolean withCount) {
+        log.info("API Call: GET /api/v1/events/slice?page={}&size={} - Fetching event slice", page, size);
+        return ResponseEntity.ok(eventService.getEventsSlice(page, size, withCount));
+    }
+
     /**
      * Retrieves an event by its unique identifier.
      *
@@ -80,14 +117,41 @@ public class EventResource {
     @GetMapping("/{id}")
     @Operation(summary = "Get an event by ID", description = "Retrieve an event using its ID")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Event fetched successfully"),
-        @ApiResponse(responseCode = "404", description = "Event not found exception")
+        @ApiResponse(responseCode = "200", description = "Event fetched successfully",
+            content = @Content(schema = @Schema(implementation = EventResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Event not found exception",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     })
-    public ResponseEntity<EventResponse> getEventById(
-        @Parameter(description = "ID of the event to retrieve", example = "1") @PathVariable Long id) {
+    public ResponseEntity<?> getEventById(
+        @Parameter(description = "ID of the event to retrieve", example = "1") @PathVariable Long id,
+        @Parameter(description = "Whether to look the event up among archived events too", example = "false")
+        @RequestParam(defaultValue = "false") boolean includeArchived,
+        HttpServletRequest request) {
         log.info("API Call: GET /api/v1/events/{} - Fetching event details", id);
-        EventResponse event = eventService.getEventById(id);
-        return ResponseEntity.ok(event);
+        return RejectionResponses.toResponse(eventService.findEvent(id, includeArchived), request);
+    }
+
+    /**
+     * Retrieves several events by their IDs in one call.
+     *
+     * @param ids the IDs of the events to retrieve
+     * @return the found events in request order together with the IDs that do not exist
+     */
+    @GetMapping("/batch")
+    @Operation(
+        summary = "Get events by IDs",
+        description = "Retrieve several events by their IDs, in request order, reporting IDs that do not exist"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Events fetched successfully",
+            content = @Content(schema = @Schema(implementation = EventBatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Too many event IDs requested")
+    })
+    public ResponseEntity<EventBatchResponse> getEventsByIds(
+        @Parameter(description = "Comma-separated IDs of the events to retrieve", example = "1,2,3")
+        @RequestParam List<Long> ids) {
+        log.info("API Call: GET /api/v1/events/batch - Fetching {} events by ID", ids.size());
+        return ResponseEntity.ok(eventService.getEventBatch(ids));
     }
 
     /**
@@ -179,13 +243,87 @@ public class EventResource {
             required = true, schema = @Schema(
             description = "Event status must be one of the allowed values",
             implementation = EventStatus.class))
-        @RequestParam String status) {
+        @RequestParam String status,
+        @Parameter(description = "Whether to include archived events", example = "false")
+        @RequestParam(defaultValue = "false") boolean includeArchived) {
         log.info("API Call: GET /api/v1/events/status?status={} - Fetching events by status", status);
         EventStatus eventStatus = EventStatus.fromString(status);
-        List<EventResponse> events = eventService.getEventsByStatus(eventStatus);
+        List<EventResponse> events = eventService.getEventsByStatus(eventStatus, includeArchived);
         return events.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(events);
     }
 
+    /**
+     * Retrieves one slice of the events with the given status {@link EventStatus} without counting them.
+     *
+     * @param status    the event status (e.g., UPCOMING, ONGOING, COMPLETED, CANCELLED)
+     * @param page      the slice number (0-based index)
+     * @param size      the number of events per slice
+     * @param withCount whether to include the estimated total number of matching events
+     * @return the slice of events {@link EventSliceResponse}
+     */
+    @GetMapping("/status/slice")
+    @Operation(
+        summary = "Get a slice of events by status",
+        description = "Retrieve one slice of the events with the given status without a count query"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Slice of events fetched successfully",
+            content = @Content(schema = @Schema(implementation = EventSliceResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid event status")
+    })
+    public ResponseEntity<EventSliceResponse> getEventsByStatusSlice(
+        @Parameter(name = "status", description = "The status of the Event",
+            required = true, schema = @Schema(
+            description = "Event status must be one of the allowed values",
+            implementation = EventStatus.class))
+        @RequestParam String status,
+        @Parameter(description = "Slice number (0-based index)", example = "0") @RequestParam(defaultValue = "0") int page,
+        @Parameter(description = "Number of events per slice", example = "10") @RequestParam(defaultValue = "10") int size,
+        @Parameter(description = "Whether to include the estimated total", example = "false")
+        @RequestParam(defaultValue = "false") boolean withCount) {
+        log.info("API Call: GET /api/v1/events/status/slice?status={}&page={}&size={} - Fetching event slice by status",
+            status, page, size);
+        EventStatus eventStatus = EventStatus.fromString(status);
+        return ResponseEntity.ok(eventService.getEventsByStatusSlice(eventStatus, page, size, withCount));
+    }
+
+    /**
+     * Streams all events with the given status {@link EventStatus} as a JSON array, or a CBOR array when the
+     * client accepts {@code application/cbor}.
+     * <p>
+     * Events are written as they are read from the database, so memory use does not grow with the result.
+     * Unlike {@code /status}, an empty result is an empty array, as the status line is sent before any row is read.
+     * </p>
+     *
+     * @param status the event status (e.g., UPCOMING, ONGOING, COMPLETED, CANCELLED)
+     * @param accept the {@code Accept} header
+     * @return the streamed events
+     */
+    @GetMapping(value = "/status/stream", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Stream events by status",
+        description = "Stream all events with the given status as a JSON or CBOR array, without buffering them"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Events streamed successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = EventResponse.class)))),
+        @ApiResponse(responseCode = "400", description = "Invalid event status")
+    })
+    public ResponseEntity<StreamingResponseBody> streamEventsByStatus(
+        @Parameter(name = "status", description = "The status of the Event",
+            required = true, schema = @Schema(
+            description = "Event status must be one of the allowed values",
+            implementation = EventStatus.class))
+        @RequestParam String status,
+        @Parameter(description = "application/json (default) or application/cbor")
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.info("API Call: GET /api/v1/events/status/stream?status={} - Streaming events by status", status);
+        EventStatus eventStatus = EventStatus.fromString(status);
+        MediaType mediaType = MediaTypeUtils.negotiate(accept, JsonStreamWriter.MEDIA_TYPES);
+        StreamingResponseBody body = out -> eventService.writeEventsByStatus(eventStatus, mediaType, out);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
     /**
      * Cancels an event {@link Event} based on its ID.
      *
@@ -198,15 +336,39 @@ public class EventResource {
         description = "Marks an event as cancelled based on its ID"
     )
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Event cancelled successfully"),
-        @ApiResponse(responseCode = "400", description = "Event already cancelled"),
-        @ApiResponse(responseCode = "404", description = "Event not found exception")
+        @ApiResponse(responseCode = "200", description = "Event cancelled successfully",
+            content = @Content(schema = @Schema(implementation = EventResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Event already cancelled",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Event not found exception",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     })
-    public ResponseEntity<EventResponse> cancelEvent(
-        @Parameter(description = "ID of the event to cancel", example = "1") @PathVariable Long id) {
+    public ResponseEntity<?> cancelEvent(
+        @Parameter(description = "ID of the event to cancel", example = "1") @PathVariable Long id,
+        HttpServletRequest request) {
         log.info("API Call: PUT /api/v1/events/{}/cancel - Cancelling event", id);
-        EventResponse cancelledEventResponse = eventService.cancelEvent(id);
-        return ResponseEntity.ok(cancelledEventResponse);
+        return RejectionResponses.toResponse(eventService.tryCancelEvent(id), request);
+    }
+
+    /**
+     * Reports the progress of an event cancellation cascading to the event's registrations.
+     *
+     * @param id the ID of the cancelled event
+     * @return the cascade progress {@link EventCancellationResponse}, or 404 if the event was never cancelled
+     */
+    @GetMapping("/{id}/cancellation")
+    @Operation(
+        summary = "Get cancellation progress",
+        description = "Reports how many registrations of a cancelled event have been cancelled so far"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Cancellation progress fetched successfully"),
+        @ApiResponse(responseCode = "404", description = "Event was never cancelled")
+    })
+    public ResponseEntity<EventCancellationResponse> getCancellationProgress(
+        @Parameter(description = "ID of the cancelled event", example = "1") @PathVariable Long id) {
+        log.info("API Call: GET /api/v1/events/{}/cancellation - Fetching cancellation progress", id);
+        return ResponseEntity.of(eventCancellationService.getCancellationProgress(id));
     }
 
     /**
@@ -247,7 +409,11 @@ public class EventResource {
         @RequestParam
         @NotNull
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-        LocalDateTime end
+        LocalDateTime end,
+
+        @Parameter(description = "Whether to include archived events", example = "false")
+        @RequestParam(defaultValue = "false")
+        boolean includeArchived
     ) {
         log.info("API Call: GET /api/v1/events/between - Fetching events from {} to {}", start, end);
 
@@ -255,7 +421,97 @@ public class EventResource {
             throw new IllegalArgumentException("Invalid date range format");
         //TODO: return ResponseEntity.unprocessableEntity().body("Invalid date range format");
 
-        List<EventResponse> events = eventService.getEventsByDateTimeRange(start, end);
+        List<EventResponse> events = eventService.getEventsByDateTimeRange(start, end, includeArchived);
         return events.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(events);
     }
+
+    /**
+     * Retrieves one slice of the events within the specified date range without counting them.
+     *
+     * @param start     the field containing the start date.
+     * @param end       the field containing the end date.
+     * @param page      the slice number (0-based index)
+     * @param size      the number of events per slice
+     * @param withCount whether to include the estimated total number of matching events
+     * @return the slice of events {@link EventSliceResponse}
+     * @throws IllegalArgumentException if the start date is after the end date.
+     */
+    @GetMapping("/between/slice")
+    @Operation(
+        summary = "Get a slice of events within a date range",
+        description = "Retrieve one slice of the events within the specified date range without a count query"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Slice of events fetched successfully",
+            content = @Content(schema = @Schema(implementation = EventSliceResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid date range format")
+    })
+    public ResponseEntity<EventSliceResponse> getEventsBetweenDatesSlice(
+        @RequestParam
+        @NotNull
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime start,
+
+        @RequestParam
+        @NotNull
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime end,
+
+        @Parameter(description = "Slice number (0-based index)", example = "0") @RequestParam(defaultValue = "0") int page,
+        @Parameter(description = "Number of events per slice", example = "10") @RequestParam(defaultValue = "10") int size,
+        @Parameter(description = "Whether to include the estimated total", example = "false")
+        @RequestParam(defaultValue = "false") boolean withCount
+    ) {
+        log.info("API Call: GET /api/v1/events/between/slice - Fetching event slice from {} to {}", start, end);
+
+        if (!DateTimeUtils.validateStartAndEndDT(start, end))
+            throw new IllegalArgumentException("Invalid date range format");
+
+        return ResponseEntity.ok(eventService.getEventsByDateTimeRangeSlice(start, end, page, size, withCount));
+    }
+
+    /**
+     * Streams all events within the specified date range as a JSON array, or a CBOR array when the client
+     * accepts {@code application/cbor}, in date order.
+     *
+     * @param start  the field containing the start date.
+     * @param end    the field containing the end date.
+     * @param accept the {@code Accept} header.
+     * @return the streamed events
+     * @throws IllegalArgumentException if the start date is after the end date.
+     */
+    @GetMapping(value = "/between/stream", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Stream events within a date range",
+        description = "Stream all events within the specified date range as a JSON or CBOR array, without buffering them"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Events streamed successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = EventResponse.class)))),
+        @ApiResponse(responseCode = "400", description = "Invalid date range format")
+    })
+    public ResponseEntity<StreamingResponseBody> streamEventsBetweenDates(
+        @RequestParam
+        @NotNull
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime start,
+
+        @RequestParam
+        @NotNull
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime end,
+
+        @Parameter(description = "application/json (default) or application/cbor")
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+        String accept
+    ) {
+        log.info("API Call: GET /api/v1/events/between/stream - Streaming events from {} to {}", start, end);
+
+        if (!DateTimeUtils.validateStartAndEndDT(start, end))
+            throw new IllegalArgumentException("Invalid date range format");
+
+        MediaType mediaType = MediaTypeUtils.negotiate(accept, JsonStreamWriter.MEDIA_TYPES);
+        StreamingResponseBody body = out -> eventService.writeEventsByDateTimeRange(start, end, mediaType, out);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
 }
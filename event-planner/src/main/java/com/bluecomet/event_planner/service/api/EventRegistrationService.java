@@ -1,19 +1,46 @@
 package com.bluecomet.event_planner.service.api;
 
+import com.bluecomet.event_planner.model.exchange.BulkRegistrationStatusRequest;
+import com.bluecomet.event_planner.model.exchange.BulkRegistrationStatusResponse;
 import com.bluecomet.event_planner.model.exchange.EventRegistrationRequest;
 import com.bluecomet.event_planner.model.exchange.EventRegistrationResponse;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationStatsResponse;
+import com.bluecomet.event_planner.model.vo.Outcome;
 import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import org.springframework.http.MediaType;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface EventRegistrationService {
     EventRegistrationResponse registerUserForEvent(EventRegistrationRequest request);
 
+    Outcome<EventRegistrationResponse> tryRegisterUserForEvent(EventRegistrationRequest request);
+
+    List<Outcome<EventRegistrationResponse>> tryRegisterUsersForEvents(List<EventRegistrationRequest> requests);
+
     List<EventRegistrationResponse> getRegistrationsByEvent(Long eventId);
 
+    boolean eventExists(Long eventId);
+
+    List<EventRegistrationResponse> getRegistrationsByEventAfter(Long eventId, Long afterId, int limit);
+
+    void writeRegistrationsByEvent(Long eventId, MediaType mediaType, OutputStream out) throws IOException;
+
     List<EventRegistrationResponse> getRegistrationsByUser(Long userId);
 
+    Map<Long, List<EventRegistrationResponse>> getRegistrationsByEvents(Collection<Long> eventIds);
+
     EventRegistrationResponse cancelRegistration(Long userId, Long eventId);
 
+    Outcome<EventRegistrationResponse> tryCancelRegistration(Long userId, Long eventId);
+
     void updateRegistrationStatus(Long registrationId, RegistrationStatus newStatus);
+
+    BulkRegistrationStatusResponse updateRegistrationStatuses(BulkRegistrationStatusRequest request);
+
+    EventRegistrationStatsResponse getRegistrationStats(Long eventId);
 }
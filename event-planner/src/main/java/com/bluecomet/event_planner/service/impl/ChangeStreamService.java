@@ -0,0 +1,206 @@
+package com.bluecomet.event_planner.service.impl;
+
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.change.RegistrationBulkChange;
+import com.bluecomet.event_planner.model.change.RegistrationChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed event and registration changes to Server-Sent Events subscribers.
+ * <p>
+ * An idle subscriber costs one open connection, an {@link SseEmitter} and an empty buffer; no thread is held
+ * while nothing is sent. Changes are offered to a bounded buffer per subscriber without blocking the
+ * publishing thread, and each buffer is drained by at most one virtual thread at a time, so a slow client
+ * only ever stalls itself. When a buffer overflows its pending changes are dropped and replaced by a single
+ * {@code resync} event, telling the client to reload the state it displays.
+ * </p>
+ * <p>
+ * Subscribers without an event filter receive every event change. Subscribers that filter on an event
+ * receive that event's changes together with its registration changes.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeStreamService {
+
+    private static final String EVENT = "event";
+    private static final String REGISTRATION = "registration";
+    private static final String REGISTRATION_BULK = "registration-bulk";
+    private static final String RESYNC = "resync";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Counter resyncs;
+
+    @Value("${event-planner.change-stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${event-planner.change-stream.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${event-planner.change-stream.reconnect-delay:PT3S}")
+    private Duration reconnectDelay;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("change.stream.subscribers", subscribers, Set::size)
+                .description("Open change stream connections")
+                .register(meterRegistry);
+        resyncs = Counter.builder("change.stream.resyncs")
+                .description("Change stream buffers that overflowed and were replaced by a resync event")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * Opens a change stream.
+     *
+     * @param eventId the event to follow including its registrations, or {@code null} for all event changes
+     * @return the emitter to hand back to Spring MVC
+     */
+    public SseEmitter subscribe(Long eventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, eventId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        subscriber.enqueue(SseEmitter.event()
+                .reconnectTime(reconnectDelay.toMillis())
+                .comment("connected")
+                .build());
+        log.debug("Change stream opened for event {}, {} subscribers", eventId, subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        broadcast(change.eventId(), false, EVENT, change);
+    }
+
+    @TransactionalEventListener
+    public void onRegistrationChange(RegistrationChange change) {
+        broadcast(change.eventId(), true, REGISTRATION, change);
+    }
+
+    @TransactionalEventListener
+    public void onRegistrationBulkChange(RegistrationBulkChange change) {
+        change.eventIds().forEach(eventId -> broadcast(eventId, true, REGISTRATION_BULK, change));
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that went away.
+     */
+    @Scheduled(
+        initialDelayString = "${event-planner.change-stream.heartbeat-interval:PT15S}",
+        fixedRateString = "${event-planner.change-stream.heartbeat-interval:PT15S}"
+    )
+    public void heartbeat() {
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        subscribers.forEach(subscriber -> subscriber.enqueue(heartbeat));
+    }
+
+    private void broadcast(Long eventId, boolean registrationChange, String name, Object change) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> message = SseEmitter.event()
+                .id(Long.toString(sequence.incrementAndGet()))
+                .name(name)
+                .data(change)
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.eventId == null ? !registrationChange : subscriber.eventId.equals(eventId)) {
+                subscriber.enqueue(message);
+            }
+        }
+    }
+
+    /**
+     * One open stream with its bounded buffer of messages not yet written.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long eventId;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Long eventId) {
+            this.emitter = emitter;
+            this.eventId = eventId;
+        }
+
+        private void enqueue(Set<DataWithMediaType> message) {
+            synchronized (this) {
+                if (!buffer.offer(message)) {
+                    buffer.clear();
+                    buffer.offer(SseEmitter.event()
+                            .id(Long.toString(sequence.incrementAndGet()))
+                            .name(RESYNC)
+                            .data(Objects.toString(eventId, ""))
+                            .build());
+                    resyncs.increment();
+                }
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> message;
+                while ((message = buffer.poll()) != null) {
+                    emitter.send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping change stream subscriber: {}", e.getMessage());
+                subscribers.remove(this);
+                buffer.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+    }
+}
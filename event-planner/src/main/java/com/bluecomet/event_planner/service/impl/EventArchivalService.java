@@ -0,0 +1,186 @@
+package com.bluecomet.event_planner.service.impl;
+
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.entity.EventDeletion;
+import com.bluecomet.event_planner.model.entity.EventRegistration;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+import com.bluecomet.event_planner.repository.ArchivedEventRepository;
+import com.bluecomet.event_planner.repository.EventDeletionRepository;
+import com.bluecomet.event_planner.repository.EventRegistrationRepository;
+import com.bluecomet.event_planner.repository.EventRepository;
+import com.bluecomet.event_planner.shard.RegistrationShardMap;
+import com.bluecomet.event_planner.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Moves completed and cancelled events that lie further back than {@code event-planner.archival.retain-for},
+ * together with their registrations, from the live tables to the archive tables.
+ * <p>
+ * Events are archived in chunks of {@code event-planner.archival.chunk-size}, each chunk copied and deleted
+ * in its own transaction. The chunk's event rows are locked with {@code SKIP LOCKED}, so archival runs on
+ * several nodes share the work instead of colliding. Events whose cancellation is still cascading, or whose
+ * registrations are being moved to another shard, are left for a later run.
+ * </p>
+ * <p>
+ * Registrations are read from their shards and copied into the archive within the chunk's transaction, and
+ * only deleted from the shards once that transaction has committed. A failed delete leaves registrations of
+ * archived events behind on a shard, which is logged and later removed by the orphan sweep of
+ * {@link EventDeletionService}, but never loses registrations. Each archived event is published as an
+ * {@link EventChangeType#ARCHIVED} change, on which the in-memory registration caches drop it.
+ * </p>
+ * <p>
+ * The archive tables are range-partitioned by event date; before each run, every missing year partition up
+ * to next year's is split off the catch-all {@code pmax} partition. Archive tables created without
+ * partitioning, e.g. by Hibernate, are left as they are.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventArchivalService {
+
+    private static final List<String> ARCHIVE_TABLES = List.of("events_archive", "event_registrations_archive");
+    private static final String CATCH_ALL_PARTITION = "pmax";
+    private static final Pattern YEAR_PARTITION = Pattern.compile("p\\d{4}");
+    private static final String ARCHIVE_REGISTRATION =
+            "INSERT INTO event_registrations_archive " +
+            "(id, event_id, user_id, registration_status, registered_at, event_datetime, archived_at) " +
+            "SELECT ?, ?, ?, ?, ?, e.event_datetime, ? FROM events e WHERE e.event_id = ?";
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository eventRegistrationRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final EventDeletionRepository eventDeletionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final RegistrationShardMap registrationShardMap;
+
+    @Value("${event-planner.archival.retain-for:P180D}")
+    private Duration retainFor;
+
+    @Value("${event-planner.archival.chunk-size:100}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${event-planner.archival.cron:0 30 3 * * *}")
+    public void archive() {
+        ensurePartitions();
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(retainFor);
+        long started = System.nanoTime();
+        int total = 0;
+        int archived;
+        do {
+            List<Long> eventIds = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            deleteRegistrations(eventIds);
+            archived = eventIds.size();
+            total += archived;
+        } while (archived == chunkSize);
+        log.info("Archived {} events that took place before {} in {} ms",
+                total, cutoff, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Archives the next chunk of events and copies their registrations into the archive.
+     *
+     * @return the IDs of the archived events, whose registrations are still to be deleted from the shards
+     */
+    private List<Long> archiveChunk(LocalDateTime cutoff) {
+        List<Long> eventIds = eventRepository.lockArchivableIds(cutoff, chunkSize).stream()
+                .filter(eventId -> !registrationShardMap.isFrozen(registrationShardMap.bucketOf(eventId)))
+                .toList();
+        if (eventIds.isEmpty()) {
+            return eventIds;
+        }
+        LocalDateTime archivedAt = LocalDateTime.now();
+        Map<String, List<Long>> eventIdsByShard = shardRouter.groupByShard(eventIds);
+        List<EventRegistration> registrations = shardRouter.onShards(eventIdsByShard.keySet(), true,
+                        shard -> eventRegistrationRepository.findByEventIdIn(eventIdsByShard.get(shard))).stream()
+                .flatMap(List::stream)
+                .toList();
+        jdbcTemplate.batchUpdate(ARCHIVE_REGISTRATION, registrations, chunkSize, (statement, registration) -> {
+            statement.setLong(1, registration.getId());
+            statement.setLong(2, registration.getEventId());
+            statement.setLong(3, registration.getUserId());
+            statement.setString(4, registration.getRegistrationStatus().name());
+            statement.setObject(5, registration.getRegisteredAt());
+            statement.setObject(6, archivedAt);
+            statement.setLong(7, registration.getEventId());
+        });
+        archivedEventRepository.archiveEvents(eventIds, archivedAt);
+        eventRepository.deleteByIdIn(eventIds);
+        eventDeletionRepository.saveAll(eventIds.stream()
+                .map(eventId -> new EventDeletion(eventId, archivedAt))
+                .toList());
+
+        eventIds.forEach(eventId ->
+                eventPublisher.publishEvent(new EventChange(EventChangeType.ARCHIVED, eventId, null, archivedAt)));
+        log.debug("Archived events {} with {} registrations", eventIds, registrations.size());
+        return eventIds;
+    }
+
+    private void deleteRegistrations(List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        Map<String, List<Long>> eventIdsByShard = shardRouter.groupByShard(eventIds);
+        try {
+            shardRouter.onShards(eventIdsByShard.keySet(), false,
+                    shard -> eventRegistrationRepository.deleteByEventIdIn(eventIdsByShard.get(shard)));
+        } catch (RuntimeException e) {
+            log.warn("Could not delete the registrations of archived events {} from their shards", eventIds, e);
+        }
+    }
+
+    /**
+     * Splits a partition off {@code pmax} for every year after the newest existing one, up to next year, so that
+     * a run after a long pause does not leave years in the catch-all partition. Tables without year partitions
+     * start at the current year.
+     */
+    private void ensurePartitions() {
+        int nextYear = LocalDate.now().getYear() + 1;
+        for (String table : ARCHIVE_TABLES) {
+            List<String> partitions = jdbcTemplate.queryForList(
+                    "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                    String.class, table);
+            if (!partitions.contains(CATCH_ALL_PARTITION)) {
+                continue;
+            }
+            int newestYear = partitions.stream()
+                    .filter(partition -> YEAR_PARTITION.matcher(partition).matches())
+                    .mapToInt(partition -> Integer.parseInt(partition.substring(1)))
+                    .max()
+                    .orElse(nextYear - 2);
+            if (newestYear >= nextYear) {
+                continue;
+            }
+            StringBuilder split = new StringBuilder("ALTER TABLE ").append(table)
+                    .append(" REORGANIZE PARTITION ").append(CATCH_ALL_PARTITION).append(" INTO (");
+            for (int year = newestYear + 1; year <= nextYear; year++) {
+                split.append("PARTITION p").append(year)
+                        .append(" VALUES LESS THAN ('").append(year + 1).append("-01-01'), ");
+            }
+            split.append("PARTITION ").append(CATCH_ALL_PARTITION).append(" VALUES LESS THAN (MAXVALUE))");
+            jdbcTemplate.execute(split.toString());
+            log.info("Added partitions p{} to p{} to {}", newestYear + 1, nextYear, table);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.bluecomet.event_planner.service.impl;
+
+import com.bluecomet.event_planner.exception.ShardUnavailableException;
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.change.RegistrationBulkChange;
+import com.bluecomet.event_planner.model.entity.EventCancellation;
+import com.bluecomet.event_planner.model.exchange.EventCancellationResponse;
+import com.bluecomet.event_planner.model.vo.CancellationStatus;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import com.bluecomet.event_planner.repository.EventCancellationRepository;
+import com.bluecomet.event_planner.repository.EventRegistrationRepository;
+import com.bluecomet.event_planner.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cascades event cancellations to their registrations.
+ * <p>
+ * The cascade runs after the cancelling transaction commits and cancels registrations in chunks of
+ * {@code event-planner.cancellation.chunk-size}, each chunk being a single set-based UPDATE committed in
+ * its own transaction together with the progress cursor stored in {@link EventCancellation}. Registration
+ * counters are rebuilt once the last chunk is committed. The registrations of a chunk are updated and
+ * committed on their shard just before the cursor, so a chunk interrupted in between is simply not selected
+ * again. A cascade interrupted by a node failure, or by a move of the event's registrations to another shard, is picked up again by {@link #resumeStaleCancellations()} once its
+ * progress has not moved for {@code event-planner.cancellation.stale-after}.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventCancellationService {
+
+    private final EventCancellationRepository eventCancellationRepository;
+    private final EventRegistrationRepository eventRegistrationRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor applicationTaskExecutor;
+
+    private final Set<Long> runningCascades = ConcurrentHashMap.newKeySet();
+
+    @Value("${event-planner.cancellation.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${event-planner.cancellation.stale-after:PT2M}")
+    private Duration staleAfter;
+
+    /**
+     * Records that the registrations of an event must be cancelled.
+     * Must be called within the transaction that cancels the event.
+     *
+     * @param eventId the ID of the cancelled event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void startCancellation(Long eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        EventCancellation cancellation = eventCancellationRepository.findById(eventId)
+                .orElseGet(() -> EventCancellation.builder().eventId(eventId).build());
+
+        cancellation.setStatus(CancellationStatus.IN_PROGRESS);
+        cancellation.setLastRegistrationId(0L);
+        cancellation.setCancelledRegistrations(0L);
+        cancellation.setStartedAt(now);
+        cancellation.setUpdatedAt(now);
+        cancellation.setCompletedAt(null);
+        eventCancellationRepository.save(cancellation);
+    }
+
+    /**
+     * Starts the cascade once the cancellation of the event has been committed.
+     *
+     * @param change the committed event change
+     */
+    @Async
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        if (change.type() == EventChangeType.CANCELLED) {
+            cascade(change.eventId());
+        }
+    }
+
+    /**
+     * Resumes cascades whose progress has not moved for longer than the configured stale period,
+     * typically because the node running them died. Each cascade is handed to the application task
+     * executor, so that long cascades do not hold the few scheduler threads.
+     */
+    @Scheduled(
+        initialDelayString = "${event-planner.cancellation.resume-interval:PT30S}",
+        fixedDelayString = "${event-planner.cancellation.resume-interval:PT30S}"
+    )
+    public void resumeStaleCancellations() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(staleAfter);
+        eventCancellationRepository.findByStatusAndUpdatedAtBefore(CancellationStatus.IN_PROGRESS, staleBefore)
+                .forEach(cancellation -> {
+                    log.info("Resuming cancellation cascade of event ID {} after registration ID {}",
+                            cancellation.getEventId(), cancellation.getLastRegistrationId());
+                    applicationTaskExecutor.execute(() -> cascade(cancellation.getEventId()));
+                });
+    }
+
+    /**
+     * Cancels the remaining registrations of an event, one committed chunk at a time.
+     *
+     * @param eventId the ID of the cancelled event
+     */
+    public void cascade(Long eventId) {
+        if (!runningCascades.add(eventId)) {
+            log.debug("Cancellation cascade of event ID {} is already running", eventId);
+            return;
+        }
+        try {
+            boolean done;
+            do {
+                done = Boolean.TRUE.equals(transactionTemplate.execute(status -> cancelNextChunk(eventId)));
+            } while (!done);
+        } catch (OptimisticLockingFailureException ex) {
+            log.info("Cancellation cascade of event ID {} was taken over by another node", eventId);
+        } catch (ShardUnavailableException ex) {
+            log.info("Cancellation cascade of event ID {} paused and will be resumed later: {}",
+                    eventId, ex.getMessage());
+        } finally {
+            runningCascades.remove(eventId);
+        }
+    }
+
+    /**
+     * Returns the progress of the cancellation cascade of an event.
+     *
+     * @param eventId the ID of the event
+     * @return the cascade progress, or empty if the event was never cancelled
+     */
+    @Transactional(readOnly = true)
+    public Optional<EventCancellationResponse> getCancellationProgress(Long eventId) {
+        return eventCancellationRepository.findById(eventId)
+                .map(cancellation -> new EventCancellationResponse(
+                        cancellation.getEventId(),
+                        cancellation.getStatus(),
+                        cancellation.getCancelledRegistrations(),
+                        cancellation.getStatus() == CancellationStatus.COMPLETED ? 0L
+                                : shardRouter.readOnShardOf(eventId, status ->
+                                        eventRegistrationRepository.countByEventIdAndRegistrationStatusNot(
+                                                eventId, RegistrationStatus.CANCELLED)),
+                        cancellation.getStartedAt(),
+                        cancellation.getUpdatedAt(),
+                        cancellation.getCompletedAt()
+                ));
+    }
+
+    /**
+     * Cancels the next chunk of registrations and advances the cursor.
+     *
+     * @return {@code true} once there is nothing left to cancel
+     */
+    private boolean cancelNextChunk(Long eventId) {
+        Optional<EventCancellation> found = eventCancellationRepository.findById(eventId);
+        if (found.isEmpty() || found.get().getStatus() == CancellationStatus.COMPLETED) {
+            return true;
+        }
+        EventCancellation cancellation = found.get();
+
+        CancelledChunk chunk = shardRouter.writeOnShardOf(eventId, status -> {
+            List<Long> ids = eventRegistrationRepository.findIdsByEventIdAndStatusNotAfter(
+                    eventId, RegistrationStatus.CANCELLED, cancellation.getLastRegistrationId(),
+                    PageRequest.ofSize(chunkSize));
+            return ids.isEmpty()
+                    ? new CancelledChunk(0, cancellation.getLastRegistrationId(), 0)
+                    : new CancelledChunk(ids.size(), ids.get(ids.size() - 1),
+                            eventRegistrationRepository.updateStatusByIds(ids, RegistrationStatus.CANCELLED));
+        });
+
+        if (chunk.selected() > 0) {
+            cancellation.setLastRegistrationId(chunk.lastId());
+            cancellation.setCancelledRegistrations(cancellation.getCancelledRegistrations() + chunk.cancelled());
+        }
+
+        boolean done = chunk.selected() < chunkSize;
+        cancellation.setUpdatedAt(LocalDateTime.now());
+        if (done) {
+            cancellation.setStatus(CancellationStatus.COMPLETED);
+            cancellation.setCompletedAt(cancellation.getUpdatedAt());
+            eventPublisher.publishEvent(new RegistrationBulkChange(Set.of(eventId), RegistrationStatus.CANCELLED,
+                    cancellation.getCancelledRegistrations()));
+            log.info("Cancelled {} registrations of event ID {}", cancellation.getCancelledRegistrations(), eventId);
+        }
+        eventCancellationRepository.save(cancellation);
+        return done;
+    }
+
+    /**
+     * @param selected  the number of registrations selected for the chunk
+     * @param lastId    the ID of the last selected registration
+     * @param cancelled the number of registrations cancelled
+     */
+    private record CancelledChunk(int selected, long lastId, int cancelled) {}
+}
@@ -0,0 +1,123 @@
+package com.bluecomet.event_planner.service.impl;
+
+import com.bluecomet.event_planner.exception.ShardUnavailableException;
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+import com.bluecomet.event_planner.repository.EventRegistrationRepository;
+import com.bluecomet.event_planner.repository.EventRepository;
+import com.bluecomet.event_planner.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deletes the registrations of deleted events from their shards.
+ * <p>
+ * The event is deleted first, and its registrations only once that deletion has committed, so that a failed
+ * deletion never loses registrations. Registrations left behind, because the shard delete failed or the node
+ * died in between, no longer have an event and are removed by {@link #sweepOrphanedRegistrations()}, which
+ * walks the event IDs on every shard in chunks of {@code event-planner.deletion.chunk-size}. The sweep also
+ * removes registrations of archived events that {@link EventArchivalService} could not delete from their shard.
+ * </p>
+ * <p>
+ * No new orphans appear while the sweep runs: registrations are written under a share lock on their event
+ * row, so an event is only deleted once the registrations being written for it have committed.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventDeletionService {
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository eventRegistrationRepository;
+    private final ShardRouter shardRouter;
+
+    @Value("${event-planner.deletion.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Deletes the registrations of an event once its deletion has been committed.
+     *
+     * @param change the committed event change
+     */
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        if (change.type() != EventChangeType.DELETED) {
+            return;
+        }
+        try {
+            int deleted = shardRouter.writeOnShardOf(change.eventId(),
+                    status -> eventRegistrationRepository.deleteByEventIdIn(List.of(change.eventId())));
+            log.info("Deleted {} registrations of deleted event ID {}", deleted, change.eventId());
+        } catch (RuntimeException e) {
+            log.warn("Could not delete the registrations of deleted event ID {}; the orphan sweep will retry",
+                    change.eventId(), e);
+        }
+    }
+
+    /**
+     * Deletes registrations whose event no longer exists, shard by shard.
+     */
+    @Scheduled(
+        initialDelayString = "${event-planner.deletion.sweep-interval:PT1H}",
+        fixedDelayString = "${event-planner.deletion.sweep-interval:PT1H}"
+    )
+    public void sweepOrphanedRegistrations() {
+        for (String shard : shardRouter.shardNames()) {
+            try {
+                int deleted = sweep(shard);
+                if (deleted > 0) {
+                    log.info("Deleted {} orphaned registrations on shard {}", deleted, shard);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not sweep orphaned registrations on shard {}", shard, e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of orphaned registrations deleted on the shard
+     */
+    private int sweep(String shard) {
+        int deleted = 0;
+        long afterEventId = 0L;
+        List<Long> eventIds;
+        do {
+            long after = afterEventId;
+            eventIds = shardRouter.onShard(shard, true, status ->
+                    eventRegistrationRepository.findEventIdsAfter(after, PageRequest.ofSize(chunkSize)));
+            if (eventIds.isEmpty()) {
+                break;
+            }
+            afterEventId = eventIds.get(eventIds.size() - 1);
+
+            Set<Long> existing = new HashSet<>(eventRepository.findExistingIds(eventIds));
+            // Copies on a shard that does not hold the event are left to the bucket move that made them
+            List<Long> orphaned = eventIds.stream()
+                    .filter(eventId -> !existing.contains(eventId) && shardRouter.holds(shard, eventId))
+                    .toList();
+            if (!orphaned.isEmpty()) {
+                try {
+                    shardRouter.checkWritable(orphaned);
+                    deleted += shardRouter.onShard(shard, false,
+                            status -> eventRegistrationRepository.deleteByEventIdIn(orphaned));
+                } catch (ShardUnavailableException e) {
+                    log.debug("Leaving orphaned registrations of events {} for the next sweep: {}",
+                            orphaned, e.getMessage());
+                }
+            }
+        } while (eventIds.size() == chunkSize);
+        return deleted;
+    }
+}
@@ -1,28 +1,73 @@
 package com.bluecomet.event_planner.service.impl;
 
+import com.bluecomet.event_planner.cache.EventReadCoalescer;
+import com.bluecomet.event_planner.cache.RegistrationBloomFilter;
+import com.bluecomet.event_planner.cache.RegistrationMembershipIndex;
+import com.bluecomet.event_planner.config.OptimisticLockRetry;
+import com.bluecomet.event_planner.model.change.RegistrationBulkChange;
+import com.bluecomet.event_planner.model.change.RegistrationChange;
+import com.bluecomet.event_planner.model.exchange.BulkRegistrationStatusRequest;
+import com.bluecomet.event_planner.model.exchange.BulkRegistrationStatusResponse;
 import com.bluecomet.event_planner.model.exchange.EventRegistrationRequest;
 import com.bluecomet.event_planner.model.exchange.EventRegistrationResponse;
-import com.bluecomet.event_planner.model.entity.Event;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationStatsResponse;
 import com.bluecomet.event_planner.model.entity.EventRegistration;
+import com.bluecomet.event_planner.model.vo.Outcome;
+import com.bluecomet.event_planner.model.vo.Rejection;
+import com.bluecomet.event_planner.model.vo.RegistrationKey;
 import com.bluecomet.event_planner.model.vo.RegistrationStatus;
 import com.bluecomet.event_planner.repository.EventRegistrationRepository;
 import com.bluecomet.event_planner.repository.EventRepository;
 import com.bluecomet.event_planner.service.api.EventRegistrationService;
+import com.bluecomet.event_planner.shard.RegistrationIdAllocator;
+import com.bluecomet.event_planner.shard.ShardRouter;
 import com.bluecomet.event_planner.exception.EventNotFoundException;
 import com.bluecomet.event_planner.exception.RegistrationAlreadyCancelledException;
 import com.bluecomet.event_planner.exception.RegistrationAlreadyExistsException;
 import com.bluecomet.event_planner.exception.RegistrationNotFoundException;
+import com.bluecomet.event_planner.exception.ShardUnavailableException;
+import com.bluecomet.event_planner.mapper.EventRegistrationJsonWriter;
 import com.bluecomet.event_planner.mapper.EventRegistrationMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 /**
  * Service for handling event registration logic.
+ * <p>
+ * Registrations are read and written through the {@link ShardRouter} on the shard of their event, in a shard
+ * transaction nested in the primary transaction of each method. Lookups by user or by registration ID are
+ * scattered to all shards.
+ * </p>
+ * <p>
+ * New registrations share-lock the row of their event in the primary transaction, which commits after the shard
+ * transaction. An event deleted concurrently is therefore deleted only after those registrations are written,
+ * and {@link EventDeletionService} deletes them together with the others.
+ * </p>
  *
  * @author Priyansu
  */
@@ -33,8 +78,19 @@ import java.util.stream.Collectors;
 public class EventRegistrationServiceImpl implements EventRegistrationService {
 
     private final EventRegistrationRepository eventRegistrationRepository;
-    private final EventRegistrationMapper eventRegistrationMapper;
     private final EventRepository eventRepository;
+    private final EventRegistrationMapper eventRegistrationMapper;
+    private final EventRegistrationJsonWriter eventRegistrationJsonWriter;
+    private final EventReadCoalescer eventReadCoalescer;
+    private final RegistrationStatsService registrationStatsService;
+    private final RegistrationMembershipIndex registrationMembershipIndex;
+    private final RegistrationBloomFilter registrationBloomFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final RegistrationIdAllocator registrationIdAllocator;
+
+    @Value("${event-planner.registrations.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
 
     /**
      * Registers a user for an event.
@@ -46,25 +102,147 @@ public class EventRegistrationServiceImpl implements EventRegistrationService {
      */
     @Override
     public EventRegistrationResponse registerUserForEvent(EventRegistrationRequest request) {
-        // Check if event exists
-        Event event = eventRepository.findById(request.getEventId())
-                .orElseThrow(() -> new EventNotFoundException("Event with ID " + request.getEventId() + " not found."));
+        return tryRegisterUserForEvent(request).orElseThrow();
+    }
+
+    /**
+     * Registers a user for an event, returning a missing event or a duplicate registration as a
+     * {@link Outcome.Failure} instead of throwing.
+     *
+     * @param request The registration request containing user ID and event ID {@link EventRegistrationRequest}.
+     * @return The event registration response, or the reason it was rejected.
+     * @throws ShardUnavailableException If the event's registrations are being moved to another shard.
+     */
+    @Override
+    public Outcome<EventRegistrationResponse> tryRegisterUserForEvent(EventRegistrationRequest request) {
+        // Check if event exists, and keep it from being deleted until the registration is written
+        if (eventRepository.lockSharedById(request.getEventId()).isEmpty()) {
+            return Outcome.failure(Rejection.EVENT_NOT_FOUND, request.getEventId());
+        }
 
         // Check if the user is already registered
-        if (eventRegistrationRepository.existsByUserIdAndEventId(request.getUserId(), request.getEventId())) {
-            throw new RegistrationAlreadyExistsException("User with ID " + request.getUserId() + " is already registered for this event.");
+        if (isRegistered(request.getUserId(), request.getEventId())) {
+            return Outcome.failure(Rejection.REGISTRATION_ALREADY_EXISTS, request.getUserId());
         }
 
         // Create new registration
         EventRegistration registration = EventRegistration.builder()
-                .event(event)
+                .id(registrationIdAllocator.nextId())
+                .eventId(request.getEventId())
                 .userId(request.getUserId())
                 .registrationStatus(RegistrationStatus.PENDING)
                 .build();
 
-        EventRegistration savedRegistration = eventRegistrationRepository.save(registration);
+        return shardRouter.writeOnShardOf(request.getEventId(), status -> {
+            EventRegistration savedRegistration;
+            try {
+                savedRegistration = eventRegistrationRepository.saveAndFlush(registration);
+            } catch (DataIntegrityViolationException ex) {
+                // Registered concurrently, or on another node since the membership index last caught up.
+                // Nothing is thrown past this callback, so roll back explicitly rather than fail on commit.
+                status.setRollbackOnly();
+                return Outcome.failure(Rejection.REGISTRATION_ALREADY_EXISTS, request.getUserId());
+            }
+            eventPublisher.publishEvent(new RegistrationChange(request.getEventId(), savedRegistration.getId(),
+                    savedRegistration.getUserId(), null, savedRegistration.getRegistrationStatus()));
+
+            return Outcome.success(eventRegistrationMapper.toResponse(savedRegistration));
+        });
+    }
+
+    /**
+     * Registers a batch of users for events in a single transaction, rejecting missing events and duplicate
+     * registrations per request like {@link #tryRegisterUserForEvent}. A pair repeated within the batch is
+     * registered once and rejected as a duplicate afterwards. Event existence is checked, and the event
+     * share-locked, once per event.
+     * <p>
+     * Registrations on different shards are saved in nested shard transactions, so that a duplicate detected on
+     * any shard rolls back all of them; only a failure to commit an outer shard after an inner one has committed
+     * can save part of the batch.
+     * </p>
+     *
+     * @param requests The registration requests {@link EventRegistrationRequest}.
+     * @return The outcome of each request, in request order.
+     * @throws DataIntegrityViolationException If one of the users was registered concurrently. Nothing in the
+     *                                         batch is saved then, and callers should retry it one request at a
+     *                                         time with {@link #tryRegisterUserForEvent}.
+     * @throws ShardUnavailableException       If the registrations of one of the events are being moved to
+     *                                         another shard. Nothing in the batch is saved then.
+     */
+    @Override
+    public List<Outcome<EventRegistrationResponse>> tryRegisterUsersForEvents(List<EventRegistrationRequest> requests) {
+        List<Outcome<EventRegistrationResponse>> outcomes = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        Map<Long, Boolean> existingEvents = new HashMap<>();
+        Map<Long, Set<Long>> usersByEvent = new HashMap<>();
+        Map<String, List<EventRegistration>> registrationsByShard = new LinkedHashMap<>();
+        Map<Long, Integer> positions = new HashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            Long eventId = requests.get(i).getEventId();
+            Long userId = requests.get(i).getUserId();
+            if (!existingEvents.computeIfAbsent(eventId, id -> eventRepository.lockSharedById(id).isPresent())) {
+                outcomes.set(i, Outcome.failure(Rejection.EVENT_NOT_FOUND, eventId));
+            } else if (!usersByEvent.computeIfAbsent(eventId, id -> new HashSet<>()).add(userId)
+                    || isRegistered(userId, eventId)) {
+                outcomes.set(i, Outcome.failure(Rejection.REGISTRATION_ALREADY_EXISTS, userId));
+            } else {
+                EventRegistration registration = EventRegistration.builder()
+                        .id(registrationIdAllocator.nextId())
+                        .eventId(eventId)
+                        .userId(userId)
+                        .registrationStatus(RegistrationStatus.PENDING)
+                        .build();
+                registrationsByShard.computeIfAbsent(shardRouter.writableShardOf(eventId), shard -> new ArrayList<>())
+                        .add(registration);
+                positions.put(registration.getId(), i);
+            }
+        }
+
+        List<EventRegistration> saved = saveOnShards(registrationsByShard.entrySet().iterator());
+        for (EventRegistration registration : saved) {
+            outcomes.set(positions.get(registration.getId()),
+                    Outcome.success(eventRegistrationMapper.toResponse(registration)));
+        }
 
-        return eventRegistrationMapper.toResponse(savedRegistration);
+        log.info("Batch registration: {} of {} requests registered", saved.size(), requests.size());
+        return outcomes;
+    }
+
+    /**
+     * Saves the registrations of each shard in a shard transaction nested in that of the previous shard, so that a
+     * failed flush on any shard rolls back all of them.
+     */
+    private List<EventRegistration> saveOnShards(Iterator<Map.Entry<String, List<EventRegistration>>> byShard) {
+        if (!byShard.hasNext()) {
+            return new ArrayList<>();
+        }
+        Map.Entry<String, List<EventRegistration>> shard = byShard.next();
+        return shardRouter.onShard(shard.getKey(), false, status -> {
+            List<EventRegistration> saved = new ArrayList<>(eventRegistrationRepository.saveAllAndFlush(shard.getValue()));
+            for (EventRegistration registration : saved) {
+                eventPublisher.publishEvent(new RegistrationChange(registration.getEventId(), registration.getId(),
+                        registration.getUserId(), null, registration.getRegistrationStatus()));
+            }
+            saved.addAll(saveOnShards(byShard));
+            return saved;
+        });
+    }
+
+    /**
+     * Checks whether a user already has a registration for an event. The Bloom filter rules out most pairs
+     * without any lookup; possible hits are confirmed from the in-memory membership index when it holds the
+     * pair, and by the database otherwise, since the index may not have caught up yet. A registration the
+     * database does not show yet is still rejected by the unique (user_id, event_id) constraint on insert.
+     */
+    private boolean isRegistered(Long userId, Long eventId) {
+        if (registrationBloomFilter.isDefinitelyNotRegistered(userId, eventId)) {
+            return false;
+        }
+        boolean registered = registrationMembershipIndex.isRegistered(userId, eventId)
+                || shardRouter.readOnShardOf(eventId,
+                        status -> eventRegistrationRepository.existsByUserIdAndEventId(userId, eventId));
+        registrationBloomFilter.recordPossibleHit(registered);
+        return registered;
     }
 
     /**
@@ -77,30 +255,108 @@ public class EventRegistrationServiceImpl implements EventRegistrationService {
     @Override
     public List<EventRegistrationResponse> getRegistrationsByEvent(Long eventId) {
         // Validate event existence before fetching registrations
-        if (!eventRepository.existsById(eventId)) {
-            throw new EventNotFoundException("Event with ID " + eventId + " not found.");
+        if (!eventReadCoalescer.existsById(eventId)) {
+            throw Rejection.EVENT_NOT_FOUND.toException(eventId);
         }
-        List<EventRegistration> registrations = eventRegistrationRepository.findByEventId(eventId);
+        List<EventRegistration> registrations = shardRouter.readOnShardOf(eventId,
+                status -> eventRegistrationRepository.findByEventId(eventId));
         return registrations.isEmpty() ? Collections.emptyList() : registrations.stream()
                 .map(eventRegistrationMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Retrieves a list of event registrations for a specific user.
+     * Checks whether an event exists, so that callers can reject a request before they start streaming.
+     *
+     * @param eventId The ID of the event.
+     * @return whether the event exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean eventExists(Long eventId) {
+        return eventReadCoalescer.existsById(eventId);
+    }
+
+    /**
+     * Returns the next page of registrations of an event, ordered by ID, so that callers can page through them
+     * with a keyset cursor without holding a transaction open between pages.
+     *
+     * @param eventId The ID of the event.
+     * @param afterId The ID of the last registration already read, or 0 to start.
+     * @param limit   The maximum number of registrations to return.
+     * @return The registrations following {@code afterId}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventRegistrationResponse> getRegistrationsByEventAfter(Long eventId, Long afterId, int limit) {
+        return shardRouter.readOnShardOf(eventId,
+                status -> eventRegistrationRepository.findByEventIdAfter(eventId, afterId, PageRequest.ofSize(limit)));
+    }
+
+    /**
+     * Writes all registrations of an event as a JSON or CBOR array, streaming them from the database to the
+     * output without materializing entities or lists.
+     *
+     * @param eventId   The ID of the event.
+     * @param mediaType {@code application/cbor} for CBOR, any other type for JSON.
+     * @param out       The stream to write to; flushed but not closed.
+     * @throws IOException if writing to the output fails.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void writeRegistrationsByEvent(Long eventId, MediaType mediaType, OutputStream out) throws IOException {
+        try {
+            shardRouter.readOnShardOf(eventId, status -> {
+                try (Stream<EventRegistrationResponse> registrations = eventRegistrationRepository.streamByEventId(eventId)) {
+                    eventRegistrationJsonWriter.writeArray(registrations, mediaType, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Retrieves a list of event registrations for a specific user, gathered from all shards in parallel.
      *
      * @param userId the ID of the user whose registrations are to be retrieved
-     * @return a list of {@link EventRegistrationResponse} objects
+     * @return a list of {@link EventRegistrationResponse} objects, ordered by registration ID
+     * @throws ShardUnavailableException if a shard does not answer in time
      */
     @Override
     public List<EventRegistrationResponse> getRegistrationsByUser(Long userId) {
-        List<EventRegistration> registrations = eventRegistrationRepository.findByUserId(userId);
+        List<EventRegistration> registrations = shardRouter.onAllShards(true,
+                        shard -> eventRegistrationRepository.findByUserId(userId).stream()
+                                .filter(registration -> shardRouter.holds(shard, registration.getEventId()))
+                                .toList()).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(EventRegistration::getId))
+                .toList();
 
         return registrations.isEmpty() ? Collections.emptyList() : registrations.stream()
                 .map(eventRegistrationMapper::toResponse)
                 .toList();
     }
 
+    /**
+     * Retrieves the registrations of several events with a single query per shard holding any of them.
+     *
+     * @param eventIds the IDs of the events
+     * @return the registrations grouped by event ID; events without registrations are absent
+     */
+    @Override
+    public Map<Long, List<EventRegistrationResponse>> getRegistrationsByEvents(Collection<Long> eventIds) {
+        Map<String, List<Long>> eventIdsByShard = shardRouter.groupByShard(eventIds);
+        return shardRouter.onShards(eventIdsByShard.keySet(), true,
+                        shard -> eventRegistrationRepository.findByEventIdIn(eventIdsByShard.get(shard))).stream()
+                .flatMap(List::stream)
+                .map(eventRegistrationMapper::toResponse)
+                .collect(Collectors.groupingBy(EventRegistrationResponse::eventId));
+    }
+
     /**
      * Cancels an existing registration if it is not already cancelled.
      *
@@ -111,19 +367,41 @@ public class EventRegistrationServiceImpl implements EventRegistrationService {
      * @throws RegistrationAlreadyCancelledException if the registration is already canceled.
      */
     @Override
+    @OptimisticLockRetry
     public EventRegistrationResponse cancelRegistration(Long userId, Long eventId) {
-        EventRegistration registration = eventRegistrationRepository.findByUserIdAndEventId(userId, eventId)
-                .orElseThrow(() -> new RegistrationNotFoundException(
-                        "Registration not found for user ID " + userId + " and event ID " + eventId));
+        return tryCancelRegistration(userId, eventId).orElseThrow();
+    }
 
-        if (registration.getRegistrationStatus() == RegistrationStatus.CANCELLED) {
-            throw new RegistrationAlreadyCancelledException("Registration is already cancelled.");
-        }
+    /**
+     * Cancels an existing registration, returning a missing or already cancelled registration as a
+     * {@link Outcome.Failure} instead of throwing.
+     *
+     * @param userId  The ID of the user whose registration is to be canceled.
+     * @param eventId The ID of the event.
+     * @return The updated registration details, or the reason the cancellation was rejected.
+     */
+    @Override
+    @OptimisticLockRetry
+    public Outcome<EventRegistrationResponse> tryCancelRegistration(Long userId, Long eventId) {
+        return shardRouter.writeOnShardOf(eventId, status -> {
+            Optional<EventRegistration> found = eventRegistrationRepository.findByUserIdAndEventId(userId, eventId);
+            if (found.isEmpty()) {
+                return Outcome.failure(Rejection.REGISTRATION_NOT_FOUND, new RegistrationKey(null, userId, eventId));
+            }
+            EventRegistration registration = found.get();
+
+            if (registration.getRegistrationStatus() == RegistrationStatus.CANCELLED) {
+                return Outcome.failure(Rejection.REGISTRATION_ALREADY_CANCELLED, registration.getId());
+            }
 
-        registration.setRegistrationStatus(RegistrationStatus.CANCELLED);
-        EventRegistration updatedRegistration = eventRegistrationRepository.save(registration);
+            RegistrationStatus previousStatus = registration.getRegistrationStatus();
+            registration.setRegistrationStatus(RegistrationStatus.CANCELLED);
+            EventRegistration updatedRegistration = eventRegistrationRepository.save(registration);
+            eventPublisher.publishEvent(new RegistrationChange(eventId, registration.getId(), userId,
+                    previousStatus, RegistrationStatus.CANCELLED));
 
-        return eventRegistrationMapper.toResponse(updatedRegistration);
+            return Outcome.success(eventRegistrationMapper.toResponse(updatedRegistration));
+        });
     }
 
     /**
@@ -135,16 +413,155 @@ public class EventRegistrationServiceImpl implements EventRegistrationService {
      * @throws RegistrationNotFoundException if no registration is found with the given ID.
      */
     @Override
+    @OptimisticLockRetry
     public void updateRegistrationStatus(Long registrationId, RegistrationStatus newStatus) {
-        EventRegistration registration = eventRegistrationRepository.findById(registrationId)
-                .orElseThrow(() -> new RegistrationNotFoundException("Registration with ID " + registrationId + " not found."));
+        // The shard is only known from the event, so find the registration's event on all shards first
+        Long eventId = shardRouter.onAllShards(true,
+                        shard -> eventRegistrationRepository.findKeysByIdIn(List.of(registrationId))).stream()
+                .flatMap(List::stream)
+                .map(RegistrationKey::eventId)
+                .findFirst()
+                .orElseThrow(() -> Rejection.REGISTRATION_NOT_FOUND.toException(registrationId));
+
+        shardRouter.writeOnShardOf(eventId, status -> {
+            EventRegistration registration = eventRegistrationRepository.findById(registrationId)
+                    .orElseThrow(() -> Rejection.REGISTRATION_NOT_FOUND.toException(registrationId));
+
+            if (registration.getRegistrationStatus() == newStatus) {
+                log.info("Registration ID {} already has status {}", registrationId, newStatus);
+                return null;
+            }
+
+            RegistrationStatus previousStatus = registration.getRegistrationStatus();
+            registration.setRegistrationStatus(newStatus);
+            eventRegistrationRepository.save(registration);
+            eventPublisher.publishEvent(new RegistrationChange(eventId, registrationId,
+                    registration.getUserId(), previousStatus, newStatus));
+            return null;
+        });
+    }
+
+    /**
+     * Moves many registrations to a new status using chunked set-based updates.
+     * <p>
+     * Registrations are selected either by their IDs, or by event ID and current status. Each chunk is
+     * applied with a single UPDATE statement that also bumps the registration version, so no entity is
+     * loaded into the persistence context. Registrations already in the target status are left untouched.
+     * </p>
+     *
+     * @param request The bulk transition request {@link BulkRegistrationStatusRequest}.
+     * @return The number of matched and updated registrations {@link BulkRegistrationStatusResponse}.
+     * @throws IllegalArgumentException if the request does not select registrations in exactly one way.
+     * @throws EventNotFoundException   if the event to filter by does not exist.
+     */
+    @Override
+    public BulkRegistrationStatusResponse updateRegistrationStatuses(BulkRegistrationStatusRequest request) {
+        boolean byIds = request.getRegistrationIds() != null && !request.getRegistrationIds().isEmpty();
+        boolean byEvent = request.getEventId() != null;
+
+        if (byIds == byEvent) {
+            throw new IllegalArgumentException("Provide either registrationIds, or eventId with currentStatus.");
+        }
 
-        if (registration.getRegistrationStatus() == newStatus) {
-            log.info("Registration ID {} already has status {}", registrationId, newStatus);
-            return;
+        return byIds
+                ? updateStatusesByIds(request.getRegistrationIds(), request.getNewStatus())
+                : updateStatusesByEvent(request.getEventId(), request.getCurrentStatus(), request.getNewStatus());
+    }
+
+    /**
+     * Applies the update on all shards in parallel, since the shard of a registration is not known from its ID.
+     * Each shard commits on its own, so a failure on one shard leaves the others updated; the update is
+     * idempotent and can be retried.
+     */
+    private BulkRegistrationStatusResponse updateStatusesByIds(List<Long> registrationIds, RegistrationStatus newStatus) {
+        List<Long> ids = registrationIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        List<ShardUpdate> shardUpdates = shardRouter.onAllShards(false, shard -> {
+            int shardUpdated = 0;
+            Set<Long> shardEventIds = new HashSet<>();
+            for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + bulkChunkSize, ids.size()));
+                List<RegistrationKey> keys = eventRegistrationRepository.findKeysByIdIn(chunk).stream()
+                        .filter(key -> shardRouter.holds(shard, key.eventId()))
+                        .toList();
+                if (!keys.isEmpty()) {
+                    List<Long> chunkEventIds = keys.stream().map(RegistrationKey::eventId).distinct().toList();
+                    shardRouter.checkWritable(chunkEventIds);
+                    shardEventIds.addAll(chunkEventIds);
+                    shardUpdated += eventRegistrationRepository.updateStatusByIds(
+                            keys.stream().map(RegistrationKey::id).toList(), newStatus);
+                }
+            }
+            return new ShardUpdate(shardUpdated, shardEventIds);
+        });
+
+        int updated = 0;
+        Set<Long> eventIds = new HashSet<>();
+        for (ShardUpdate shardUpdate : shardUpdates) {
+            updated += shardUpdate.updated();
+            eventIds.addAll(shardUpdate.eventIds());
+        }
+        if (updated > 0) {
+            eventPublisher.publishEvent(new RegistrationBulkChange(eventIds, newStatus, updated));
         }
 
-        registration.setRegistrationStatus(newStatus);
-        eventRegistrationRepository.save(registration);
+        log.info("Bulk status update to {}: {} of {} registrations updated", newStatus, updated, ids.size());
+        return new BulkRegistrationStatusResponse(newStatus, ids.size(), updated);
     }
+
+    private BulkRegistrationStatusResponse updateStatusesByEvent(Long eventId, RegistrationStatus currentStatus,
+                                                                 RegistrationStatus newStatus) {
+        if (currentStatus == null) {
+            throw new IllegalArgumentException("currentStatus is required when filtering by eventId.");
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw Rejection.EVENT_NOT_FOUND.toException(eventId);
+        }
+        if (currentStatus == newStatus) {
+            log.info("Registrations of event ID {} already have status {}", eventId, newStatus);
+            return new BulkRegistrationStatusResponse(newStatus, 0, 0);
+        }
+
+        return shardRouter.writeOnShardOf(eventId, status -> {
+            int matched = 0;
+            int updated = 0;
+            long afterId = 0L;
+            List<Long> chunk;
+            do {
+                chunk = eventRegistrationRepository.findIdsByEventIdAndStatusAfter(
+                        eventId, currentStatus, afterId, PageRequest.ofSize(bulkChunkSize));
+                if (!chunk.isEmpty()) {
+                    matched += chunk.size();
+                    updated += eventRegistrationRepository.updateStatusByIds(chunk, newStatus);
+                    afterId = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == bulkChunkSize);
+
+            if (updated > 0) {
+                eventPublisher.publishEvent(new RegistrationBulkChange(Set.of(eventId), newStatus, updated));
+            }
+
+            log.info("Bulk status update of event ID {} from {} to {}: {} registrations updated",
+                    eventId, currentStatus, newStatus, updated);
+            return new BulkRegistrationStatusResponse(newStatus, matched, updated);
+        });
+    }
+
+    /**
+     * Returns the number of registrations of an event per registration status.
+     *
+     * @param eventId The ID of the event.
+     * @return The registration counts {@link EventRegistrationStatsResponse}.
+     * @throws EventNotFoundException if the event does not exist.
+     */
+    @Override
+    public EventRegistrationStatsResponse getRegistrationStats(Long eventId) {
+        return registrationStatsService.getStats(eventId);
+    }
+
+    /**
+     * @param updated  the number of registrations updated on one shard
+     * @param eventIds the events of the updated registrations
+     */
+    private record ShardUpdate(int updated, Set<Long> eventIds) {}
 }
@@ -1,24 +1,55 @@
 package com.bluecomet.event_planner.service.impl;
 
+import com.bluecomet.event_planner.cache.EventCatalogSnapshotStore;
+import com.bluecomet.event_planner.cache.EventCountEstimator;
+import com.bluecomet.event_planner.cache.EventListingWindow;
+import com.bluecomet.event_planner.cache.EventReadCoalescer;
+import com.bluecomet.event_planner.config.OptimisticLockRetry;
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.exchange.EventBatchResponse;
 import com.bluecomet.event_planner.model.exchange.EventRequest;
 import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.exchange.EventSliceResponse;
 import com.bluecomet.event_planner.model.entity.Event;
+import com.bluecomet.event_planner.model.entity.EventDeletion;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
 import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner.model.vo.Outcome;
+import com.bluecomet.event_planner.model.vo.Rejection;
+import com.bluecomet.event_planner.repository.ArchivedEventRepository;
+import com.bluecomet.event_planner.repository.EventDeletionRepository;
 import com.bluecomet.event_planner.repository.EventRepository;
 import com.bluecomet.event_planner.exception.EventAlreadyCancelledException;
 import com.bluecomet.event_planner.exception.EventNotFoundException;
+import com.bluecomet.event_planner.mapper.EventJsonWriter;
 import com.bluecomet.event_planner.mapper.EventMapper;
+import com.bluecomet.event_planner.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * @author Priyansu
@@ -30,9 +61,30 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
+    private final EventCancellationService eventCancellationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventCatalogSnapshotStore eventCatalogSnapshotStore;
+    private final EventReadCoalescer eventReadCoalescer;
+    private final EventListingWindow eventListingWindow;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final EventDeletionRepository eventDeletionRepository;
+    private final EventCountEstimator eventCountEstimator;
+    private final EventJsonWriter eventJsonWriter;
+    private final ShardRouter shardRouter;
+
+    @Value("${event-planner.events.batch.max-ids:1000}")
+    private int batchMaxIds;
+
+    @Value("${event-planner.events.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Value("${event-planner.events.slice.max-size:200}")
+    private int sliceMaxSize;
 
     /**
-     * Fetches a paginated list of events sorted by event date in descending order.
+     * Fetches a paginated list of events sorted by event date in descending order, newest ID first on ties.
+     * The first pages are served from the {@link EventListingWindow}, deeper ones from the event catalog
+     * snapshot once one is mapped, and from the database otherwise.
      *
      * @param page the page number (0-based index)
      * @param size the number of events per page
@@ -41,10 +93,64 @@ public class EventService {
     public Page<EventResponse> getAllEvents(int page, int size) {
         log.info("Fetching events - Page: {}, Size: {}", page, size);
 
-        Pageable eventPages = PageRequest.of(page, size, Sort.by("eventDateTime").descending());
+        Optional<Page<EventResponse>> firstPages = eventListingWindow.findPage(page, size);
+        if (firstPages.isPresent()) {
+            return firstPages.get();
+        }
+        if (eventCatalogSnapshotStore.isReady()) {
+            return eventCatalogSnapshotStore.findPage(page, size);
+        }
+        Pageable eventPages = PageRequest.of(page, size,
+                Sort.by("eventDateTime").descending().and(Sort.by("id").descending()));
         return eventRepository.findAll(eventPages).map(eventMapper::toResponse);
     }
 
+    /**
+     * Fetches one slice of all events in listing order without counting them.
+     *
+     * @param page      the slice number (0-based index)
+     * @param size      the number of events per slice, capped at {@code event-planner.events.slice.max-size}
+     * @param withCount whether to add the estimated total from {@link EventCountEstimator}
+     * @return the slice {@link EventSliceResponse}
+     */
+    public EventSliceResponse getEventsSlice(int page, int size, boolean withCount) {
+        log.info("Fetching event slice - Page: {}, Size: {}", page, size);
+        Slice<Event> slice = eventRepository.findSliceBy(slicePageable(page, size));
+        return toSliceResponse(slice, withCount ? eventCountEstimator.total() : OptionalLong.empty());
+    }
+
+    /**
+     * Fetches one slice of the events with the given status, in listing order, without counting them.
+     *
+     * @param status    the event status
+     * @param page      the slice number (0-based index)
+     * @param size      the number of events per slice, capped at {@code event-planner.events.slice.max-size}
+     * @param withCount whether to add the estimated total from {@link EventCountEstimator}
+     * @return the slice {@link EventSliceResponse}
+     */
+    public EventSliceResponse getEventsByStatusSlice(EventStatus status, int page, int size, boolean withCount) {
+        log.info("Fetching event slice with status: {} - Page: {}, Size: {}", status, page, size);
+        Slice<Event> slice = eventRepository.findSliceByStatus(status, slicePageable(page, size));
+        return toSliceResponse(slice, withCount ? eventCountEstimator.byStatus(status) : OptionalLong.empty());
+    }
+
+    /**
+     * Fetches one slice of the events within the given date range, in listing order, without counting them.
+     *
+     * @param start     the start date-time of the range
+     * @param end       the end date-time of the range
+     * @param page      the slice number (0-based index)
+     * @param size      the number of events per slice, capped at {@code event-planner.events.slice.max-size}
+     * @param withCount whether to add the estimated total from {@link EventCountEstimator}
+     * @return the slice {@link EventSliceResponse}
+     */
+    public EventSliceResponse getEventsByDateTimeRangeSlice(LocalDateTime start, LocalDateTime end,
+                                                            int page, int size, boolean withCount) {
+        log.info("Fetching event slice between {} and {} - Page: {}, Size: {}", start, end, page, size);
+        Slice<Event> slice = eventRepository.findSliceByEventDateTimeBetween(start, end, slicePageable(page, size));
+        return toSliceResponse(slice, withCount ? eventCountEstimator.between(start, end) : OptionalLong.empty());
+    }
+
     /**
      * Fetches an event by its ID.
      *
@@ -53,8 +159,94 @@ public class EventService {
      * @throws EventNotFoundException if the event is not found
      */
     public EventResponse getEventById(Long id) {
-        log.info("Fetching event with ID: {}", id);
-        return eventMapper.toResponse(findEventById(id));
+        return getEventById(id, false);
+    }
+
+    /**
+     * Fetches an event by its ID, optionally looking it up among archived events too.
+     *
+     * @param id              the unique identifier of the event
+     * @param includeArchived whether to fall back to the archive if the event is not live
+     * @return the corresponding {@link EventResponse} DTO
+     * @throws EventNotFoundException if the event is not found
+     */
+    public EventResponse getEventById(Long id, boolean includeArchived) {
+        return findEvent(id, includeArchived).orElseThrow();
+    }
+
+    /**
+     * Fetches an event by its ID, returning a missing event as a {@link Outcome.Failure} instead of throwing.
+     *
+     * @param id              the unique identifier of the event
+     * @param includeArchived whether to fall back to the archive if the event is not live
+     * @return the corresponding {@link EventResponse} DTO, or {@link Rejection#EVENT_NOT_FOUND}
+     */
+    public Outcome<EventResponse> findEvent(Long id, boolean includeArchived) {
+        log.info("Fetching event with ID: {}, including archived: {}", id, includeArchived);
+        Optional<EventResponse> event = eventCatalogSnapshotStore.isWarmingUp()
+                ? eventCatalogSnapshotStore.find(id).or(() -> eventReadCoalescer.findById(id))
+                : eventReadCoalescer.findById(id);
+        if (includeArchived) {
+            event = event.or(() -> archivedEventRepository.findById(id).map(eventMapper::toResponse));
+        }
+        return event.isPresent()
+                ? Outcome.success(event.get())
+                : Outcome.failure(Rejection.EVENT_NOT_FOUND, id);
+    }
+
+    /**
+     * Fetches the events with the given IDs, preserving the request order and reporting unknown IDs.
+     * Duplicate IDs are returned once.
+     *
+     * @param ids the event IDs to look up
+     * @return the found events and the missing IDs {@link EventBatchResponse}
+     * @throws IllegalArgumentException if more IDs are requested than allowed
+     */
+    public EventBatchResponse getEventBatch(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > batchMaxIds) {
+            throw new IllegalArgumentException("At most " + batchMaxIds + " event IDs can be requested at once");
+        }
+        Map<Long, EventResponse> found = getEventsByIds(requested);
+
+        List<EventResponse> events = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            EventResponse event = found.get(id);
+            if (event != null) {
+                events.add(event);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new EventBatchResponse(events, missingIds);
+    }
+
+    /**
+     * Fetches the events with the given IDs from the database, with one {@code IN} query per chunk of IDs.
+     * While the event catalog snapshot is warming up, it is consulted first and only its misses are loaded.
+     *
+     * @param ids the event IDs to look up
+     * @return the found events keyed by ID; unknown IDs are absent
+     */
+    public Map<Long, EventResponse> getEventsByIds(Collection<Long> ids) {
+        log.info("Fetching {} events by ID", ids.size());
+        Map<Long, EventResponse> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        if (eventCatalogSnapshotStore.isWarmingUp()) {
+            for (Long id : ids) {
+                eventCatalogSnapshotStore.find(id)
+                        .ifPresentOrElse(event -> found.put(id, event), () -> misses.add(id));
+            }
+        } else {
+            misses.addAll(ids);
+        }
+        for (int from = 0; from < misses.size(); from += batchChunkSize) {
+            List<Long> chunk = misses.subList(from, Math.min(from + batchChunkSize, misses.size()));
+            eventRepository.findAllById(chunk).forEach(event -> found.put(event.getId(), eventMapper.toResponse(event)));
+        }
+        log.debug("Resolved {} of {} events, {} from the database", found.size(), ids.size(), misses.size());
+        return found;
     }
 
     /**
@@ -67,7 +259,9 @@ public class EventService {
     public EventResponse createEvent(EventRequest eventRequest) {
         log.info("Processing event creation: {}", eventRequest);
         Event event = eventMapper.toEntity(eventRequest);
-        return eventMapper.toResponse(eventRepository.save(event));
+        EventResponse createdEvent = eventMapper.toResponse(eventRepository.save(event));
+        publishChange(EventChangeType.CREATED, createdEvent.id(), createdEvent);
+        return createdEvent;
     }
 
     /**
@@ -78,61 +272,105 @@ public class EventService {
      * @return the updated event response DTO {@link EventResponse}
      * @throws EventNotFoundException if the event is not found
      */
+    @OptimisticLockRetry
     @Transactional
     public EventResponse updateEvent(Long id, EventRequest updatedEventRequest) {
         log.info("Updating event with ID: {}", id);
 
         Event event = findEventById(id);
         eventMapper.updateEntity(event, updatedEventRequest);
-        return eventMapper.toResponse(eventRepository.save(event));
+        EventResponse updatedEvent = eventMapper.toResponse(eventRepository.save(event));
+        publishChange(EventChangeType.UPDATED, id, updatedEvent);
+        return updatedEvent;
     }
 
     /**
      * Deletes an event {@link Event} by its ID.
+     * <p>
+     * Its registrations are deleted from the event's shard once this transaction commits, see
+     * {@link EventDeletionService}. Registrations being written concurrently hold a share lock on the event row,
+     * so the deletion waits for them and they are deleted along with the others.
+     * </p>
      *
      * @param id the ID of the event to delete
      * @throws EventNotFoundException if the event does not exist
+     * @throws com.bluecomet.event_planner.exception.ShardUnavailableException if the event's shard bucket is being moved
      */
     @Transactional
     public void deleteEvent(Long id) {
         log.info("Deleting event with ID: {}", id);
         Event event = findEventById(id);
-        eventRepository.deleteById(id);
+        shardRouter.writableShardOf(id);
+        eventRepository.delete(event);
+        eventRepository.flush();
+        eventDeletionRepository.save(new EventDeletion(id, LocalDateTime.now()));
+        publishChange(EventChangeType.DELETED, id, null);
         log.info("Event with ID: {} deleted successfully", id);
     }
 
     /**
      * Retrieves a list of events filtered by the provided status.
      *
-     * @param status the event status
+     * @param status          the event status
+     * @param includeArchived whether to include archived events, which are all COMPLETED or CANCELLED
      * @return a list of event responses DTO {@link EventResponse} matching the status
      */
-    public List<EventResponse> getEventsByStatus(EventStatus status) {
-        log.info("Fetching events with status: {}", status);
-        return eventRepository.findByStatus(status).stream().map(eventMapper::toResponse).toList();
+    public List<EventResponse> getEventsByStatus(EventStatus status, boolean includeArchived) {
+        log.info("Fetching events with status: {}, including archived: {}", status, includeArchived);
+        List<EventResponse> events = eventRepository.findByStatus(status).stream().map(eventMapper::toResponse).toList();
+        if (!includeArchived || status == EventStatus.UPCOMING || status == EventStatus.ONGOING) {
+            return events;
+        }
+        return Stream.concat(events.stream(),
+                archivedEventRepository.findByStatus(status).stream().map(eventMapper::toResponse)).toList();
     }
 
     /**
      * Cancels an event by marking its status as CANCELLED.
+     * <p>
+     * Its registrations are cancelled in the background once this transaction commits,
+     * see {@link EventCancellationService}.
+     * </p>
      *
      * @param id the event ID
      * @return the updated event response {@link EventResponse}
      * @throws EventAlreadyCancelledException if the event is already cancelled
      */
+    @OptimisticLockRetry
     @Transactional
     public EventResponse cancelEvent(Long id) {
+        return tryCancelEvent(id).orElseThrow();
+    }
+
+    /**
+     * Cancels an event, returning a missing or already cancelled event as a {@link Outcome.Failure}
+     * instead of throwing.
+     *
+     * @param id the event ID
+     * @return the updated event response {@link EventResponse}, or the reason the cancellation was rejected
+     */
+    @OptimisticLockRetry
+    @Transactional
+    public Outcome<EventResponse> tryCancelEvent(Long id) {
         log.info("Attempting to cancel event with ID: {}", id);
 
-        Event event = findEventById(id);
+        Optional<Event> found = eventRepository.findById(id);
+        if (found.isEmpty()) {
+            return Outcome.failure(Rejection.EVENT_NOT_FOUND, id);
+        }
+        Event event = found.get();
 
         if (event.getStatus() == EventStatus.CANCELLED) {
-            log.warn("Event with ID: {} is already cancelled", id);
-            throw new EventAlreadyCancelledException("Event with ID: " + id + " is already cancelled");
+            log.debug("Event with ID: {} is already cancelled", id);
+            return Outcome.failure(Rejection.EVENT_ALREADY_CANCELLED, id);
         }
         event.setStatus(EventStatus.CANCELLED);
         event.setUpdatedAt(LocalDateTime.now());
 
-        return eventMapper.toResponse(eventRepository.save(event));
+        EventResponse cancelledEvent = eventMapper.toResponse(eventRepository.save(event));
+        eventCancellationService.startCancellation(id);
+        publishChange(EventChangeType.CANCELLED, id, cancelledEvent);
+        return Outcome.success(cancelledEvent);
     }
 
     /**
@@ -140,14 +378,74 @@ public class EventService {
      *
      * @param start the start date-time of the range.
      * @param end the end date-time of the range.
+     * @param includeArchived whether to include archived events; only the archive partitions of the range are read.
      * @return a list of {@link EventResponse} containing event details.
      */
-    public List<EventResponse> getEventsByDateTimeRange(LocalDateTime start, LocalDateTime end) {
-        log.info("Fetching events between {} and {}", start, end);
-        return eventRepository.findByEventDateTimeBetween(start, end)
+    public List<EventResponse> getEventsByDateTimeRange(LocalDateTime start, LocalDateTime end, boolean includeArchived) {
+        log.info("Fetching events between {} and {}, including archived: {}", start, end, includeArchived);
+        Stream<EventResponse> events = eventRepository.findByEventDateTimeBetween(start, end)
                 .stream()
-                .map(eventMapper::toResponse)
-                .toList();
+                .map(eventMapper::toResponse);
+        if (includeArchived) {
+            events = Stream.concat(events,
+                    archivedEventRepository.findByEventDateTimeBetween(start, end).stream().map(eventMapper::toResponse));
+        }
+        return events.toList();
+    }
+
+    /**
+     * Writes the events with the given status as a JSON or CBOR array, streaming them from the database to the
+     * output without materializing entities or lists.
+     *
+     * @param status    the event status
+     * @param mediaType {@code application/cbor} for CBOR, any other type for JSON
+     * @param out       the stream to write to; flushed but not closed
+     * @throws IOException if writing to the output fails
+     */
+    @Transactional(readOnly = true)
+    public void writeEventsByStatus(EventStatus status, MediaType mediaType, OutputStream out) throws IOException {
+        log.info("Streaming events with status: {} as {}", status, mediaType);
+        try (Stream<EventResponse> events = eventRepository.streamByStatus(status)) {
+            eventJsonWriter.writeArray(events, mediaType, out);
+        }
+    }
+
+    /**
+     * Writes the events within the given date range as a JSON or CBOR array, streaming them from the database to
+     * the output without materializing entities or lists.
+     *
+     * @param start     the start date-time of the range
+     * @param end       the end date-time of the range
+     * @param mediaType {@code application/cbor} for CBOR, any other type for JSON
+     * @param out       the stream to write to; flushed but not closed
+     * @throws IOException if writing to the output fails
+     */
+    @Transactional(readOnly = true)
+    public void writeEventsByDateTimeRange(LocalDateTime start, LocalDateTime end, MediaType mediaType,
+                                           OutputStream out) throws IOException {
+        log.info("Streaming events between {} and {} as {}", start, end, mediaType);
+        try (Stream<EventResponse> events = eventRepository.streamByEventDateTimeBetween(start, end)) {
+            eventJsonWriter.writeArray(events, mediaType, out);
+        }
+    }
+
+    private Pageable slicePageable(int page, int size) {
+        return PageRequest.of(page, Math.min(size, sliceMaxSize),
+                Sort.by("eventDateTime").descending().and(Sort.by("id").descending()));
+    }
+
+    private EventSliceResponse toSliceResponse(Slice<Event> slice, OptionalLong estimatedTotal) {
+        return new EventSliceResponse(
+                slice.map(eventMapper::toResponse).getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext(),
+                estimatedTotal.isPresent() ? estimatedTotal.getAsLong() : null
+        );
+    }
+
+    private void publishChange(EventChangeType type, Long id, EventResponse event) {
+        eventPublisher.publishEvent(new EventChange(type, id, event, LocalDateTime.now()));
     }
 
     /**
@@ -159,6 +457,6 @@ public class EventService {
      */
     private Event findEventById(Long id) {
         return eventRepository.findById(id)
-                .orElseThrow(() -> new EventNotFoundException("Event with ID: " + id + " not found"));
+                .orElseThrow(() -> Rejection.EVENT_NOT_FOUND.toException(id));
     }
 }
@@ -0,0 +1,250 @@
+package com.bluecomet.event_planner.service.impl;
+
+import com.bluecomet.event_planner.model.exchange.FlightRecordingSummary;
+import com.bluecomet.event_planner.model.exchange.FlightRecordingSummary.Hotspot;
+import com.bluecomet.event_planner.model.exchange.FlightRecordingSummary.Wait;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Keeps an always-on Java Flight Recorder recording of the recent past, to diagnose latency spikes after the fact.
+ * <p>
+ * The recording uses the JDK's {@code default} settings, which are designed to stay around one percent of CPU,
+ * and is bounded by a maximum age and size so that it only ever holds a rolling window. The window can be dumped
+ * to a file for offline analysis in JDK Mission Control, or summarized in-process into hot methods, allocation
+ * sites, GC pauses and socket wait time.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Service
+@Slf4j
+public class FlightRecorderService {
+
+    private static final String RECORDING_NAME = "event-planner-continuous";
+    private static final String DUMP_PREFIX = "event-planner-";
+    private static final String DUMP_SUFFIX = ".jfr";
+    private static final DateTimeFormatter DUMP_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    @Value("${event-planner.flight-recorder.enabled:true}")
+    private boolean enabled;
+
+    @Value("${event-planner.flight-recorder.settings:default}")
+    private String settings;
+
+    @Value("${event-planner.flight-recorder.max-age:PT30M}")
+    private Duration maxAge;
+
+    @Value("${event-planner.flight-recorder.max-size:100MB}")
+    private DataSize maxSize;
+
+    @Value("${event-planner.flight-recorder.dump-dir:${java.io.tmpdir}/event-planner/jfr}")
+    private Path dumpDir;
+
+    @Value("${event-planner.flight-recorder.dumps-kept:5}")
+    private int dumpsKept;
+
+    @Value("${event-planner.flight-recorder.summary-size:10}")
+    private int summarySize;
+
+    private Recording recording;
+
+    @PostConstruct
+    void start() {
+        if (!enabled || !FlightRecorder.isAvailable()) {
+            log.info("Continuous flight recording is disabled");
+            return;
+        }
+        try {
+            recording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            log.warn("Could not load flight recorder settings '{}', continuous recording is disabled", settings, e);
+            return;
+        }
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        log.info("Started continuous flight recording with '{}' settings, keeping up to {} or {}", settings, maxAge, maxSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    /**
+     * Writes the recorded window to a new file in the dump directory, keeping only the most recent dumps.
+     *
+     * @return the written file, or empty if nothing is being recorded
+     */
+    public Optional<Path> dump() {
+        if (!isRecording()) {
+            return Optional.empty();
+        }
+        try {
+            Files.createDirectories(dumpDir);
+            Path file = dumpDir.resolve(DUMP_PREFIX + DUMP_TIMESTAMP.format(Instant.now()) + DUMP_SUFFIX);
+            recording.dump(file);
+            pruneDumps();
+            log.info("Dumped continuous flight recording to {}", file);
+            return Optional.of(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump the flight recording", e);
+        }
+    }
+
+    /**
+     * Summarizes the last {@code window} of the recording.
+     *
+     * @param window how far back to look; capped by the recording's maximum age
+     * @return the summary, or empty if nothing is being recorded
+     */
+    public Optional<FlightRecordingSummary> summarize(Duration window) {
+        if (!isRecording()) {
+            return Optional.empty();
+        }
+        Instant to = Instant.now();
+        Instant from = to.minus(window.compareTo(maxAge) < 0 ? window : maxAge);
+        Path file = null;
+        try {
+            file = Files.createTempFile(DUMP_PREFIX + "summary-", DUMP_SUFFIX);
+            recording.dump(file);
+            return Optional.of(summarize(file, from, to));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not summarize the flight recording", e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private FlightRecordingSummary summarize(Path file, Instant from, Instant to) throws IOException {
+        Map<String, Long> executionSamples = new HashMap<>();
+        Map<String, Long> allocatedBytes = new HashMap<>();
+        Map<String, WaitTotals> socketWaits = new HashMap<>();
+        WaitTotals gcPauses = new WaitTotals();
+
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                if (event.getStartTime().isBefore(from)) {
+                    continue;
+                }
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> executionSamples.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                    case "jdk.ObjectAllocationSample" ->
+                            allocatedBytes.merge(topFrame(event.getStackTrace()), event.getLong("weight"), Long::sum);
+                    case "jdk.GarbageCollection" -> gcPauses.add(event.getDuration("sumOfPauses"));
+                    case "jdk.SocketRead", "jdk.SocketWrite" -> socketWaits
+                            .computeIfAbsent(event.getString("host") + ":" + event.getInt("port"), target -> new WaitTotals())
+                            .add(event.getDuration());
+                    default -> { }
+                }
+            }
+        }
+
+        return new FlightRecordingSummary(from, to,
+                hotspots(executionSamples),
+                hotspots(allocatedBytes),
+                gcPauses.toWait("gc-pauses"),
+                socketWaits.entrySet().stream()
+                        .map(entry -> entry.getValue().toWait(entry.getKey()))
+                        .sorted(Comparator.comparingDouble(Wait::totalMillis).reversed())
+                        .limit(summarySize)
+                        .toList());
+    }
+
+    private List<Hotspot> hotspots(Map<String, Long> weights) {
+        long total = weights.values().stream().mapToLong(Long::longValue).sum();
+        return weights.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(summarySize)
+                .map(entry -> new Hotspot(entry.getKey(), entry.getValue(), 100.0 * entry.getValue() / total))
+                .toList();
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<unknown>";
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private void pruneDumps() throws IOException {
+        try (Stream<Path> dumps = Files.list(dumpDir)) {
+            dumps.filter(path -> path.getFileName().toString().startsWith(DUMP_PREFIX))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .skip(dumpsKept)
+                    .forEach(FlightRecorderService::deleteQuietly);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete flight recording file {}", file, e);
+        }
+    }
+
+    /**
+     * Running count, total and maximum of a kind of wait.
+     */
+    private static final class WaitTotals {
+        private long count;
+        private Duration total = Duration.ZERO;
+        private Duration max = Duration.ZERO;
+
+        void add(Duration duration) {
+            count++;
+            total = total.plus(duration);
+            if (duration.compareTo(max) > 0) {
+                max = duration;
+            }
+        }
+
+        Wait toWait(String name) {
+            return new Wait(name, count, total.toNanos() / 1_000_000.0, max.toNanos() / 1_000_000.0);
+        }
+    }
+}
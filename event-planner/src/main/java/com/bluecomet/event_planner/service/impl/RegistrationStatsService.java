@@ -0,0 +1,285 @@
+package com.bluecomet.event_planner.service.impl;
+
+import com.bluecomet.event_planner.cache.EventReadCoalescer;
+import com.bluecomet.event_planner.exception.EventNotFoundException;
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.change.RegistrationBulkChange;
+import com.bluecomet.event_planner.model.change.RegistrationChange;
+import com.bluecomet.event_planner.model.entity.EventRegistrationStats;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationStatsResponse;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import com.bluecomet.event_planner.model.vo.Rejection;
+import com.bluecomet.event_planner.repository.EventRegistrationRepository;
+import com.bluecomet.event_planner.repository.EventRegistrationStatsRepository;
+import com.bluecomet.event_planner.repository.EventRepository;
+import com.bluecomet.event_planner.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains the number of registrations of every event per {@link RegistrationStatus}.
+ * <p>
+ * Every committed registration change is applied as an atomic +1/-1 delta to the event's row in the
+ * {@code event_registration_stats} summary table, in its own transaction right after the registration
+ * commits. An event without a row yet, and the events touched by a set-based update, are recounted from
+ * {@code event_registrations} instead. A recount holds a lock on the summary row, so deltas and recounts of
+ * the same event are serialized.
+ * </p>
+ * <p>
+ * A delta can still be lost, with the node that made the change, or counted twice, when its registration
+ * committed before a recount read the shard but the delta is applied after the recount. Every
+ * {@code event-planner.registration-stats.reconcile-interval} the cached events and the next
+ * {@code event-planner.registration-stats.reconcile-chunk-size} summary rows are therefore recounted from the
+ * registration tables, which bounds any drift to one reconcile cycle.
+ * </p>
+ * <p>
+ * Reads are served from striped in-memory counters. Committed local changes update the counters at once,
+ * and every recount overwrites them. On a miss, or after {@code event-planner.registration-stats.cache-ttl},
+ * they are reloaded from the summary table, which picks up changes made on other nodes.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Service
+@Slf4j
+public class RegistrationStatsService {
+
+    private static final RegistrationStatus[] STATUSES = RegistrationStatus.values();
+
+    private final EventRegistrationStatsRepository eventRegistrationStatsRepository;
+    private final EventRegistrationRepository eventRegistrationRepository;
+    private final EventRepository eventRepository;
+    private final EventReadCoalescer eventReadCoalescer;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate summaryUpdates;
+
+    private final ConcurrentMap<Long, StatusCounters> counters = new ConcurrentHashMap<>();
+
+    private volatile long reconciledUpTo;
+
+    @Value("${event-planner.registration-stats.cache-ttl:PT5M}")
+    private Duration cacheTtl;
+
+    @Value("${event-planner.registration-stats.reconcile-chunk-size:500}")
+    private int reconcileChunkSize;
+
+    public RegistrationStatsService(EventRegistrationStatsRepository eventRegistrationStatsRepository,
+                                    EventRegistrationRepository eventRegistrationRepository,
+                                    EventRepository eventRepository,
+                                    EventReadCoalescer eventReadCoalescer,
+                                    ShardRouter shardRouter,
+                                    PlatformTransactionManager transactionManager) {
+        this.eventRegistrationStatsRepository = eventRegistrationStatsRepository;
+        this.eventRegistrationRepository = eventRegistrationRepository;
+        this.eventRepository = eventRepository;
+        this.eventReadCoalescer = eventReadCoalescer;
+        this.shardRouter = shardRouter;
+        // Changes are applied after the registration commits, possibly while the caller's transaction is open
+        this.summaryUpdates = new TransactionTemplate(transactionManager);
+        this.summaryUpdates.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the number of registrations of an event per status.
+     *
+     * @param eventId the ID of the event
+     * @return the registration counts {@link EventRegistrationStatsResponse}
+     * @throws EventNotFoundException if the event does not exist
+     */
+    @Transactional(readOnly = true)
+    public EventRegistrationStatsResponse getStats(Long eventId) {
+        StatusCounters eventCounters = counters.get(eventId);
+        if (eventCounters == null || eventCounters.isOlderThan(cacheTtl)) {
+            StatusCounters loaded = load(eventId);
+            counters.put(eventId, loaded);
+            eventCounters = loaded;
+        }
+        return eventCounters.toResponse(eventId);
+    }
+
+    /**
+     * Applies a committed registration change to the summary table and the in-memory counters.
+     *
+     * @param change the committed registration change
+     */
+    @TransactionalEventListener
+    public void onRegistrationChange(RegistrationChange change) {
+        long[] delta = new long[STATUSES.length];
+        if (change.previousStatus() != null) {
+            delta[change.previousStatus().ordinal()]--;
+        }
+        delta[change.newStatus().ordinal()]++;
+
+        try {
+            Integer updated = summaryUpdates.execute(status -> eventRegistrationStatsRepository.applyDelta(
+                    change.eventId(),
+                    delta[RegistrationStatus.PENDING.ordinal()],
+                    delta[RegistrationStatus.CONFIRMED.ordinal()],
+                    delta[RegistrationStatus.CANCELLED.ordinal()]));
+            if (updated == null || updated == 0) {
+                rebuild(change.eventId());
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not count a registration change of event ID {}, leaving it to the reconcile",
+                    change.eventId(), e);
+        }
+        StatusCounters eventCounters = counters.get(change.eventId());
+        if (eventCounters != null) {
+            eventCounters.apply(change.previousStatus(), change.newStatus());
+        }
+    }
+
+    /**
+     * Recounts the events touched by a committed set-based update.
+     *
+     * @param change the committed bulk registration change
+     */
+    @TransactionalEventListener
+    public void onRegistrationBulkChange(RegistrationBulkChange change) {
+        change.eventIds().forEach(counters::remove);
+        change.eventIds().forEach(this::tryRebuild);
+    }
+
+    /**
+     * Drops the in-memory counters of a deleted or archived event once the change is committed. Its summary
+     * row is removed with the event by the foreign key.
+     *
+     * @param change the committed event change
+     */
+    @TransactionalEventListener
+    public void evictRemovedEvent(EventChange change) {
+        if (change.type() == EventChangeType.DELETED || change.type() == EventChangeType.ARCHIVED) {
+            counters.remove(change.eventId());
+        }
+    }
+
+    /**
+     * Recounts the cached events and the next chunk of summary rows from the registration tables. The chunks
+     * wrap around, so every summary row is recounted over time.
+     */
+    @Scheduled(
+        initialDelayString = "${event-planner.registration-stats.reconcile-interval:PT5M}",
+        fixedDelayString = "${event-planner.registration-stats.reconcile-interval:PT5M}"
+    )
+    public void reconcile() {
+        Set<Long> eventIds = new LinkedHashSet<>(counters.keySet());
+        List<Long> chunk = eventRegistrationStatsRepository.findEventIdsAfter(reconciledUpTo,
+                PageRequest.ofSize(reconcileChunkSize));
+        eventIds.addAll(chunk);
+        reconciledUpTo = chunk.size() < reconcileChunkSize ? 0L : chunk.getLast();
+        eventIds.forEach(this::tryRebuild);
+    }
+
+    private void tryRebuild(Long eventId) {
+        try {
+            rebuild(eventId);
+        } catch (RuntimeException e) {
+            log.warn("Could not recount the registrations of event ID {}, retrying on the next reconcile", eventId, e);
+        }
+    }
+
+    /**
+     * Recounts an event from its shard and stores the counts, holding the lock on its summary row meanwhile.
+     * A missing row is inserted first, which locks it as well. Events deleted since are skipped.
+     */
+    private void rebuild(Long eventId) {
+        long[] counts = summaryUpdates.execute(status -> {
+            if (eventRegistrationStatsRepository.lockByEventId(eventId).isEmpty()) {
+                if (!eventRepository.existsById(eventId)) {
+                    return null;
+                }
+                eventRegistrationStatsRepository.upsert(eventId, 0L, 0L, 0L);
+            }
+            long[] recounted = countByStatus(eventId);
+            eventRegistrationStatsRepository.upsert(eventId,
+                    recounted[RegistrationStatus.PENDING.ordinal()],
+                    recounted[RegistrationStatus.CONFIRMED.ordinal()],
+                    recounted[RegistrationStatus.CANCELLED.ordinal()]);
+            return recounted;
+        });
+        if (counts == null) {
+            counters.remove(eventId);
+            return;
+        }
+        counters.computeIfPresent(eventId, (id, cached) -> new StatusCounters(counts));
+        log.debug("Rebuilt registration stats of event ID {}", eventId);
+    }
+
+    private StatusCounters load(Long eventId) {
+        return eventRegistrationStatsRepository.findById(eventId)
+                .map(StatusCounters::new)
+                .orElseGet(() -> {
+                    if (!eventReadCoalescer.existsById(eventId)) {
+                        throw Rejection.EVENT_NOT_FOUND.toException(eventId);
+                    }
+                    return new StatusCounters(countByStatus(eventId));
+                });
+    }
+
+    private long[] countByStatus(Long eventId) {
+        long[] counts = new long[STATUSES.length];
+        List<Object[]> rows = shardRouter.readOnShardOf(eventId,
+                status -> eventRegistrationRepository.countByStatusForEvent(eventId));
+        for (Object[] row : rows) {
+            counts[((RegistrationStatus) row[0]).ordinal()] = (Long) row[1];
+        }
+        return counts;
+    }
+
+    /**
+     * Striped counters of one event, indexed by {@link RegistrationStatus#ordinal()}.
+     */
+    private static final class StatusCounters {
+
+        private final LongAdder[] byStatus = new LongAdder[STATUSES.length];
+        private final long loadedAt = System.nanoTime();
+
+        StatusCounters(long[] counts) {
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new LongAdder();
+                byStatus[i].add(counts[i]);
+            }
+        }
+
+        StatusCounters(EventRegistrationStats stats) {
+            this(new long[] {stats.getPendingCount(), stats.getConfirmedCount(), stats.getCancelledCount()});
+        }
+
+        void apply(RegistrationStatus previousStatus, RegistrationStatus newStatus) {
+            if (previousStatus != null) {
+                byStatus[previousStatus.ordinal()].decrement();
+            }
+            byStatus[newStatus.ordinal()].increment();
+        }
+
+        boolean isOlderThan(Duration ttl) {
+            return System.nanoTime() - loadedAt > ttl.toNanos();
+        }
+
+        EventRegistrationStatsResponse toResponse(Long eventId) {
+            long pending = byStatus[RegistrationStatus.PENDING.ordinal()].sum();
+            long confirmed = byStatus[RegistrationStatus.CONFIRMED.ordinal()].sum();
+            long cancelled = byStatus[RegistrationStatus.CANCELLED.ordinal()].sum();
+            return new EventRegistrationStatsResponse(eventId, pending, confirmed, cancelled,
+                    pending + confirmed + cancelled);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.bluecomet.event_planner.shard;
+
+import com.bluecomet.event_planner.model.entity.RegistrationIdSequence;
+import com.bluecomet.event_planner.repository.EventRegistrationRepository;
+import com.bluecomet.event_planner.repository.RegistrationIdSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+
+/**
+ * Hands out registration IDs that are unique across all shards.
+ * <p>
+ * IDs are reserved from the {@code registration_id_sequence} row of the primary database in blocks of
+ * {@code event-planner.sharding.id-block-size}, each reservation committed in its own transaction under a row
+ * lock, and then handed out from memory. The sequence is seeded from the highest ID found on any shard.
+ * </p>
+ * <p>
+ * IDs therefore increase per node but not strictly across nodes: a block reserved earlier may still be in use
+ * while a later one is. Keyset scans that catch up from the highest ID seen, such as the membership index,
+ * must look back by more than the IDs reserved but not yet used by all nodes together.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Slf4j
+@Component
+public class RegistrationIdAllocator {
+
+    static final String SEQUENCE = "event_registrations";
+
+    private final RegistrationIdSequenceRepository registrationIdSequenceRepository;
+    private final EventRegistrationRepository eventRegistrationRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate reservations;
+
+    @Value("${event-planner.sharding.id-block-size:100}")
+    private int blockSize;
+
+    private long nextId;
+    private long limit;
+
+    public RegistrationIdAllocator(RegistrationIdSequenceRepository registrationIdSequenceRepository,
+                                   EventRegistrationRepository eventRegistrationRepository,
+                                   ShardRouter shardRouter,
+                                   PlatformTransactionManager transactionManager) {
+        this.registrationIdSequenceRepository = registrationIdSequenceRepository;
+        this.eventRegistrationRepository = eventRegistrationRepository;
+        this.shardRouter = shardRouter;
+        this.reservations = new TransactionTemplate(transactionManager);
+        this.reservations.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @return the next registration ID
+     */
+    public synchronized long nextId() {
+        if (nextId == limit) {
+            nextId = reserveBlock();
+            limit = nextId + blockSize;
+        }
+        return nextId++;
+    }
+
+    private long reserveBlock() {
+        try {
+            return reservations.execute(status -> reserveBlock(registrationIdSequenceRepository.lockByName(SEQUENCE)
+                    .orElseGet(this::seed)));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Registration ID sequence was seeded concurrently by another node");
+            return reservations.execute(status -> reserveBlock(registrationIdSequenceRepository.lockByName(SEQUENCE)
+                    .orElseThrow()));
+        }
+    }
+
+    private long reserveBlock(RegistrationIdSequence sequence) {
+        long first = sequence.getNextId();
+        sequence.setNextId(first + blockSize);
+        return first;
+    }
+
+    private RegistrationIdSequence seed() {
+        long maxId = Collections.max(shardRouter.onAllShards(true, shard -> eventRegistrationRepository.findMaxId()));
+        log.info("Seeding the registration ID sequence after the highest existing ID {}", maxId);
+        return registrationIdSequenceRepository.saveAndFlush(new RegistrationIdSequence(SEQUENCE, maxId + 1));
+    }
+}
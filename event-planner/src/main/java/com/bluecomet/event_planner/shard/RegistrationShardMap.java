@@ -0,0 +1,201 @@
+package com.bluecomet.event_planner.shard;
+
+import com.bluecomet.event_planner.model.entity.RegistrationShardBucket;
+import com.bluecomet.event_planner.model.vo.ShardBucketState;
+import com.bluecomet.event_planner.repository.RegistrationShardBucketRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps events to the registration shard holding their registrations.
+ * <p>
+ * Events are hashed into {@code event-planner.sharding.buckets} fixed buckets, {@code eventId mod buckets}, and
+ * every bucket is assigned to one shard in the {@code registration_shard_buckets} table of the primary database.
+ * Moving data between shards therefore moves whole buckets and never re-hashes events. Every node caches the
+ * map and reloads it every {@code event-planner.sharding.map-refresh-interval}.
+ * </p>
+ * <p>
+ * The map is seeded on first start. If the primary database already holds registrations, every bucket stays on
+ * the {@value RegistrationShards#PRIMARY} shard until it is rebalanced; otherwise buckets are dealt out round
+ * robin over all configured shards. The number of buckets cannot change once the map is seeded.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegistrationShardMap {
+
+    private final RegistrationShardBucketRepository registrationShardBucketRepository;
+    private final RegistrationShards registrationShards;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${event-planner.sharding.buckets:1024}")
+    private int buckets;
+
+    private volatile Assignment assignment;
+
+    @PostConstruct
+    void load() {
+        List<RegistrationShardBucket> rows = registrationShardBucketRepository.findAll();
+        if (rows.isEmpty()) {
+            rows = seed();
+        }
+        assignment = toAssignment(rows);
+        log.info("Registration shard map loaded: {} buckets over shards {}", buckets, bucketCounts().keySet());
+    }
+
+    /**
+     * Picks up buckets moved by other nodes.
+     */
+    @Scheduled(
+        initialDelayString = "${event-planner.sharding.map-refresh-interval:PT10S}",
+        fixedDelayString = "${event-planner.sharding.map-refresh-interval:PT10S}"
+    )
+    public void refresh() {
+        try {
+            assignment = toAssignment(registrationShardBucketRepository.findAll());
+        } catch (RuntimeException e) {
+            log.error("Could not refresh the registration shard map, keeping the previous one", e);
+        }
+    }
+
+    public int bucketCount() {
+        return buckets;
+    }
+
+    public int bucketOf(Long eventId) {
+        return Math.floorMod(eventId, buckets);
+    }
+
+    public String shardOf(Long eventId) {
+        return assignment.shards()[bucketOf(eventId)];
+    }
+
+    public String shardOfBucket(int bucket) {
+        return assignment.shards()[checkBucket(bucket)];
+    }
+
+    public boolean isFrozen(int bucket) {
+        return assignment.frozen()[checkBucket(bucket)];
+    }
+
+    /**
+     * @return the buckets assigned to each configured shard, including shards without buckets
+     */
+    public Map<String, List<Integer>> bucketsByShard() {
+        Map<String, List<Integer>> byShard = new LinkedHashMap<>();
+        registrationShards.names().forEach(shard -> byShard.put(shard, new ArrayList<>()));
+        String[] shards = assignment.shards();
+        for (int bucket = 0; bucket < shards.length; bucket++) {
+            byShard.get(shards[bucket]).add(bucket);
+        }
+        return byShard;
+    }
+
+    /**
+     * @return the frozen buckets, in ascending order
+     */
+    public List<Integer> frozenBuckets() {
+        List<Integer> frozen = new ArrayList<>();
+        boolean[] flags = assignment.frozen();
+        for (int bucket = 0; bucket < flags.length; bucket++) {
+            if (flags[bucket]) {
+                frozen.add(bucket);
+            }
+        }
+        return frozen;
+    }
+
+    /**
+     * Assigns a bucket to a shard and state, and applies the change to this node's map right away. Other nodes
+     * apply it with their next refresh.
+     */
+    public void assign(int bucket, String shard, ShardBucketState state) {
+        checkBucket(bucket);
+        registrationShards.get(shard);
+        transactionTemplate.executeWithoutResult(status -> {
+            RegistrationShardBucket row = registrationShardBucketRepository.findById(bucket)
+                    .orElseThrow(() -> new IllegalStateException("Bucket " + bucket + " is missing from the shard map"));
+            row.setShard(shard);
+            row.setState(state);
+            row.setUpdatedAt(LocalDateTime.now());
+        });
+        refresh();
+        log.info("Registration bucket {} assigned to shard {} ({})", bucket, shard, state);
+    }
+
+    private Map<String, Integer> bucketCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        bucketsByShard().forEach((shard, assigned) -> counts.put(shard, assigned.size()));
+        return counts;
+    }
+
+    private int checkBucket(int bucket) {
+        if (bucket < 0 || bucket >= buckets) {
+            throw new IllegalArgumentException("Bucket must be between 0 and " + (buckets - 1));
+        }
+        return bucket;
+    }
+
+    private List<RegistrationShardBucket> seed() {
+        Long primaryMaxId = registrationShards.get(RegistrationShards.PRIMARY).jdbcTemplate().getJdbcTemplate()
+                .queryForObject("SELECT MAX(id) FROM event_registrations", Long.class);
+        List<String> shards = primaryMaxId != null ? List.of(RegistrationShards.PRIMARY)
+                : List.copyOf(registrationShards.names());
+        LocalDateTime now = LocalDateTime.now();
+        List<RegistrationShardBucket> rows = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            rows.add(RegistrationShardBucket.builder()
+                    .bucket(bucket)
+                    .shard(shards.get(bucket % shards.size()))
+                    .state(ShardBucketState.ACTIVE)
+                    .updatedAt(now)
+                    .build());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> registrationShardBucketRepository.saveAll(rows));
+            log.info("Seeded the registration shard map with {} buckets over shards {}", buckets, shards);
+            return rows;
+        } catch (DataIntegrityViolationException e) {
+            log.info("Registration shard map was seeded concurrently by another node");
+            return registrationShardBucketRepository.findAll();
+        }
+    }
+
+    private Assignment toAssignment(List<RegistrationShardBucket> rows) {
+        if (rows.size() != buckets) {
+            throw new IllegalStateException("The registration shard map has " + rows.size() + " buckets but "
+                    + "event-planner.sharding.buckets is " + buckets + "; the bucket count cannot change once seeded");
+        }
+        String[] shards = new String[buckets];
+        boolean[] frozen = new boolean[buckets];
+        for (RegistrationShardBucket row : rows) {
+            if (!registrationShards.contains(row.getShard())) {
+                throw new IllegalStateException("Bucket " + row.getBucket() + " is assigned to shard "
+                        + row.getShard() + ", which is not configured");
+            }
+            shards[row.getBucket()] = row.getShard();
+            frozen[row.getBucket()] = row.getState() == ShardBucketState.FROZEN;
+        }
+        return new Assignment(shards, frozen);
+    }
+
+    /**
+     * An immutable snapshot of the map, indexed by bucket.
+     */
+    private record Assignment(String[] shards, boolean[] frozen) {}
+}
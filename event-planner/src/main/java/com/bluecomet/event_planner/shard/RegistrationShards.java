@@ -0,0 +1,125 @@
+package com.bluecomet.event_planner.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The databases holding {@code event_registrations}, each with its own connection pool and persistence unit.
+ * <p>
+ * The {@value #PRIMARY} shard is the application's own database and always exists, so that registrations
+ * written before sharding was configured stay reachable; further shards are configured under
+ * {@code event-planner.sharding.shards}. Which events live on which shard is decided by
+ * {@link RegistrationShardMap}.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Slf4j
+public class RegistrationShards implements Closeable, SmartInitializingSingleton {
+
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, Shard> shards;
+    private final EntityManagerFactory routingEntityManagerFactory;
+
+    private volatile boolean bootstrapped;
+
+    public RegistrationShards(List<Shard> shards) {
+        Map<String, Shard> byName = new LinkedHashMap<>();
+        shards.forEach(shard -> byName.put(shard.name(), shard));
+        if (!byName.containsKey(PRIMARY)) {
+            throw new IllegalArgumentException("The " + PRIMARY + " registration shard is missing");
+        }
+        this.shards = Collections.unmodifiableMap(byName);
+        this.routingEntityManagerFactory = ShardRoutingEntityManagerFactory.create(this);
+    }
+
+    /**
+     * @return the shard names, {@value #PRIMARY} first
+     */
+    public Set<String> names() {
+        return shards.keySet();
+    }
+
+    public boolean contains(String name) {
+        return shards.containsKey(name);
+    }
+
+    public Shard get(String name) {
+        Shard shard = shards.get(name);
+        if (shard == null) {
+            throw new IllegalArgumentException("Unknown registration shard: " + name);
+        }
+        return shard;
+    }
+
+    /**
+     * @return the factory the registration repository is bound to, opening entity managers on the shard the
+     *         current call is routed to
+     */
+    public EntityManagerFactory routingEntityManagerFactory() {
+        return routingEntityManagerFactory;
+    }
+
+    /**
+     * Ends the bootstrap of the registration repository once all singletons exist. From then on, its entity
+     * managers can only be opened within a call routed through {@link ShardRouter}.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        bootstrapped = true;
+    }
+
+    /**
+     * @return whether the registration repository has been bootstrapped
+     */
+    boolean isBootstrapped() {
+        return bootstrapped;
+    }
+
+    @Override
+    public void close() {
+        for (Shard shard : shards.values()) {
+            shard.entityManagerFactory().close();
+            if (shard.ownsDataSource()) {
+                try {
+                    if (shard.dataSource().isWrapperFor(Closeable.class)) {
+                        shard.dataSource().unwrap(Closeable.class).close();
+                    }
+                } catch (SQLException | IOException e) {
+                    log.warn("Could not close the connection pool of registration shard {}", shard.name(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * One registration shard.
+     *
+     * @param name                  the shard name, as used in the shard map
+     * @param dataSource            the shard's connections
+     * @param entityManagerFactory  the shard's persistence unit, mapping {@code event_registrations} only
+     * @param jdbcTemplate          plain JDBC access for rebalancing
+     * @param ownsDataSource        whether the connection pool was created for the shard and is closed with it;
+     *                              the pool may be wrapped, e.g. for statement timing
+     */
+    public record Shard(
+        String name,
+        DataSource dataSource,
+        EntityManagerFactory entityManagerFactory,
+        NamedParameterJdbcTemplate jdbcTemplate,
+        boolean ownsDataSource
+    ) {}
+}
@@ -0,0 +1,37 @@
+package com.bluecomet.event_planner.shard;
+
+/**
+ * Holds the registration shard the current thread works on, as selected by {@link ShardRouter}.
+ *
+ * @author Priyansu
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the shard of the current thread, or {@code null} outside a routed call
+     */
+    static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Selects a shard for the current thread.
+     *
+     * @param shard the shard to select, or {@code null} to clear the selection
+     * @return the previously selected shard, to be restored once the routed call ends
+     */
+    static String select(String shard) {
+        String previous = CURRENT.get();
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,370 @@
+package com.bluecomet.event_planner.shard;
+
+import com.bluecomet.event_planner.model.exchange.RegistrationShardReport.BucketMove;
+import com.bluecomet.event_planner.model.exchange.RegistrationShardReport.BucketMoveResult;
+import com.bluecomet.event_planner.model.vo.ShardBucketState;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves the registrations of a bucket from one shard to another while the application keeps serving them.
+ * <p>
+ * A move copies the bucket event by event in chunks of {@code event-planner.sharding.rebalance.chunk-size}
+ * while writes still go to the source. It then freezes the bucket, so that writes to it are rejected, and waits
+ * {@code event-planner.sharding.rebalance.settle-time} for every node to pick up the change and for writes in
+ * flight to finish. The rows that changed during the copy are fixed up by comparing IDs and versions, the bucket
+ * is assigned to the target and, after another settle time during which nodes with the old map still read the
+ * source, the rows are deleted from the source. A move that fails before the switch unfreezes the bucket on the
+ * source and can simply be retried.
+ * </p>
+ * <p>
+ * The settle time must exceed {@code event-planner.sharding.map-refresh-interval}. Moves run one at a time on a
+ * single thread of this node; they should only be started from one node at a time.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardRebalancer {
+
+    private static final String SELECT_EVENTS =
+            "SELECT DISTINCT event_id FROM event_registrations WHERE MOD(event_id, :buckets) = :bucket";
+    private static final String SELECT_ROWS =
+            "SELECT id, version, event_id, user_id, registration_status, registered_at FROM event_registrations " +
+            "WHERE event_id = :eventId AND id > :afterId ORDER BY id LIMIT :limit";
+    private static final String SELECT_VERSIONS =
+            "SELECT id, version FROM event_registrations WHERE event_id = :eventId AND id > :afterId AND id <= :upTo";
+    private static final String SELECT_IDS =
+            "SELECT id FROM event_registrations WHERE event_id = :eventId ORDER BY id LIMIT :limit";
+    private static final String INSERT_ROW =
+            "INSERT INTO event_registrations (id, version, event_id, user_id, registration_status, registered_at) " +
+            "VALUES (:id, :version, :eventId, :userId, :status, :registeredAt)";
+    private static final String DELETE_IDS = "DELETE FROM event_registrations WHERE id IN (:ids)";
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(
+            rs.getLong("id"),
+            rs.getObject("version", Integer.class),
+            rs.getLong("event_id"),
+            rs.getLong("user_id"),
+            rs.getString("registration_status"),
+            rs.getObject("registered_at", LocalDateTime.class));
+
+    private final RegistrationShardMap registrationShardMap;
+    private final RegistrationShards registrationShards;
+
+    private final ExecutorService mover = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("registration-rebalancer").daemon().factory());
+    private final List<BucketMove> pendingMoves = new CopyOnWriteArrayList<>();
+    private volatile BucketMoveResult lastResult;
+
+    @Value("${event-planner.sharding.rebalance.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${event-planner.sharding.rebalance.settle-time:PT30S}")
+    private Duration settleTime;
+
+    @PreDestroy
+    void shutdown() {
+        mover.shutdownNow();
+    }
+
+    /**
+     * @return the moves started and not finished yet, the running one first
+     */
+    public List<BucketMove> pendingMoves() {
+        return List.copyOf(pendingMoves);
+    }
+
+    /**
+     * @return the outcome of the last finished move on this node
+     */
+    public Optional<BucketMoveResult> lastResult() {
+        return Optional.ofNullable(lastResult);
+    }
+
+    /**
+     * Queues the move of a bucket to another shard.
+     *
+     * @return the queued move
+     * @throws IllegalArgumentException if the bucket or the shard does not exist, or the bucket is already there
+     * @throws IllegalStateException    if the bucket is being moved already
+     */
+    public BucketMove startMove(int bucket, String target) {
+        BucketMove move = toMove(bucket, target);
+        submit(move);
+        return move;
+    }
+
+    /**
+     * Queues the moves that spread the buckets evenly over all shards, see {@link #plan()}.
+     *
+     * @return the queued moves
+     */
+    public List<BucketMove> startRebalance() {
+        List<BucketMove> moves = plan();
+        moves.forEach(this::submit);
+        log.info("Rebalancing registration shards with {} bucket moves", moves.size());
+        return moves;
+    }
+
+    /**
+     * Plans the fewest moves after which the bucket counts of any two shards differ by at most one. Frozen
+     * buckets are not moved.
+     *
+     * @return the moves, in the order they should run
+     */
+    public List<BucketMove> plan() {
+        Set<Integer> frozen = new HashSet<>(registrationShardMap.frozenBuckets());
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, Deque<Integer>> movable = new LinkedHashMap<>();
+        registrationShardMap.bucketsByShard().forEach((shard, buckets) -> {
+            counts.put(shard, buckets.size());
+            movable.put(shard, new ArrayDeque<>(buckets.stream().filter(bucket -> !frozen.contains(bucket)).toList()));
+        });
+
+        List<BucketMove> moves = new ArrayList<>();
+        while (true) {
+            String fullest = Collections.max(counts.entrySet(), Map.Entry.comparingByValue()).getKey();
+            String emptiest = Collections.min(counts.entrySet(), Map.Entry.comparingByValue()).getKey();
+            if (counts.get(fullest) - counts.get(emptiest) <= 1 || movable.get(fullest).isEmpty()) {
+                return moves;
+            }
+            moves.add(new BucketMove(movable.get(fullest).pollLast(), fullest, emptiest));
+            counts.merge(fullest, -1, Integer::sum);
+            counts.merge(emptiest, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Moves a bucket to another shard on the calling thread.
+     *
+     * @return the outcome of the move; failures are reported in it rather than thrown
+     */
+    public synchronized BucketMoveResult move(int bucket, String target) {
+        long started = System.nanoTime();
+        BucketMove move = null;
+        long copied = 0L;
+        long reconciled = 0L;
+        long deleted = 0L;
+        boolean frozen = false;
+        String error = null;
+        try {
+            move = toMove(bucket, target);
+            RegistrationShards.Shard source = registrationShards.get(move.source());
+            RegistrationShards.Shard destination = registrationShards.get(target);
+            log.info("Moving registration bucket {} from shard {} to shard {}", bucket, move.source(), target);
+
+            // Leftovers of an earlier, failed move of the bucket to the same shard
+            for (Long eventId : eventsOf(destination, bucket)) {
+                deleteEvent(destination, eventId);
+            }
+            for (Long eventId : eventsOf(source, bucket)) {
+                copied += copyEvent(source, destination, eventId);
+            }
+
+            registrationShardMap.assign(bucket, move.source(), ShardBucketState.FROZEN);
+            frozen = true;
+            Thread.sleep(settleTime);
+
+            Set<Long> eventIds = new TreeSet<>(eventsOf(source, bucket));
+            eventIds.addAll(eventsOf(destination, bucket));
+            for (Long eventId : eventIds) {
+                reconciled += reconcileEvent(source, destination, eventId);
+            }
+
+            registrationShardMap.assign(bucket, target, ShardBucketState.ACTIVE);
+            frozen = false;
+            Thread.sleep(settleTime);
+
+            for (Long eventId : eventsOf(source, bucket)) {
+                deleted += deleteEvent(source, eventId);
+            }
+            log.info("Moved registration bucket {} to shard {}: {} rows copied, {} reconciled, {} deleted",
+                    bucket, target, copied, reconciled, deleted);
+        } catch (InterruptedException | RuntimeException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            log.error("Moving registration bucket {} to shard {} failed", bucket, target, e);
+            if (frozen) {
+                unfreeze(move);
+            }
+        }
+        BucketMoveResult result = new BucketMoveResult(move != null ? move : new BucketMove(bucket, null, target),
+                copied, reconciled, deleted, Instant.now(), Duration.ofNanos(System.nanoTime() - started), error);
+        lastResult = result;
+        return result;
+    }
+
+    private void submit(BucketMove move) {
+        pendingMoves.add(move);
+        mover.execute(() -> {
+            try {
+                move(move.bucket(), move.target());
+            } finally {
+                pendingMoves.remove(move);
+            }
+        });
+    }
+
+    private BucketMove toMove(int bucket, String target) {
+        registrationShards.get(target);
+        String source = registrationShardMap.shardOfBucket(bucket);
+        if (source.equals(target)) {
+            throw new IllegalArgumentException("Bucket " + bucket + " is already on shard " + target);
+        }
+        if (registrationShardMap.isFrozen(bucket)) {
+            throw new IllegalStateException("Bucket " + bucket + " is being moved already");
+        }
+        return new BucketMove(bucket, source, target);
+    }
+
+    private void unfreeze(BucketMove move) {
+        try {
+            registrationShardMap.assign(move.bucket(), move.source(), ShardBucketState.ACTIVE);
+        } catch (RuntimeException e) {
+            log.error("Could not unfreeze registration bucket {} on shard {}; unfreeze it in the shard map",
+                    move.bucket(), move.source(), e);
+        }
+    }
+
+    private List<Long> eventsOf(RegistrationShards.Shard shard, int bucket) {
+        return shard.jdbcTemplate().queryForList(SELECT_EVENTS, new MapSqlParameterSource()
+                .addValue("buckets", registrationShardMap.bucketCount())
+                .addValue("bucket", bucket), Long.class);
+    }
+
+    private long copyEvent(RegistrationShards.Shard source, RegistrationShards.Shard target, long eventId) {
+        long copied = 0L;
+        long afterId = 0L;
+        List<Row> rows;
+        do {
+            rows = readRows(source, eventId, afterId);
+            insertRows(target, rows);
+            copied += rows.size();
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).id();
+            }
+        } while (rows.size() == chunkSize);
+        return copied;
+    }
+
+    /**
+     * Makes the rows of an event on the target equal to those on the source, one window of source IDs at a time.
+     *
+     * @return the number of rows inserted, replaced or deleted on the target
+     */
+    private long reconcileEvent(RegistrationShards.Shard source, RegistrationShards.Shard target, long eventId) {
+        long fixed = 0L;
+        long afterId = 0L;
+        List<Row> rows;
+        do {
+            rows = readRows(source, eventId, afterId);
+            long upTo = rows.size() < chunkSize ? Long.MAX_VALUE : rows.get(rows.size() - 1).id();
+            Map<Long, Integer> targetVersions = new HashMap<>();
+            target.jdbcTemplate().query(SELECT_VERSIONS, new MapSqlParameterSource()
+                            .addValue("eventId", eventId)
+                            .addValue("afterId", afterId)
+                            .addValue("upTo", upTo),
+                    rs -> {
+                        targetVersions.put(rs.getLong("id"), rs.getObject("version", Integer.class));
+                    });
+
+            List<Row> changed = new ArrayList<>();
+            List<Long> stale = new ArrayList<>();
+            for (Row row : rows) {
+                boolean present = targetVersions.containsKey(row.id());
+                if (!present || !Objects.equals(targetVersions.remove(row.id()), row.version())) {
+                    changed.add(row);
+                    if (present) {
+                        stale.add(row.id());
+                    }
+                }
+            }
+            fixed += changed.size() + targetVersions.size();
+            stale.addAll(targetVersions.keySet());
+            deleteIds(target, stale);
+            insertRows(target, changed);
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).id();
+            }
+        } while (rows.size() == chunkSize);
+        return fixed;
+    }
+
+    private long deleteEvent(RegistrationShards.Shard shard, long eventId) {
+        long deleted = 0L;
+        List<Long> ids;
+        do {
+            ids = shard.jdbcTemplate().queryForList(SELECT_IDS, new MapSqlParameterSource()
+                    .addValue("eventId", eventId)
+                    .addValue("limit", chunkSize), Long.class);
+            deleteIds(shard, ids);
+            deleted += ids.size();
+        } while (ids.size() == chunkSize);
+        return deleted;
+    }
+
+    private List<Row> readRows(RegistrationShards.Shard shard, long eventId, long afterId) {
+        return shard.jdbcTemplate().query(SELECT_ROWS, new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("afterId", afterId)
+                .addValue("limit", chunkSize), ROW_MAPPER);
+    }
+
+    private void insertRows(RegistrationShards.Shard shard, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = rows.stream()
+                .map(row -> new MapSqlParameterSource()
+                        .addValue("id", row.id())
+                        .addValue("version", row.version())
+                        .addValue("eventId", row.eventId())
+                        .addValue("userId", row.userId())
+                        .addValue("status", row.status())
+                        .addValue("registeredAt", row.registeredAt()))
+                .toArray(SqlParameterSource[]::new);
+        shard.jdbcTemplate().batchUpdate(INSERT_ROW, batch);
+    }
+
+    private void deleteIds(RegistrationShards.Shard shard, List<Long> ids) {
+        if (!ids.isEmpty()) {
+            shard.jdbcTemplate().update(DELETE_IDS, new MapSqlParameterSource("ids", ids));
+        }
+    }
+
+    /**
+     * A registration row as stored, copied between shards without going through the entity.
+     */
+    private record Row(long id, Integer version, long eventId, long userId, String status, LocalDateTime registeredAt) {}
+}
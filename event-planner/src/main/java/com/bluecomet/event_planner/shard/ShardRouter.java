@@ -0,0 +1,218 @@
+package com.bluecomet.event_planner.shard;
+
+import com.bluecomet.event_planner.exception.ShardUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Routes work on {@code event_registrations} to the shard holding the registrations of an event.
+ * <p>
+ * Work on one shard runs in a transaction of the {@code registrationTransactionManager} on that shard, which the
+ * registration repository joins. Such a transaction may be nested in a transaction of the primary database,
+ * and commits before it. Routing to another shard from within a routed call starts a separate transaction on
+ * that shard; there is no atomicity across databases.
+ * </p>
+ * <p>
+ * Work that is not keyed by event, such as the registrations of a user, is scattered to the shards in parallel
+ * on virtual threads and gathered within {@code event-planner.sharding.scatter-timeout}. Writes to a bucket that
+ * is being moved to another shard are rejected with a {@link ShardUnavailableException}.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@Component
+public class ShardRouter {
+
+    private final RegistrationShardMap registrationShardMap;
+    private final RegistrationShards registrationShards;
+    private final PlatformTransactionManager registrationTransactionManager;
+
+    private final ExecutorService scatter = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${event-planner.sharding.scatter-timeout:PT5S}")
+    private Duration scatterTimeout;
+
+    public ShardRouter(RegistrationShardMap registrationShardMap,
+                       RegistrationShards registrationShards,
+                       @Qualifier("registrationTransactionManager") PlatformTransactionManager registrationTransactionManager) {
+        this.registrationShardMap = registrationShardMap;
+        this.registrationShards = registrationShards;
+        this.registrationTransactionManager = registrationTransactionManager;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scatter.shutdownNow();
+    }
+
+    /**
+     * @return the names of all shards
+     */
+    public Set<String> shardNames() {
+        return registrationShards.names();
+    }
+
+    /**
+     * Runs read-only work on the shard of an event.
+     */
+    public <T> T readOnShardOf(Long eventId, TransactionCallback<T> work) {
+        return onShard(registrationShardMap.shardOf(eventId), true, work);
+    }
+
+    /**
+     * Runs work on the shard of an event.
+     *
+     * @throws ShardUnavailableException if the event's bucket is being moved to another shard
+     */
+    public <T> T writeOnShardOf(Long eventId, TransactionCallback<T> work) {
+        return onShard(writableShardOf(eventId), false, work);
+    }
+
+    /**
+     * Returns the shard to write the registrations of an event to.
+     *
+     * @throws ShardUnavailableException if the event's bucket is being moved to another shard
+     */
+    public String writableShardOf(Long eventId) {
+        checkWritable(List.of(eventId));
+        return registrationShardMap.shardOf(eventId);
+    }
+
+    /**
+     * Checks that none of the events' buckets is being moved to another shard.
+     *
+     * @throws ShardUnavailableException if one of them is
+     */
+    public void checkWritable(Collection<Long> eventIds) {
+        for (Long eventId : eventIds) {
+            if (registrationShardMap.isFrozen(registrationShardMap.bucketOf(eventId))) {
+                throw new ShardUnavailableException("Registrations of event ID " + eventId
+                        + " are being moved to another shard, please retry shortly.");
+            }
+        }
+    }
+
+    /**
+     * Tells whether a shard holds the registrations of an event. Registrations of the event found on any other
+     * shard are copies left by a bucket move in progress and must be ignored.
+     */
+    public boolean holds(String shard, Long eventId) {
+        return registrationShardMap.shardOf(eventId).equals(shard);
+    }
+
+    /**
+     * Groups events by the shard holding their registrations.
+     *
+     * @return the event IDs per shard, for the shards holding any of them
+     */
+    public Map<String, List<Long>> groupByShard(Collection<Long> eventIds) {
+        Map<String, List<Long>> byShard = new LinkedHashMap<>();
+        for (Long eventId : eventIds) {
+            byShard.computeIfAbsent(registrationShardMap.shardOf(eventId), shard -> new ArrayList<>()).add(eventId);
+        }
+        return byShard;
+    }
+
+    /**
+     * Runs work on a shard, joining the transaction of the current thread if it is on the same shard.
+     *
+     * @param shard    the shard to run on
+     * @param readOnly whether the work only reads
+     * @param work     the work, given the status of the shard transaction
+     * @return the result of the work
+     */
+    public <T> T onShard(String shard, boolean readOnly, TransactionCallback<T> work) {
+        registrationShards.get(shard);
+        String previous = ShardContext.select(shard);
+        try {
+            DefaultTransactionDefinition definition = new DefaultTransactionDefinition(
+                    previous == null || previous.equals(shard)
+                            ? TransactionDefinition.PROPAGATION_REQUIRED
+                            : TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            definition.setReadOnly(readOnly);
+            return new TransactionTemplate(registrationTransactionManager, definition).execute(work);
+        } finally {
+            ShardContext.select(previous);
+        }
+    }
+
+    /**
+     * Runs work on every shard in parallel and gathers the results.
+     *
+     * @see #onShards(Collection, boolean, Function)
+     */
+    public <T> List<T> onAllShards(boolean readOnly, Function<String, T> work) {
+        return onShards(registrationShards.names(), readOnly, work);
+    }
+
+    /**
+     * Runs work on several shards in parallel, each in its own shard transaction, and gathers the results. Work on
+     * a single shard runs on the calling thread.
+     *
+     * @param shards   the shards to run on
+     * @param readOnly whether the work only reads
+     * @param work     the work, given the shard it runs on
+     * @return the results, in the order of {@code shards}
+     * @throws ShardUnavailableException if a shard does not answer within the scatter timeout
+     */
+    public <T> List<T> onShards(Collection<String> shards, boolean readOnly, Function<String, T> work) {
+        if (shards.size() == 1) {
+            String shard = shards.iterator().next();
+            return Collections.singletonList(onShard(shard, readOnly, status -> work.apply(shard)));
+        }
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        for (String shard : shards) {
+            futures.put(shard, scatter.submit(() -> onShard(shard, readOnly, status -> work.apply(shard))));
+        }
+        long deadline = System.nanoTime() + scatterTimeout.toNanos();
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Map.Entry<String, Future<T>> future : futures.entrySet()) {
+                results.add(gather(future.getKey(), future.getValue(), deadline));
+            }
+        } finally {
+            futures.values().forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+    private <T> T gather(String shard, Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ShardUnavailableException("Registration shard " + shard + " did not answer within "
+                    + scatterTimeout, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Work on registration shard " + shard + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ShardUnavailableException("Interrupted while waiting for registration shard " + shard, e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.bluecomet.event_planner.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * {@link EntityManagerFactory} of the registration repository that opens every entity manager on the shard
+ * selected in {@link ShardContext}. Transactions bind the entity manager they open, so a routed transaction
+ * stays on its shard until it ends.
+ * <p>
+ * Everything else, such as the metamodel used by Spring Data, is served by the primary shard; all shards map the
+ * same entities. Outside a routed call, entity managers are opened on the primary shard only while the repository
+ * is bootstrapped, for query validation; afterwards they fail with an {@link IllegalStateException}, so that a call
+ * bypassing {@link ShardRouter} cannot silently read or write the primary shard. The shard factories are closed
+ * by {@link RegistrationShards}, so closing this one does nothing.
+ * </p>
+ *
+ * @author Priyansu
+ */
+final class ShardRoutingEntityManagerFactory implements InvocationHandler {
+
+    private final RegistrationShards shards;
+
+    private ShardRoutingEntityManagerFactory(RegistrationShards shards) {
+        this.shards = shards;
+    }
+
+    static EntityManagerFactory create(RegistrationShards shards) {
+        return (EntityManagerFactory) Proxy.newProxyInstance(EntityManagerFactory.class.getClassLoader(),
+                new Class<?>[] {EntityManagerFactory.class}, new ShardRoutingEntityManagerFactory(shards));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Registration EntityManagerFactory routed over shards " + shards.names();
+            case "close":
+                return null;
+            default:
+                break;
+        }
+        String shard = RegistrationShards.PRIMARY;
+        if (method.getName().equals("createEntityManager")) {
+            shard = ShardContext.current();
+            if (shard == null) {
+                if (shards.isBootstrapped()) {
+                    throw new IllegalStateException("No registration shard selected: the registration repository "
+                            + "must be called through ShardRouter");
+                }
+                shard = RegistrationShards.PRIMARY;
+            }
+        }
+        EntityManagerFactory target = shards.get(shard).entityManagerFactory();
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
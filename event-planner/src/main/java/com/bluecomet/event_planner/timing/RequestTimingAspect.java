@@ -0,0 +1,52 @@
+package com.bluecomet.event_planner.timing;
+
+import com.bluecomet.event_planner.timing.RequestTimings.Phase;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attributes the time of each call into the controller, service, repository and mapper layers to the
+ * matching {@link Phase} of the current {@link RequestTimings}. Calls made outside a timed request, such as
+ * scheduled jobs, pass straight through.
+ *
+ * @author Priyansu
+ */
+@Aspect
+@Component
+public class RequestTimingAspect {
+
+    @Around("within(com.bluecomet.event_planner.resource..*)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Phase.CONTROLLER, joinPoint);
+    }
+
+    @Around("within(com.bluecomet.event_planner.service..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Phase.SERVICE, joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Phase.REPOSITORY, joinPoint);
+    }
+
+    @Around("within(com.bluecomet.event_planner.mapper..*)")
+    public Object timeMapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Phase.MAPPING, joinPoint);
+    }
+
+    private static Object time(Phase phase, ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return joinPoint.proceed();
+        }
+        timings.enter(phase);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timings.exit();
+        }
+    }
+}
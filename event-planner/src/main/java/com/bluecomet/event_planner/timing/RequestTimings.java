@@ -0,0 +1,106 @@
+package com.bluecomet.event_planner.timing;
+
+import java.util.Arrays;
+
+/**
+ * Exclusive time spent by the current request in each application layer.
+ * <p>
+ * Phases nest: a controller calls a service, which calls repositories and mappers. Only the innermost open
+ * phase accumulates time, so each phase reports its own work without that of the layers it called. Time not
+ * attributed to any phase, such as filters and security, is reported as {@code other}.
+ * </p>
+ * <p>
+ * Instances are confined to the request thread and are reached through {@link #current()}, which is
+ * {@code null} outside a request timed by {@link com.bluecomet.event_planner.filter.ServerTimingFilter}.
+ * </p>
+ *
+ * @author Priyansu
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    public enum Phase {
+        CONTROLLER("controller"),
+        SERVICE("service"),
+        REPOSITORY("db"),
+        MAPPING("mapping"),
+        SERIALIZATION("serialization");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private final long startNanos;
+    private final long[] exclusiveNanos = new long[PHASES.length];
+    private Phase[] open = new Phase[8];
+    private int depth;
+    private long markNanos;
+
+    private RequestTimings(long startNanos) {
+        this.startNanos = startNanos;
+        this.markNanos = startNanos;
+    }
+
+    /**
+     * Starts timing a request on the current thread.
+     */
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings(System.nanoTime());
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void enter(Phase phase) {
+        long now = System.nanoTime();
+        if (depth > 0) {
+            exclusiveNanos[open[depth - 1].ordinal()] += now - markNanos;
+        }
+        if (depth == open.length) {
+            open = Arrays.copyOf(open, depth * 2);
+        }
+        open[depth++] = phase;
+        markNanos = now;
+    }
+
+    public void exit() {
+        long now = System.nanoTime();
+        exclusiveNanos[open[--depth].ordinal()] += now - markNanos;
+        markNanos = now;
+    }
+
+    public long exclusiveNanos(Phase phase) {
+        return exclusiveNanos[phase.ordinal()];
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Time of the request so far that no phase accounts for.
+     */
+    public long otherNanos(long elapsedNanos) {
+        long attributed = 0;
+        for (long nanos : exclusiveNanos) {
+            attributed += nanos;
+        }
+        return Math.max(0, elapsedNanos - attributed);
+    }
+}
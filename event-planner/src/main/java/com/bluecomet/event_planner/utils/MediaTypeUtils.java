@@ -0,0 +1,47 @@
+package com.bluecomet.event_planner.utils;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for content negotiation in handlers that write the response body themselves.
+ *
+ * @author Priyansu
+ */
+public class MediaTypeUtils {
+    private MediaTypeUtils() {}
+
+    /**
+     * Selects the producible media type preferred by an {@code Accept} header.
+     * <p>
+     * Accepted types are tried by quality and then specificity, so {@code application/cbor} wins over a
+     * wildcard. A missing header or one that only matches by wildcard selects the first producible type. The
+     * handler mapping has already answered 406 if none of the producible types is acceptable.
+     * </p>
+     *
+     * @param accept     the value of the {@code Accept} header, may be {@code null}
+     * @param producible the media types the handler can produce, the default first
+     * @return the media type to write
+     */
+    public static MediaType negotiate(String accept, List<MediaType> producible) {
+        if (accept == null || accept.isBlank()) {
+            return producible.get(0);
+        }
+        List<MediaType> acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType candidate : acceptable) {
+            if (candidate.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType mediaType : producible) {
+                if (candidate.isCompatibleWith(mediaType)) {
+                    return mediaType;
+                }
+            }
+        }
+        return producible.get(0);
+    }
+}
@@ -6,5 +6,8 @@ CREATE TABLE IF NOT EXISTS events (
     event_datetime DATETIME NOT NULL,
     status VARCHAR(20) NOT NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_event_updated_at (updated_at),
+    INDEX idx_event_status_datetime (status, event_datetime),
+    INDEX idx_event_datetime (event_datetime)
 );
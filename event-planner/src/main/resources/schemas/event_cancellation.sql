@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS event_cancellations (
+    event_id BIGINT PRIMARY KEY,
+    version INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    last_registration_id BIGINT NOT NULL,
+    cancelled_registrations BIGINT NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP NULL,
+    FOREIGN KEY (event_id) REFERENCES events(event_id) ON DELETE CASCADE
+);
@@ -1,8 +1,12 @@
+-- Created on every registration shard. IDs come from registration_id_sequence in the primary database, and
+-- events live in the primary database only, so there is no auto-increment and no foreign key to events.
 CREATE TABLE IF NOT EXISTS event_registrations (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
+    version INT NOT NULL,
     event_id BIGINT NOT NULL,
     user_id BIGINT NOT NULL,
     registration_status VARCHAR(20) NOT NULL,
     registered_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (event_id) REFERENCES events(event_id) ON DELETE CASCADE
+    CONSTRAINT uk_registration_user_event UNIQUE (user_id, event_id),
+    INDEX idx_registration_event (event_id)
 );
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS event_registration_stats (
+    event_id BIGINT PRIMARY KEY,
+    pending_count BIGINT NOT NULL DEFAULT 0,
+    confirmed_count BIGINT NOT NULL DEFAULT 0,
+    cancelled_count BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (event_id) REFERENCES events(event_id) ON DELETE CASCADE
+);
@@ -0,0 +1,19 @@
+-- Registrations of archived events, carrying their event's date so they share its partition.
+CREATE TABLE IF NOT EXISTS event_registrations_archive (
+    id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    registration_status VARCHAR(20) NOT NULL,
+    registered_at TIMESTAMP NOT NULL,
+    event_datetime DATETIME NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, event_datetime),
+    INDEX idx_registration_archive_event (event_id),
+    INDEX idx_registration_archive_user (user_id)
+)
+PARTITION BY RANGE COLUMNS (event_datetime) (
+    PARTITION p2024 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p2026 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
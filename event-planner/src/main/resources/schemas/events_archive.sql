@@ -0,0 +1,23 @@
+-- Completed and cancelled events moved out of `events` by the archival job.
+-- Partitioned by event date; the partitioning column must be part of every unique key,
+-- and the table has no foreign keys, both of which rule out partitioning `events` itself.
+-- A partition per year is added ahead of time by the archival job.
+CREATE TABLE IF NOT EXISTS events_archive (
+    event_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    location VARCHAR(200) NOT NULL,
+    event_datetime DATETIME NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (event_id, event_datetime),
+    INDEX idx_event_archive_status (status, event_datetime)
+)
+PARTITION BY RANGE COLUMNS (event_datetime) (
+    PARTITION p2024 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p2026 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
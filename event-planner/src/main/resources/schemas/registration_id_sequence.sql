@@ -0,0 +1,4 @@
+CREATE TABLE IF NOT EXISTS registration_id_sequence (
+    sequence_name VARCHAR(64) PRIMARY KEY,
+    next_id BIGINT NOT NULL
+);
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS registration_shard_buckets (
+    bucket INT PRIMARY KEY,
+    version INT NOT NULL,
+    shard VARCHAR(64) NOT NULL,
+    state VARCHAR(20) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
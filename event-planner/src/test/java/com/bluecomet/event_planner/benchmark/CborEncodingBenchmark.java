@@ -0,0 +1,142 @@
+package com.bluecomet.event_planner.benchmark;
+
+import com.bluecomet.event_planner.mapper.EventJsonWriter;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON with CBOR for the event payloads, per element, on each path that produces them:
+ * <ul>
+ *     <li>{@code writeList} and {@code writePage}: the message converters, serializing a list and a page;</li>
+ *     <li>{@code streamingWriter}: {@link EventJsonWriter} as used by the {@code /stream} endpoints;</li>
+ *     <li>{@code readList}: a client decoding the list.</li>
+ * </ul>
+ * The {@link #main} method first prints the encoded size of the list in each format, then runs the benchmarks.
+ * Add {@code -prof gc} to the options to compare allocation rates as well.
+ *
+ * @author Priyansu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CborEncodingBenchmark {
+
+    private static final int ELEMENTS = 1_000;
+    private static final TypeReference<List<EventResponse>> EVENT_LIST = new TypeReference<>() {};
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    private ObjectMapper objectMapper;
+    private EventJsonWriter eventJsonWriter;
+    private MediaType mediaType;
+    private EventResponse[] events;
+    private List<EventResponse> list;
+    private PageImpl<EventResponse> page;
+    private byte[] encodedList;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = objectMapper("cbor".equals(format) ? new CBORFactory() : new JsonFactory());
+        eventJsonWriter = new EventJsonWriter(objectMapper(new JsonFactory()));
+        mediaType = "cbor".equals(format) ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON;
+        events = events();
+        list = List.of(events);
+        page = new PageImpl<>(list, PageRequest.of(0, ELEMENTS), 10L * ELEMENTS);
+        encodedList = objectMapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void writeList() throws IOException {
+        objectMapper.writeValue(out, list);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void writePage() throws IOException {
+        objectMapper.writeValue(out, page);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void streamingWriter() throws IOException {
+        eventJsonWriter.writeArray(Arrays.stream(events), mediaType, out);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public List<EventResponse> readList() throws IOException {
+        return objectMapper.readValue(encodedList, EVENT_LIST);
+    }
+
+    private static ObjectMapper objectMapper(JsonFactory factory) {
+        return new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static EventResponse[] events() {
+        LocalDateTime eventDateTime = LocalDateTime.of(2026, 6, 1, 18, 30);
+        EventResponse[] events = new EventResponse[ELEMENTS];
+        for (int i = 0; i < ELEMENTS; i++) {
+            events[i] = new EventResponse((long) i, "Event " + i, "Bhubaneswar", eventDateTime.plusMinutes(i),
+                    "Description of event " + i, EventStatus.values()[i % EventStatus.values().length]);
+        }
+        return events;
+    }
+
+    private static void printPayloadSizes() throws IOException {
+        EventJsonWriter writer = new EventJsonWriter(objectMapper(new JsonFactory()));
+        for (MediaType mediaType : List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR)) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            writer.writeArray(Arrays.stream(events()), mediaType, encoded);
+            System.out.printf("%-16s %8d B for %d events, %6.1f B/event%n",
+                    mediaType, encoded.size(), ELEMENTS, (double) encoded.size() / ELEMENTS);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        printPayloadSizes();
+        new Runner(new OptionsBuilder()
+                .include(CborEncodingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
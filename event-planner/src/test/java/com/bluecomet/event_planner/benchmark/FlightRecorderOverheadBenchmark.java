@@ -0,0 +1,111 @@
+package com.bluecomet.event_planner.benchmark;
+
+import com.bluecomet.event_planner.model.exchange.EventRequest;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the continuous flight recording kept by
+ * {@link com.bluecomet.event_planner.service.impl.FlightRecorderService}.
+ * <p>
+ * The workload approximates the CPU and allocation profile of a listing request: it reads an event request
+ * and writes a page of twenty events as JSON. It runs with no recording, and under the {@code default} and
+ * {@code profile} settings with the same rolling limits as the service. The overhead of a setting is
+ * {@code 1 - throughput(setting) / throughput(none)}. The {@link #main} method writes the results to
+ * {@code target/FlightRecorderOverheadBenchmark.json}; record the overhead in the README together with the JDK
+ * version and hardware it was measured on. The four benchmark threads need at least four cores, otherwise the
+ * recorder's own threads compete with the workload and inflate the figure.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+@Threads(4)
+public class FlightRecorderOverheadBenchmark {
+
+    @Param({"none", "default", "profile"})
+    private String settings;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private Recording recording;
+    private List<EventResponse> page;
+    private byte[] requestJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        LocalDateTime eventDateTime = LocalDateTime.of(2026, 6, 1, 18, 30);
+        page = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            page.add(new EventResponse(id, "Event " + id, "Bhubaneswar", eventDateTime.plusDays(id),
+                    "Description of event " + id, EventStatus.UPCOMING));
+        }
+        requestJson = objectMapper.writeValueAsBytes(new EventRequest("Event", "Bhubaneswar", eventDateTime,
+                "Description", EventStatus.UPCOMING));
+
+        if (!"none".equals(settings)) {
+            recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setToDisk(true);
+            recording.setMaxAge(Duration.ofMinutes(30));
+            recording.setMaxSize(100L * 1024 * 1024);
+            recording.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] listingRequest() throws Exception {
+        EventRequest request = objectMapper.readValue(requestJson, EventRequest.class);
+        return request.getName() == null ? null : objectMapper.writeValueAsBytes(page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FlightRecorderOverheadBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/FlightRecorderOverheadBenchmark.json")
+                .build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+package com.bluecomet.event_planner.benchmark;
+
+import com.bluecomet.event_planner.exception.BusinessException;
+import com.bluecomet.event_planner.model.exchange.ApiErrorResponse;
+import com.bluecomet.event_planner.model.vo.Outcome;
+import com.bluecomet.event_planner.model.vo.Rejection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of rejecting a request for an unknown event, from the service call down to the error body.
+ * <ul>
+ *     <li>{@code legacyException}: the previous path, an exception with a full stack trace and an eagerly
+ *     concatenated message;</li>
+ *     <li>{@code stacklessException}: the same exception flow using a {@link BusinessException};</li>
+ *     <li>{@code outcome}: the {@link Outcome} path, where nothing is thrown.</li>
+ * </ul>
+ * The rejection is raised {@code depth} frames below the caller to approximate the controller, proxy and
+ * service frames that a real stack trace would capture.
+ * <p>
+ * {@code legacyException} is the before figure and the two others the after figures, so a single run gives
+ * both. The {@link #main} method adds the GC profiler to compare allocation rates and writes the results to
+ * {@code target/RejectionPathBenchmark.json}; see the README for the command line and where to record them.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RejectionPathBenchmark {
+
+    private static final String PATH = "/api/v1/events/42";
+
+    @Param({"16", "96"})
+    private int depth;
+
+    private Long eventId = 42L;
+
+    /**
+     * Stand-in for the exceptions as they were before {@link BusinessException}: stack trace captured on creation.
+     */
+    private static final class LegacyEventNotFoundException extends RuntimeException {
+        LegacyEventNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    @Benchmark
+    public ApiErrorResponse legacyException() {
+        try {
+            throwLegacy(depth);
+            throw new AssertionError("unreachable");
+        } catch (LegacyEventNotFoundException ex) {
+            return errorBody(HttpStatus.NOT_FOUND, ex.getMessage());
+        }
+    }
+
+    @Benchmark
+    public ApiErrorResponse stacklessException() {
+        try {
+            throwStackless(depth);
+            throw new AssertionError("unreachable");
+        } catch (BusinessException ex) {
+            return errorBody(HttpStatus.NOT_FOUND, ex.getMessage());
+        }
+    }
+
+    @Benchmark
+    public ApiErrorResponse outcome() {
+        Outcome<Object> outcome = returnFailure(depth);
+        if (outcome instanceof Outcome.Failure<Object> failure) {
+            return errorBody(failure.rejection().getStatus(), failure.message());
+        }
+        throw new AssertionError("unreachable");
+    }
+
+    private void throwLegacy(int remaining) {
+        if (remaining == 0) {
+            throw new LegacyEventNotFoundException("Event with ID: " + eventId + " not found");
+        }
+        throwLegacy(remaining - 1);
+    }
+
+    private void throwStackless(int remaining) {
+        if (remaining == 0) {
+            throw Rejection.EVENT_NOT_FOUND.toException(eventId);
+        }
+        throwStackless(remaining - 1);
+    }
+
+    private Outcome<Object> returnFailure(int remaining) {
+        if (remaining == 0) {
+            return Outcome.failure(Rejection.EVENT_NOT_FOUND, eventId);
+        }
+        return returnFailure(remaining - 1);
+    }
+
+    private static ApiErrorResponse errorBody(HttpStatus status, String message) {
+        return ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(PATH)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RejectionPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/RejectionPathBenchmark.json")
+                .build()).run();
+    }
+}
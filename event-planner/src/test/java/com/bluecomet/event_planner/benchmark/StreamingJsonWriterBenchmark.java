@@ -0,0 +1,94 @@
+package com.bluecomet.event_planner.benchmark;
+
+import com.bluecomet.event_planner.mapper.EventJsonWriter;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing events as JSON through bean serialization of a materialized list, as the list endpoints do,
+ * with {@link EventJsonWriter} streaming them one by one.
+ * <p>
+ * Each invocation writes {@value #ELEMENTS} events and is normalized per element, so with the GC profiler, which
+ * {@link #main} enables, {@code gc.alloc.rate.norm} is the number of bytes allocated per element. The list variant
+ * includes building the list, which the endpoints also pay; the source records themselves are shared by both.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StreamingJsonWriterBenchmark {
+
+    private static final int ELEMENTS = 1_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final EventJsonWriter eventJsonWriter = new EventJsonWriter(objectMapper);
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    private EventResponse[] events;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime eventDateTime = LocalDateTime.of(2026, 6, 1, 18, 30);
+        events = new EventResponse[ELEMENTS];
+        for (int i = 0; i < ELEMENTS; i++) {
+            events[i] = new EventResponse((long) i, "Event " + i, "Bhubaneswar", eventDateTime.plusMinutes(i),
+                    "Description of event " + i, EventStatus.values()[i % EventStatus.values().length]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void beanSerializedList() throws IOException {
+        List<EventResponse> list = new ArrayList<>();
+        for (EventResponse event : events) {
+            list.add(event);
+        }
+        objectMapper.writeValue(out, list);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void streamingWriter() throws IOException {
+        eventJsonWriter.writeArray(Arrays.stream(events), out);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StreamingJsonWriterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.entity.Event;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link EventCatalogSnapshotStore} merges its overlay of newer changes into the mapped snapshot,
+ * for point reads and for every page of the listing.
+ *
+ * @author Priyansu
+ */
+class EventCatalogSnapshotStoreTest {
+
+    private static final Comparator<EventResponse> LISTING_ORDER =
+            Comparator.comparing(EventResponse::eventDateTime).thenComparing(EventResponse::id).reversed();
+
+    @TempDir
+    private Path directory;
+
+    private final Random random = new Random(42);
+    private final Map<Long, EventResponse> expected = new LinkedHashMap<>();
+    private EventCatalogSnapshotStore store;
+
+    @BeforeEach
+    void mapSnapshot() throws IOException {
+        Path path = directory.resolve("event-catalog.snapshot");
+        EventCatalogSnapshotWriter writer = new EventCatalogSnapshotWriter();
+        for (long id = 1; id <= 200; id++) {
+            Event event = EventCatalogSnapshotTest.event(id, "Event " + id, "Hall", null, randomDate(), EventStatus.UPCOMING);
+            writer.add(event);
+            expected.put(id, EventCatalogSnapshotTest.toResponse(event));
+        }
+        writer.writeTo(path, LocalDateTime.now());
+
+        store = new EventCatalogSnapshotStore(null, null, null, null);
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "path", path);
+        ReflectionTestUtils.setField(store, "deletionRetention", Duration.ofDays(1));
+        store.load();
+    }
+
+    @Test
+    void overlayShadowsPointReads() {
+        assertTrue(store.isWarmingUp());
+        assertEquals(Optional.of(expected.get(5L)), store.find(5));
+
+        EventResponse updated = withDate(expected.get(5L), randomDate());
+        store.onEventChange(new EventChange(EventChangeType.UPDATED, 5L, updated, LocalDateTime.now()));
+        store.onEventChange(new EventChange(EventChangeType.DELETED, 6L, null, LocalDateTime.now()));
+
+        assertEquals(Optional.of(updated), store.find(5));
+        assertEquals(Optional.empty(), store.find(6));
+        assertEquals(Optional.empty(), store.find(1_000));
+    }
+
+    @Test
+    void olderChangeDoesNotReplaceNewerOne() {
+        LocalDateTime now = LocalDateTime.now();
+        EventResponse newer = withDate(expected.get(9L), randomDate());
+        store.onEventChange(new EventChange(EventChangeType.UPDATED, 9L, newer, now));
+        store.onEventChange(new EventChange(EventChangeType.DELETED, 9L, null, now.minusSeconds(1)));
+
+        assertEquals(Optional.of(newer), store.find(9));
+    }
+
+    @Test
+    void pagesMatchTheMergedCatalog() {
+        assertPagesMatch();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 200; id += 3) {
+            EventResponse moved = withDate(expected.get(id), randomDate());
+            store.onEventChange(new EventChange(EventChangeType.UPDATED, id, moved, now));
+            expected.put(id, moved);
+        }
+        for (long id = 2; id <= 200; id += 7) {
+            store.onEventChange(new EventChange(EventChangeType.DELETED, id, null, now));
+            expected.remove(id);
+        }
+        for (long id = 201; id <= 230; id++) {
+            EventResponse created = new EventResponse(id, "Event " + id, "Hall", randomDate(), null, EventStatus.UPCOMING);
+            store.onEventChange(new EventChange(EventChangeType.CREATED, id, created, now));
+            expected.put(id, created);
+        }
+        assertPagesMatch();
+    }
+
+    @Test
+    void pagesPastTheEndAreEmpty() {
+        store.onEventChange(new EventChange(EventChangeType.DELETED, 1L, null, LocalDateTime.now()));
+
+        Page<EventResponse> page = store.findPage(100, 10);
+
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(199, page.getTotalElements());
+        assertFalse(page.hasNext());
+    }
+
+    private void assertPagesMatch() {
+        List<EventResponse> merged = new ArrayList<>(expected.values());
+        merged.sort(LISTING_ORDER);
+        for (int size : new int[]{1, 7, 20, 250}) {
+            for (int page = 0; page * size <= merged.size(); page++) {
+                Page<EventResponse> actual = store.findPage(page, size);
+                List<EventResponse> slice = merged.subList(page * size, Math.min((page + 1) * size, merged.size()));
+                assertEquals(slice, actual.getContent(), "Page " + page + " of size " + size);
+                assertEquals(merged.size(), actual.getTotalElements());
+            }
+        }
+    }
+
+    private LocalDateTime randomDate() {
+        // Few distinct dates, so that ties are broken by ID
+        return LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(random.nextInt(40));
+    }
+
+    private static EventResponse withDate(EventResponse event, LocalDateTime eventDateTime) {
+        return new EventResponse(event.id(), event.name(), event.location(), eventDateTime, event.description(),
+                event.status());
+    }
+}
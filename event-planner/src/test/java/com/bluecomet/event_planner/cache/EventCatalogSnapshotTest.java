@@ -0,0 +1,134 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.entity.Event;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round-trips events through {@link EventCatalogSnapshotWriter} and {@link EventCatalogSnapshot}.
+ *
+ * @author Priyansu
+ */
+class EventCatalogSnapshotTest {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void eventsRoundTrip() throws IOException {
+        List<Event> events = List.of(
+                event(7, "Launch", "Bhubaneswar", "Product launch", LocalDateTime.of(2025, 5, 1, 18, 30), EventStatus.UPCOMING),
+                event(3, "Meetup", "Cuttack", null, LocalDateTime.of(2024, 12, 24, 9, 0, 0, 5_000), EventStatus.COMPLETED),
+                event(11, "Meetup", "Bhubaneswar", "Ünïcödé ✓", LocalDateTime.of(2025, 5, 1, 18, 30), EventStatus.CANCELLED));
+
+        EventCatalogSnapshot snapshot = write(events);
+
+        assertEquals(WATERMARK, snapshot.watermark());
+        assertEquals(3, snapshot.size());
+        for (Event event : events) {
+            int row = snapshot.rowOf(event.getId());
+            assertEquals(toResponse(event), snapshot.eventAt(row));
+            assertEquals(event.getUpdatedAt(), snapshot.updatedAtAt(row));
+        }
+        assertEquals(-1, snapshot.rowOf(5));
+        assertEquals(-1, snapshot.rowOf(12));
+    }
+
+    @Test
+    void dateIndexOrdersByDateThenIdDescending() throws IOException {
+        List<Event> events = new ArrayList<>();
+        for (int id = 1; id <= 50; id++) {
+            events.add(event(id, "Event " + id, "Hall", null, LocalDateTime.of(2025, 1, 1 + id % 7, 10, 0), EventStatus.UPCOMING));
+        }
+        EventCatalogSnapshot snapshot = write(events);
+
+        List<Long> expected = events.stream()
+                .sorted(Comparator.comparing(Event::getEventDateTime).thenComparing(Event::getId).reversed())
+                .map(Event::getId)
+                .toList();
+        List<Long> actual = new ArrayList<>();
+        for (int position = 0; position < snapshot.size(); position++) {
+            int row = snapshot.rowInDateOrder(position);
+            actual.add(snapshot.idAt(row));
+            assertEquals(position, snapshot.positionInDateOrder(row));
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void emptyCatalogRoundTrips() throws IOException {
+        EventCatalogSnapshot snapshot = write(List.of());
+
+        assertEquals(0, snapshot.size());
+        assertEquals(-1, snapshot.rowOf(1));
+    }
+
+    @Test
+    void rejectsForeignAndNewerFiles() throws IOException {
+        Path foreign = directory.resolve("foreign.snapshot");
+        Files.write(foreign, new byte[EventCatalogSnapshot.HEADER_BYTES]);
+        assertThrows(IllegalArgumentException.class, () -> EventCatalogSnapshot.open(foreign));
+
+        Path newer = directory.resolve("newer.snapshot");
+        Files.write(newer, ByteBuffer.allocate(EventCatalogSnapshot.HEADER_BYTES)
+                .putInt(EventCatalogSnapshot.MAGIC)
+                .putInt(EventCatalogSnapshot.FORMAT_VERSION + 1)
+                .array());
+        assertThrows(IllegalArgumentException.class, () -> EventCatalogSnapshot.open(newer));
+    }
+
+    @Test
+    void rewriteLeavesNoTemporaryFile() throws IOException {
+        write(List.of(event(1, "First", "Hall", null, WATERMARK, EventStatus.UPCOMING)));
+        EventCatalogSnapshot snapshot = write(List.of(event(2, "Second", "Hall", null, WATERMARK, EventStatus.UPCOMING)));
+
+        assertEquals(-1, snapshot.rowOf(1));
+        assertEquals(0, snapshot.rowOf(2));
+        try (var files = Files.list(directory)) {
+            assertFalse(files.anyMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    private EventCatalogSnapshot write(List<Event> events) throws IOException {
+        Path path = directory.resolve("event-catalog.snapshot");
+        EventCatalogSnapshotWriter writer = new EventCatalogSnapshotWriter();
+        events.forEach(writer::add);
+        writer.writeTo(path, WATERMARK);
+        return EventCatalogSnapshot.open(path);
+    }
+
+    static Event event(long id, String name, String location, String description, LocalDateTime eventDateTime,
+                       EventStatus status) {
+        return Event.builder()
+                .id(id)
+                .name(name)
+                .location(location)
+                .description(description)
+                .eventDateTime(eventDateTime)
+                .status(status)
+                .updatedAt(WATERMARK.minusMinutes(id))
+                .build();
+    }
+
+    static EventResponse toResponse(Event event) {
+        return new EventResponse(event.getId(), event.getName(), event.getLocation(), event.getEventDateTime(),
+                event.getDescription(), event.getStatus());
+    }
+}
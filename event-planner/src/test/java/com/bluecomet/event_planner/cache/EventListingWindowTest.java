@@ -0,0 +1,100 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.mapper.EventMapper;
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.entity.Event;
+import com.bluecomet.event_planner.model.exchange.EventResponse;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link EventListingWindow} keeps its window and total in step with committed changes.
+ *
+ * @author Priyansu
+ */
+class EventListingWindowTest {
+
+    private final List<Event> events = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final EventMapper eventMapper = new EventMapper();
+    private EventListingWindow window;
+
+    @BeforeEach
+    void loadWindow() {
+        for (long id = 1; id <= 5; id++) {
+            events.add(EventCatalogSnapshotTest.event(id, "Event " + id, "Hall", null,
+                    LocalDateTime.of(2025, 1, (int) id, 10, 0), EventStatus.UPCOMING));
+        }
+        EventRepository eventRepository = (EventRepository) Proxy.newProxyInstance(
+                EventRepository.class.getClassLoader(), new Class<?>[]{EventRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findAll") || args.length != 1 || !(args[0] instanceof Pageable pageable)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    loads.incrementAndGet();
+                    List<Event> sorted = events.stream()
+                            .sorted(Comparator.comparing(Event::getEventDateTime).thenComparing(Event::getId).reversed())
+                            .limit(pageable.getPageSize())
+                            .toList();
+                    return new PageImpl<>(sorted, pageable, events.size());
+                });
+        window = new EventListingWindow(eventRepository, eventMapper);
+        ReflectionTestUtils.setField(window, "capacity", 3);
+        window.refresh();
+    }
+
+    @Test
+    void changesAfterTheLoadAreApplied() {
+        Event created = EventCatalogSnapshotTest.event(6, "Event 6", "Hall", null,
+                LocalDateTime.of(2025, 2, 1, 10, 0), EventStatus.UPCOMING);
+        window.onEventChange(new EventChange(EventChangeType.CREATED, 6L, eventMapper.toResponse(created),
+                LocalDateTime.now().plusSeconds(1)));
+
+        Page<EventResponse> page = window.findPage(0, 3).orElseThrow();
+
+        assertEquals(List.of(6L, 5L, 4L), page.getContent().stream().map(EventResponse::id).toList());
+        assertEquals(6, page.getTotalElements());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void creationCommittedBeforeTheLoadIsNotCountedTwice() {
+        Event created = EventCatalogSnapshotTest.event(6, "Event 6", "Hall", null,
+                LocalDateTime.of(2024, 1, 1, 10, 0), EventStatus.UPCOMING);
+        LocalDateTime occurredAt = LocalDateTime.now().minusSeconds(1);
+        // Committed before the load, so the load counted it, but its listener only runs now
+        events.add(created);
+        window.refresh();
+        window.onEventChange(new EventChange(EventChangeType.CREATED, 6L, eventMapper.toResponse(created), occurredAt));
+
+        assertEquals(6, window.findPage(0, 3).orElseThrow().getTotalElements());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void deletionLeavesPagesPastTheWindowToTheDatabase() {
+        window.onEventChange(new EventChange(EventChangeType.DELETED, 4L, null, LocalDateTime.now().plusSeconds(1)));
+
+        assertEquals(List.of(5L, 3L), window.findPage(0, 2).orElseThrow().getContent().stream()
+                .map(EventResponse::id).toList());
+        assertEquals(4, window.findPage(0, 2).orElseThrow().getTotalElements());
+        assertTrue(window.findPage(1, 2).isEmpty());
+    }
+}
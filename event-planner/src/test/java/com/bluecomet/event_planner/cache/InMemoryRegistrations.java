@@ -0,0 +1,56 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.vo.RegistrationKey;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * {@link RegistrationKeyScanner} over committed registrations held in memory, for testing the indexes fed by
+ * it without a database.
+ *
+ * @author Priyansu
+ */
+class InMemoryRegistrations extends RegistrationKeyScanner {
+
+    private final List<Row> rows = new CopyOnWriteArrayList<>();
+
+    InMemoryRegistrations() {
+        super(null, null);
+    }
+
+    /**
+     * Records a registration as committed.
+     */
+    void commit(long id, long userId, long eventId, LocalDateTime registeredAt) {
+        rows.add(new Row(new RegistrationKey(id, userId, eventId), registeredAt));
+    }
+
+    @Override
+    public ScanResult scan(long afterId, Consumer<List<RegistrationKey>> consumer) {
+        return feed(afterId, row -> row.key().id() > afterId, consumer);
+    }
+
+    @Override
+    public ScanResult scanSince(LocalDateTime since, Consumer<List<RegistrationKey>> consumer) {
+        return feed(0L, row -> !row.registeredAt().isBefore(since), consumer);
+    }
+
+    private ScanResult feed(long afterId, Predicate<Row> selected, Consumer<List<RegistrationKey>> consumer) {
+        List<RegistrationKey> keys = rows.stream()
+                .filter(selected)
+                .map(Row::key)
+                .sorted(Comparator.comparing(RegistrationKey::id))
+                .toList();
+        if (!keys.isEmpty()) {
+            consumer.accept(keys);
+        }
+        return new ScanResult(keys.size(), keys.isEmpty() ? afterId : keys.get(keys.size() - 1).id());
+    }
+
+    private record Row(RegistrationKey key, LocalDateTime registeredAt) {}
+}
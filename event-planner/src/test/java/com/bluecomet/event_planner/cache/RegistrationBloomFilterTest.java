@@ -0,0 +1,115 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.change.RegistrationChange;
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link RegistrationBloomFilter} never reports a committed registration as absent, and counts
+ * how its possible hits turn out.
+ *
+ * @author Priyansu
+ */
+class RegistrationBloomFilterTest {
+
+    private final InMemoryRegistrations registrations = new InMemoryRegistrations();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RegistrationBloomFilter bloomFilter;
+
+    @BeforeEach
+    void createFilter() {
+        bloomFilter = new RegistrationBloomFilter(registrations, meterRegistry);
+        ReflectionTestUtils.setField(bloomFilter, "expectedInsertions", 100L);
+        ReflectionTestUtils.setField(bloomFilter, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(bloomFilter, "catchUpOverlap", Duration.ofMinutes(1));
+        ReflectionTestUtils.invokeMethod(bloomFilter, "registerMetrics");
+
+        LocalDateTime registeredAt = LocalDateTime.now().minusHours(1);
+        for (long userId = 1; userId <= 50; userId++) {
+            registrations.commit(10_000 + userId, userId, 100, registeredAt);
+        }
+    }
+
+    @Test
+    void nothingIsRuledOutBeforeTheBuild() {
+        assertFalse(bloomFilter.isDefinitelyNotRegistered(1, 100));
+        assertFalse(bloomFilter.isDefinitelyNotRegistered(1, 999));
+    }
+
+    @Test
+    void buildAddsEveryCommittedRegistration() {
+        bloomFilter.build();
+
+        for (long userId = 1; userId <= 50; userId++) {
+            assertFalse(bloomFilter.isDefinitelyNotRegistered(userId, 100));
+        }
+        long ruledOut = LongStream.rangeClosed(1, 100)
+                .filter(userId -> bloomFilter.isDefinitelyNotRegistered(userId, 999))
+                .count();
+        assertTrue(ruledOut >= 90, ruledOut + " of 100 unregistered pairs ruled out");
+    }
+
+    @Test
+    void catchUpFindsLowIdsCommittedAfterTheLastScan() {
+        bloomFilter.build();
+        registrations.commit(7, 500, 200, LocalDateTime.now().minusSeconds(30));
+
+        bloomFilter.catchUp();
+
+        assertFalse(bloomFilter.isDefinitelyNotRegistered(500, 200));
+    }
+
+    @Test
+    void localRegistrationsAreAddedAsSoonAsTheyAreInserted() {
+        bloomFilter.build();
+
+        bloomFilter.onRegistrationChange(new RegistrationChange(300L, 20_000L, 600L, null, RegistrationStatus.PENDING));
+
+        assertFalse(bloomFilter.isDefinitelyNotRegistered(600, 300));
+    }
+
+    @Test
+    void grownFilterIsRebuiltAsOneStage() {
+        bloomFilter.build();
+        for (long userId = 1; userId <= 500; userId++) {
+            bloomFilter.onRegistrationChange(new RegistrationChange(400L, 30_000L + userId, userId, null,
+                    RegistrationStatus.PENDING));
+            registrations.commit(30_000 + userId, userId, 400, LocalDateTime.now());
+        }
+        assertTrue(gauge("registration.bloom.stages") > 1);
+
+        bloomFilter.rebuildIfGrown();
+
+        assertEquals(1, gauge("registration.bloom.stages"));
+        for (long userId = 1; userId <= 500; userId++) {
+            assertFalse(bloomFilter.isDefinitelyNotRegistered(userId, 400));
+        }
+    }
+
+    @Test
+    void possibleHitsAreCountedByOutcome() {
+        bloomFilter.build();
+
+        bloomFilter.recordPossibleHit(true);
+        bloomFilter.recordPossibleHit(false);
+        bloomFilter.recordPossibleHit(false);
+
+        assertEquals(1, meterRegistry.counter("registration.bloom.checks", "result", "hit").count());
+        assertEquals(2, meterRegistry.counter("registration.bloom.checks", "result", "false_positive").count());
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
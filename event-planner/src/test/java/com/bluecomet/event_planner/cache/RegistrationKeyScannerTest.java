@@ -0,0 +1,117 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.vo.RegistrationKey;
+import com.bluecomet.event_planner.repository.EventRegistrationRepository;
+import com.bluecomet.event_planner.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that {@link RegistrationKeyScanner} pages through every shard in chunks, by ID and by registration
+ * time.
+ *
+ * @author Priyansu
+ */
+class RegistrationKeyScannerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private final Map<String, List<Row>> shards = Map.of(
+            "east", List.of(row(1, 10, NOW.minusHours(2)), row(4, 11, NOW.minusHours(1)), row(6, 12, NOW),
+                    row(9, 13, NOW.minusMinutes(1))),
+            "west", List.of(row(2, 20, NOW.minusHours(2)), row(3, 21, NOW.minusSeconds(5))));
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private String currentShard;
+    private RegistrationKeyScanner scanner;
+
+    @BeforeEach
+    void createScanner() {
+        EventRegistrationRepository repository = (EventRegistrationRepository) Proxy.newProxyInstance(
+                EventRegistrationRepository.class.getClassLoader(), new Class<?>[]{EventRegistrationRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findKeysAfter" -> page(row -> row.key().id() > (Long) args[0], (Pageable) args[1]);
+                    case "findKeysRegisteredSince" -> page(row -> !row.registeredAt().isBefore((LocalDateTime) args[0])
+                            && row.key().id() > (Long) args[1], (Pageable) args[2]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        ShardRouter shardRouter = new ShardRouter(null, null, null) {
+            @Override
+            public Set<String> shardNames() {
+                return new LinkedHashSet<>(List.of("east", "west"));
+            }
+
+            @Override
+            public <T> T onShard(String shard, boolean readOnly, TransactionCallback<T> work) {
+                currentShard = shard;
+                return work.doInTransaction(null);
+            }
+        };
+        scanner = new RegistrationKeyScanner(repository, shardRouter);
+        ReflectionTestUtils.setField(scanner, "chunkSize", 2);
+    }
+
+    @Test
+    void scanFeedsEveryShardInChunks() {
+        List<Long> ids = new ArrayList<>();
+
+        RegistrationKeyScanner.ScanResult result = scanner.scan(0L, chunk -> {
+            chunkSizes.add(chunk.size());
+            chunk.forEach(key -> ids.add(key.id()));
+        });
+
+        assertEquals(List.of(1L, 4L, 6L, 9L, 2L, 3L), ids);
+        assertEquals(6, result.scanned());
+        assertEquals(9, result.lastId());
+        assertEquals(List.of(2, 2, 2), chunkSizes);
+    }
+
+    @Test
+    void scanStartsAfterTheGivenId() {
+        List<Long> ids = new ArrayList<>();
+
+        RegistrationKeyScanner.ScanResult result = scanner.scan(3L, chunk -> chunk.forEach(key -> ids.add(key.id())));
+
+        assertEquals(List.of(4L, 6L, 9L), ids);
+        assertEquals(9, result.lastId());
+    }
+
+    @Test
+    void scanSinceFindsRecentRegistrationsWhateverTheirIds() {
+        List<Long> ids = new ArrayList<>();
+
+        RegistrationKeyScanner.ScanResult result = scanner.scanSince(NOW.minusMinutes(5),
+                chunk -> chunk.forEach(key -> ids.add(key.id())));
+
+        assertEquals(List.of(6L, 9L, 3L), ids);
+        assertEquals(3, result.scanned());
+    }
+
+    private List<RegistrationKey> page(Predicate<Row> selected, Pageable pageable) {
+        return shards.get(currentShard).stream()
+                .filter(selected)
+                .map(Row::key)
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    private static Row row(long id, long userId, LocalDateTime registeredAt) {
+        return new Row(new RegistrationKey(id, userId, 100L), registeredAt);
+    }
+
+    private record Row(RegistrationKey key, LocalDateTime registeredAt) {}
+}
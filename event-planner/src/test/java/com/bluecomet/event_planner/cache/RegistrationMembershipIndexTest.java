@@ -0,0 +1,108 @@
+package com.bluecomet.event_planner.cache;
+
+import com.bluecomet.event_planner.model.change.EventChange;
+import com.bluecomet.event_planner.model.change.RegistrationChange;
+import com.bluecomet.event_planner.model.vo.EventChangeType;
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link RegistrationMembershipIndex} is built from, and catches up with, the committed
+ * registrations, and forgets the members of removed events.
+ *
+ * @author Priyansu
+ */
+class RegistrationMembershipIndexTest {
+
+    private final InMemoryRegistrations registrations = new InMemoryRegistrations();
+    private RegistrationMembershipIndex index;
+
+    @BeforeEach
+    void createIndex() {
+        index = new RegistrationMembershipIndex(registrations, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "catchUpOverlap", Duration.ofMinutes(1));
+        ReflectionTestUtils.invokeMethod(index, "registerMetrics");
+
+        LocalDateTime registeredAt = LocalDateTime.now().minusHours(1);
+        registrations.commit(10_001, 1, 100, registeredAt);
+        registrations.commit(10_002, 1, 200, registeredAt);
+        registrations.commit(10_003, 2, 100, registeredAt);
+    }
+
+    @Test
+    void buildIndexesEveryCommittedRegistration() {
+        assertFalse(index.isReady());
+        assertFalse(index.isRegistered(1, 100));
+
+        index.build();
+
+        assertTrue(index.isReady());
+        assertTrue(index.isRegistered(1, 100));
+        assertTrue(index.isRegistered(2, 100));
+        assertFalse(index.isRegistered(2, 200));
+        assertArrayEquals(new long[]{100, 200}, index.eventsForUser(1));
+        assertEquals(2, index.attendeeCount(100));
+        assertTrue(index.memoryFootprintBytes() > 0);
+    }
+
+    @Test
+    void catchUpFindsLowIdsCommittedAfterTheLastScan() {
+        index.build();
+        // Made on another node before the build scan with an ID from an older block, committed after it
+        registrations.commit(5, 3, 100, LocalDateTime.now().minusSeconds(30));
+        registrations.commit(10_004, 4, 300, LocalDateTime.now());
+
+        index.catchUp();
+
+        assertTrue(index.isRegistered(3, 100));
+        assertTrue(index.isRegistered(4, 300));
+        assertEquals(3, index.attendeeCount(100));
+    }
+
+    @Test
+    void catchUpBeforeTheBuildDoesNothing() {
+        index.catchUp();
+
+        assertFalse(index.isRegistered(1, 100));
+    }
+
+    @Test
+    void localRegistrationsAreAddedOnCommit() {
+        index.build();
+
+        index.onRegistrationChange(new RegistrationChange(300L, 10_010L, 5L, null, RegistrationStatus.PENDING));
+        index.onRegistrationChange(new RegistrationChange(400L, 10_011L, 5L, RegistrationStatus.PENDING,
+                RegistrationStatus.CONFIRMED));
+
+        assertTrue(index.isRegistered(5, 300));
+        assertFalse(index.isRegistered(5, 400));
+    }
+
+    @Test
+    void removedEventsLoseTheirMembers() {
+        index.build();
+
+        index.onEventChange(new EventChange(EventChangeType.DELETED, 100L, null, LocalDateTime.now()));
+        index.onEventChange(new EventChange(EventChangeType.UPDATED, 200L, null, LocalDateTime.now()));
+
+        assertFalse(index.isRegistered(1, 100));
+        assertFalse(index.isRegistered(2, 100));
+        assertEquals(0, index.attendeeCount(100));
+        assertArrayEquals(new long[]{200}, index.eventsForUser(1));
+        assertArrayEquals(new long[0], index.eventsForUser(2));
+
+        index.onEventChange(new EventChange(EventChangeType.ARCHIVED, 200L, null, LocalDateTime.now()));
+        assertArrayEquals(new long[0], index.eventsForUser(1));
+    }
+}
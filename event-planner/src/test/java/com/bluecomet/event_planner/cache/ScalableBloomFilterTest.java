@@ -0,0 +1,78 @@
+package com.bluecomet.event_planner.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link ScalableBloomFilter}: no false negatives as it grows, and a false-positive rate close to the
+ * configured one.
+ *
+ * @author Priyansu
+ */
+class ScalableBloomFilterTest {
+
+    @Test
+    void addedPairsAreNeverRuledOut() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (long user = 0; user < 1_000; user++) {
+            filter.put(user, user % 17);
+        }
+
+        for (long user = 0; user < 1_000; user++) {
+            assertTrue(filter.mightContain(user, user % 17));
+        }
+        assertEquals(1, filter.stageCount());
+    }
+
+    @Test
+    void pairOrderMatters() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.001);
+        filter.put(1, 2);
+
+        assertTrue(filter.mightContain(1, 2));
+        assertFalse(filter.mightContain(2, 1));
+    }
+
+    @Test
+    void growsNewStagesWithoutLosingPairs() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        for (long user = 0; user < 1_000; user++) {
+            filter.put(user, 42);
+        }
+
+        assertTrue(filter.stageCount() > 1);
+        for (long user = 0; user < 1_000; user++) {
+            assertTrue(filter.mightContain(user, 42));
+        }
+        assertTrue(filter.size() <= 1_000);
+        assertTrue(filter.memoryFootprintBytes() > 0);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTarget() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(10_000, 0.01);
+        for (long user = 0; user < 10_000; user++) {
+            filter.put(user, 7);
+        }
+
+        int falsePositives = 0;
+        for (long user = 10_000; user < 110_000; user++) {
+            if (filter.mightContain(user, 7)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives / 100_000.0 < 0.02, "Observed false-positive rate " + falsePositives / 100_000.0);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1.0));
+    }
+}
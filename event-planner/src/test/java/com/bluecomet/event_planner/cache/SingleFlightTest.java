@@ -0,0 +1,123 @@
+package com.bluecomet.event_planner.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks how {@link SingleFlight} shares one execution between concurrent callers, and what waiters get when
+ * that execution fails or takes too long.
+ *
+ * @author Priyansu
+ */
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch leaderRunning = new CountDownLatch(1);
+    private final CountDownLatch releaseLeader = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void stopExecutor() {
+        releaseLeader.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void waitersShareTheLeadersResult() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        Future<String> leader = executor.submit(() -> flight.execute(1L, () -> blockingLoad("shared")));
+        assertTrue(leaderRunning.await(5, TimeUnit.SECONDS));
+        Future<String> waiter = executor.submit(() -> flight.execute(1L, () -> load("own")));
+        Thread.sleep(100);
+        releaseLeader.countDown();
+
+        assertEquals("shared", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("shared", waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1, count("coalesced"));
+    }
+
+    @Test
+    void leaderFailureIsRethrownToWaiters() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+        Future<String> leader = executor.submit(() -> flight.execute(1L, () -> {
+            blockingLoad("unused");
+            throw failure;
+        }));
+        assertTrue(leaderRunning.await(5, TimeUnit.SECONDS));
+        Future<String> waiter = executor.submit(() -> flight.execute(1L, () -> load("own")));
+        Thread.sleep(100);
+        releaseLeader.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertSame(failure, leaderFailure.getCause());
+        assertSame(failure, waiterFailure.getCause());
+        assertEquals(1, loads.get());
+
+        // The failed flight is not kept, so the next call runs the loader again
+        assertEquals("retried", flight.execute(1L, () -> load("retried")));
+    }
+
+    @Test
+    void waiterFallsBackToItsOwnLoadAfterTheTimeout() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofMillis(50), meterRegistry);
+        Future<String> leader = executor.submit(() -> flight.execute(1L, () -> blockingLoad("stuck")));
+        assertTrue(leaderRunning.await(5, TimeUnit.SECONDS));
+
+        assertEquals("own", flight.execute(1L, () -> load("own")));
+        assertEquals(1, count("timeout"));
+
+        releaseLeader.countDown();
+        assertEquals("stuck", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void differentKeysDoNotWaitForEachOther() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        executor.submit(() -> flight.execute(1L, () -> blockingLoad("first")));
+        assertTrue(leaderRunning.await(5, TimeUnit.SECONDS));
+
+        assertEquals("second", flight.execute(2L, () -> load("second")));
+        assertEquals(0, count("coalesced"));
+        assertEquals(2, count("leader"));
+    }
+
+    private String blockingLoad(String value) {
+        loads.incrementAndGet();
+        leaderRunning.countDown();
+        try {
+            releaseLeader.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("single.flight.calls", "name", "test", "result", result).count();
+    }
+}
@@ -0,0 +1,145 @@
+package com.bluecomet.event_planner.filter;
+
+import com.bluecomet.event_planner.cache.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link IdempotencyFilter} runs a keyed request once and replays its response to retries.
+ *
+ * @author Priyansu
+ */
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"name\":\"Launch\",\"location\":\"Bhubaneswar\"}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        IdempotencyStore store = new IdempotencyStore();
+        ReflectionTestUtils.setField(store, "maxKeys", 100L);
+        ReflectionTestUtils.setField(store, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.invokeMethod(store, "createCache");
+
+        filter = new IdempotencyFilter(store, new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        ReflectionTestUtils.setField(filter, "paths", Set.of("/v1/events"));
+        ReflectionTestUtils.setField(filter, "waitTimeout", Duration.ofSeconds(5));
+    }
+
+    @Test
+    void retryWithTheSameBodyIsReplayed() throws Exception {
+        MockHttpServletResponse first = send(BODY, echo());
+        MockHttpServletResponse retry = send(BODY, echo());
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals(BODY, retry.getContentAsString());
+        assertEquals("/v1/events/1", retry.getHeader("Location"));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void retryWithAnotherBodyIsRejected() throws Exception {
+        send(BODY, echo());
+        MockHttpServletResponse retry = send(BODY.replace("Launch", "Relaunch"), echo());
+
+        assertEquals(1, executions.get());
+        assertEquals(422, retry.getStatus());
+        assertEquals(1, meterRegistry.counter("idempotency.requests", "outcome", "mismatch").count());
+    }
+
+    @Test
+    void controllerThatReadsPartOfTheBodyStillGetsReplays() throws Exception {
+        FilterChain readsOneByte = (request, response) -> {
+            executions.incrementAndGet();
+            request.getInputStream().read();
+            ((HttpServletResponse) response).setStatus(201);
+        };
+        send(BODY, readsOneByte);
+        MockHttpServletResponse retry = send(BODY, readsOneByte);
+
+        assertEquals(1, executions.get());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void concurrentRetryWaitsForTheFirstRequest() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            echo().doFilter(request, response);
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> sendUnchecked(slow));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MockHttpServletResponse> retry = CompletableFuture.supplyAsync(() -> sendUnchecked(echo()));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals(201, first.get(5, TimeUnit.SECONDS).getStatus());
+        MockHttpServletResponse replayed = retry.get(5, TimeUnit.SECONDS);
+        assertEquals(1, executions.get());
+        assertEquals(BODY, replayed.getContentAsString());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    private FilterChain echo() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            byte[] body = request.getInputStream().readAllBytes();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(201);
+            httpResponse.setContentType("application/json");
+            httpResponse.setHeader("Location", "/v1/events/1");
+            httpResponse.getOutputStream().write(body);
+        };
+    }
+
+    private MockHttpServletResponse send(String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/events");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse sendUnchecked(FilterChain chain) {
+        try {
+            return send(BODY, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
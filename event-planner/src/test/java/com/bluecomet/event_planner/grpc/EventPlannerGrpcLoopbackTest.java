@@ -0,0 +1,164 @@
+package com.bluecomet.event_planner.grpc;
+
+import com.bluecomet.event_planner.grpc.v1.BatchGetEventsRequest;
+import com.bluecomet.event_planner.grpc.v1.BatchGetEventsResponse;
+import com.bluecomet.event_planner.grpc.v1.Event;
+import com.bluecomet.event_planner.grpc.v1.EventPlannerGrpc;
+import com.bluecomet.event_planner.grpc.v1.GetEventRequest;
+import com.bluecomet.event_planner.grpc.v1.ListRegistrationsRequest;
+import com.bluecomet.event_planner.grpc.v1.RegisterUserRequest;
+import com.bluecomet.event_planner.grpc.v1.RegisterUsersResponse;
+import com.bluecomet.event_planner.grpc.v1.Registration;
+import com.bluecomet.event_planner.grpc.v1.RegistrationRejection;
+import com.bluecomet.event_planner.grpc.v1.RejectionReason;
+import com.bluecomet.event_planner.model.exchange.EventRequest;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner.service.impl.EventService;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Exercises the gRPC API end to end over a loopback connection to the server started by the application, with
+ * batches and pages small enough that the calls cross their boundaries.
+ *
+ * @author Priyansu
+ */
+@SpringBootTest
+@ActiveProfiles("grpc")
+class EventPlannerGrpcLoopbackTest {
+
+    private static final AtomicLong USER_IDS = new AtomicLong();
+    private static final AtomicLong EVENT_NUMBERS = new AtomicLong();
+
+    @Autowired
+    private GrpcServerLifecycle grpcServer;
+
+    @Autowired
+    private EventService eventService;
+
+    private ManagedChannel channel;
+    private long eventId;
+    private String eventName;
+
+    @BeforeEach
+    void connect() {
+        channel = Grpc.newChannelBuilderForAddress("localhost", grpcServer.getPort(), InsecureChannelCredentials.create())
+                .build();
+        eventName = "gRPC loopback event " + EVENT_NUMBERS.incrementAndGet();
+        eventId = eventService.createEvent(new EventRequest(eventName, "Bhubaneswar",
+                LocalDateTime.now().plusDays(30), "Event used by the gRPC loopback test", EventStatus.UPCOMING)).id();
+    }
+
+    @AfterEach
+    void disconnect() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void getEvent() {
+        Event event = EventPlannerGrpc.newBlockingStub(channel)
+                .getEvent(GetEventRequest.newBuilder().setId(eventId).build());
+
+        assertEquals(eventId, event.getId());
+        assertEquals(eventName, event.getName());
+        assertEquals(com.bluecomet.event_planner.grpc.v1.EventStatus.EVENT_STATUS_UPCOMING, event.getStatus());
+    }
+
+    @Test
+    void getUnknownEventFailsWithNotFound() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () -> EventPlannerGrpc.newBlockingStub(channel)
+                .getEvent(GetEventRequest.newBuilder().setId(Long.MAX_VALUE).build()));
+
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+
+    @Test
+    void batchGetEventsReportsMissingIds() {
+        BatchGetEventsResponse response = EventPlannerGrpc.newBlockingStub(channel)
+                .batchGetEvents(BatchGetEventsRequest.newBuilder().addIds(eventId).addIds(Long.MAX_VALUE).build());
+
+        assertEquals(1, response.getEventsCount());
+        assertEquals(eventId, response.getEvents(0).getId());
+        assertEquals(List.of(Long.MAX_VALUE), response.getMissingIdsList());
+    }
+
+    @Test
+    void registerUsersInBatchesThenListThem() throws Exception {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            userIds.add(USER_IDS.incrementAndGet());
+        }
+
+        CompletableFuture<RegisterUsersResponse> result = new CompletableFuture<>();
+        StreamObserver<RegisterUserRequest> requests = EventPlannerGrpc.newStub(channel)
+                .registerUsers(completing(result));
+        for (Long userId : userIds) {
+            requests.onNext(RegisterUserRequest.newBuilder().setEventId(eventId).setUserId(userId).build());
+        }
+        // A duplicate within the stream and a registration for an unknown event
+        requests.onNext(RegisterUserRequest.newBuilder().setEventId(eventId).setUserId(userIds.get(0)).build());
+        requests.onNext(RegisterUserRequest.newBuilder().setEventId(Long.MAX_VALUE).setUserId(userIds.get(1)).build());
+        requests.onCompleted();
+
+        RegisterUsersResponse response = result.get(30, TimeUnit.SECONDS);
+        assertEquals(27, response.getReceived());
+        assertEquals(25, response.getRegistered());
+        assertEquals(List.of(25, 26), response.getRejectionsList().stream().map(RegistrationRejection::getIndex).toList());
+        assertEquals(RejectionReason.REJECTION_REASON_REGISTRATION_ALREADY_EXISTS, response.getRejections(0).getReason());
+        assertEquals(RejectionReason.REJECTION_REASON_EVENT_NOT_FOUND, response.getRejections(1).getReason());
+
+        List<Long> listed = new ArrayList<>();
+        EventPlannerGrpc.newBlockingStub(channel)
+                .listRegistrations(ListRegistrationsRequest.newBuilder().setEventId(eventId).build())
+                .forEachRemaining((Registration registration) -> listed.add(registration.getUserId()));
+        assertEquals(userIds, listed);
+    }
+
+    @Test
+    void listRegistrationsOfUnknownEventFailsWithNotFound() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () -> EventPlannerGrpc.newBlockingStub(channel)
+                .listRegistrations(ListRegistrationsRequest.newBuilder().setEventId(Long.MAX_VALUE).build())
+                .hasNext());
+
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+
+    private static <T> StreamObserver<T> completing(CompletableFuture<T> result) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(T value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                result.complete(null);
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.bluecomet.event_planner.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allocation and lock contention of the request threads of one scenario, read from a flight recording.
+ * <p>
+ * Allocated bytes are summed from the TLAB refill and outside-TLAB events, which account for every byte the
+ * thread allocates. Allocation sites come from the weighted {@code jdk.ObjectAllocationSample} events and are
+ * keyed by the innermost application frame, falling back to the top frame. Lock wait is the time spent in
+ * contended monitor enters and parks.
+ * </p>
+ *
+ * @param requests       the number of requests recorded
+ * @param allocatedBytes the bytes allocated by the request threads
+ * @param siteBytes      the estimated bytes allocated per site
+ * @param lockWait       the time the request threads spent waiting for locks
+ *
+ * @author Priyansu
+ */
+record JfrProfile(
+    int requests,
+    long allocatedBytes,
+    Map<String, Long> siteBytes,
+    Duration lockWait
+) {
+
+    private static final String APPLICATION_PACKAGE = "com.bluecomet.event_planner.";
+    private static final String HARNESS_PACKAGE = APPLICATION_PACKAGE + "jfr.";
+
+    static JfrProfile read(Path recording, String threadNamePrefix, int requests) throws IOException {
+        long allocatedBytes = 0;
+        Map<String, Long> siteBytes = new HashMap<>();
+        Duration lockWait = Duration.ZERO;
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            RecordedThread thread = event.getThread();
+            if (thread == null || thread.getJavaName() == null || !thread.getJavaName().startsWith(threadNamePrefix)) {
+                continue;
+            }
+            switch (event.getEventType().getName()) {
+                case "jdk.ObjectAllocationInNewTLAB" -> allocatedBytes += event.getLong("tlabSize");
+                case "jdk.ObjectAllocationOutsideTLAB" -> allocatedBytes += event.getLong("allocationSize");
+                case "jdk.ObjectAllocationSample" -> siteBytes.merge(site(event.getStackTrace()), event.getLong("weight"), Long::sum);
+                case "jdk.JavaMonitorEnter", "jdk.ThreadPark" -> lockWait = lockWait.plus(event.getDuration());
+                default -> { }
+            }
+        }
+        return new JfrProfile(requests, allocatedBytes, siteBytes, lockWait);
+    }
+
+    long bytesPerRequest() {
+        return allocatedBytes / requests;
+    }
+
+    long topSiteBytesPerRequest() {
+        return siteBytes.values().stream().mapToLong(Long::longValue).max().orElse(0) / requests;
+    }
+
+    double lockWaitMillisPerRequest() {
+        return lockWait.toNanos() / 1_000_000.0 / requests;
+    }
+
+    List<Map.Entry<String, Long>> topSites(int limit) {
+        return siteBytes.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    String describe(String scenario) {
+        StringBuilder summary = new StringBuilder()
+                .append(scenario).append(": ")
+                .append(bytesPerRequest()).append(" B/request, ")
+                .append(String.format("%.3f", lockWaitMillisPerRequest())).append(" ms lock wait/request");
+        for (Map.Entry<String, Long> site : topSites(5)) {
+            summary.append(System.lineSeparator())
+                    .append("    ").append(site.getValue() / requests).append(" B/request  ").append(site.getKey());
+        }
+        return summary.toString();
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<unknown>";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (frame.isJavaFrame() && type.startsWith(APPLICATION_PACKAGE) && !type.startsWith(HARNESS_PACKAGE)) {
+                return name(frame);
+            }
+        }
+        return name(stackTrace.getFrames().get(0));
+    }
+
+    private static String name(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
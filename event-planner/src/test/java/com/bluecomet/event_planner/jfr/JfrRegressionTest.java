@@ -0,0 +1,247 @@
+package com.bluecomet.event_planner.jfr;
+
+import com.bluecomet.event_planner.model.exchange.EventRequest;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Allocation and lock contention regression tests for the event and registration endpoints.
+ * <p>
+ * Each scenario is warmed up, then replayed from several threads under a Java Flight Recorder session against
+ * an embedded H2 database in MySQL mode. The recording is parsed into a {@link JfrProfile} and checked against
+ * the budgets in {@code src/test/resources/jfr/thresholds.properties}. Recordings, summaries and the measured
+ * values are kept under {@code target/jfr} for inspection.
+ * </p>
+ * <p>
+ * The figures include the MockMvc request and response objects, so they compare runs of this harness with each
+ * other rather than with production traffic. They depend on timing and the number of cores, so the default build
+ * excludes them; run them with {@code ./mvnw test -Pjfr} on at least {@value #THREADS} cores.
+ * </p>
+ *
+ * @author Priyansu
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("jfr")
+@Tag("jfr")
+class JfrRegressionTest {
+
+    private static final String THREAD_PREFIX = "jfr-scenario-";
+    private static final int THREADS = 4;
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int MEASURED_REQUESTS = 400;
+    private static final Path OUTPUT = Path.of("target", "jfr");
+
+    private static final Properties THRESHOLDS = loadThresholds();
+    private static final Properties MEASURED = new Properties();
+
+    private static final AtomicLong USER_IDS = new AtomicLong();
+    private static final AtomicLong EVENT_NUMBERS = new AtomicLong();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long eventId;
+
+    @BeforeEach
+    void createEvent() throws Exception {
+        String created = mockMvc.perform(post("/v1/events").contentType(APPLICATION_JSON).content(eventJson()))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        eventId = objectMapper.readTree(created).get("id").asLong();
+    }
+
+    @AfterAll
+    static void writeMeasured() throws IOException {
+        Files.createDirectories(OUTPUT);
+        try (OutputStream out = Files.newOutputStream(OUTPUT.resolve("measured.properties"))) {
+            MEASURED.store(out, "Measured by JfrRegressionTest");
+        }
+    }
+
+    @Test
+    void getEvent() throws Exception {
+        runScenario("get-event", status().isOk(),
+                i -> get("/v1/events/" + eventId).contentType(APPLICATION_JSON));
+    }
+
+    @Test
+    void listEvents() throws Exception {
+        runScenario("list-events", status().isOk(),
+                i -> get("/v1/events").param("page", "0").param("size", "20").contentType(APPLICATION_JSON));
+    }
+
+    @Test
+    void createEvents() throws Exception {
+        runScenario("create-event", status().isCreated(),
+                i -> post("/v1/events").contentType(APPLICATION_JSON).content(eventJson()));
+    }
+
+    @Test
+    void registerUsers() throws Exception {
+        runScenario("register-user", status().isOk(),
+                i -> post("/v1/event-registrations").contentType(APPLICATION_JSON)
+                        .content(registrationJson(USER_IDS.incrementAndGet())));
+    }
+
+    @Test
+    void rejectDuplicateRegistrations() throws Exception {
+        long userId = USER_IDS.incrementAndGet();
+        mockMvc.perform(post("/v1/event-registrations").contentType(APPLICATION_JSON).content(registrationJson(userId)))
+                .andExpect(status().isOk());
+
+        String duplicate = registrationJson(userId);
+        runScenario("duplicate-registration", status().isConflict(),
+                i -> post("/v1/event-registrations").contentType(APPLICATION_JSON).content(duplicate));
+    }
+
+    @Test
+    void getRegistrationsByEvent() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(post("/v1/event-registrations").contentType(APPLICATION_JSON)
+                            .content(registrationJson(USER_IDS.incrementAndGet())))
+                    .andExpect(status().isOk());
+        }
+        runScenario("registrations-by-event", status().isOk(),
+                i -> get("/v1/event-registrations/event/" + eventId));
+    }
+
+    /**
+     * Builds a new event request body; event names are unique, so every call gets its own name.
+     */
+    private String eventJson() {
+        try {
+            return objectMapper.writeValueAsString(new EventRequest("JFR scenario event " + EVENT_NUMBERS.incrementAndGet(),
+                    "Bhubaneswar", LocalDateTime.now().plusDays(30), "Event used by the JFR regression scenarios",
+                    EventStatus.UPCOMING));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String registrationJson(long userId) {
+        return "{\"eventId\":" + eventId + ",\"userId\":" + userId + "}";
+    }
+
+    private void runScenario(String scenario, ResultMatcher expected, IntFunction<RequestBuilder> request)
+            throws Exception {
+        perform(WARMUP_REQUESTS, expected, request);
+
+        Files.createDirectories(OUTPUT);
+        Path file = OUTPUT.resolve(scenario + ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.setName(scenario);
+            recording.enable("jdk.ObjectAllocationInNewTLAB").withoutStackTrace();
+            recording.enable("jdk.ObjectAllocationOutsideTLAB").withoutStackTrace();
+            recording.enable("jdk.ObjectAllocationSample").with("throttle", "10000/s").withStackTrace();
+            recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ZERO).withStackTrace();
+            recording.enable("jdk.ThreadPark").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            perform(MEASURED_REQUESTS, expected, request);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        JfrProfile profile = JfrProfile.read(file, THREAD_PREFIX, MEASURED_REQUESTS);
+        String summary = profile.describe(scenario);
+        Files.writeString(OUTPUT.resolve(scenario + ".txt"), summary);
+        MEASURED.setProperty(scenario + ".bytes-per-request", Long.toString(profile.bytesPerRequest()));
+        MEASURED.setProperty(scenario + ".top-site-bytes-per-request", Long.toString(profile.topSiteBytesPerRequest()));
+        MEASURED.setProperty(scenario + ".lock-wait-ms-per-request", String.format("%.3f", profile.lockWaitMillisPerRequest()));
+
+        long maxBytes = Long.parseLong(threshold(scenario, "bytes-per-request"));
+        long maxSiteBytes = Long.parseLong(threshold(scenario, "top-site-bytes-per-request"));
+        double maxLockWait = Double.parseDouble(threshold(scenario, "lock-wait-ms-per-request"));
+        assertAll(scenario,
+                () -> assertTrue(profile.bytesPerRequest() <= maxBytes,
+                        () -> "Allocation per request exceeds " + maxBytes + " B\n" + summary),
+                () -> assertTrue(profile.topSiteBytesPerRequest() <= maxSiteBytes,
+                        () -> "Top allocation site exceeds " + maxSiteBytes + " B per request\n" + summary),
+                () -> assertTrue(profile.lockWaitMillisPerRequest() <= maxLockWait,
+                        () -> "Lock wait per request exceeds " + maxLockWait + " ms\n" + summary));
+    }
+
+    /**
+     * Sends {@code count} requests from {@value #THREADS} freshly started threads, so that the threads never idle
+     * between requests and every park they record is a wait on a lock.
+     */
+    private void perform(int count, ResultMatcher expected, IntFunction<RequestBuilder> request)
+            throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>(THREADS);
+        Thread.Builder builder = Thread.ofPlatform().name(THREAD_PREFIX, 0);
+        for (int t = 0; t < THREADS; t++) {
+            threads.add(builder.start(() -> {
+                for (int i = next.getAndIncrement(); i < count && failure.get() == null; i = next.getAndIncrement()) {
+                    try {
+                        mockMvc.perform(request.apply(i)).andExpect(expected);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("Scenario request failed", failure.get());
+        }
+    }
+
+    private static String threshold(String scenario, String key) {
+        return THRESHOLDS.getProperty(scenario + "." + key, THRESHOLDS.getProperty("default." + key));
+    }
+
+    private static Properties loadThresholds() {
+        Properties thresholds = new Properties();
+        try (InputStream in = JfrRegressionTest.class.getResourceAsStream("/jfr/thresholds.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("jfr/thresholds.properties is missing from the test classpath");
+            }
+            thresholds.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read jfr/thresholds.properties", e);
+        }
+        return thresholds;
+    }
+}
@@ -0,0 +1,118 @@
+package com.bluecomet.event_planner.resource;
+
+import com.bluecomet.event_planner.model.exchange.EventRequest;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the event endpoints negotiate CBOR: responses requested with {@code Accept: application/cbor}
+ * decode to the same document as their JSON counterpart, and CBOR request bodies are accepted.
+ *
+ * @author Priyansu
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("cbor")
+class CborNegotiationTest {
+
+    private static final AtomicLong EVENT_NUMBERS = new AtomicLong();
+    private static final CBORMapper CBOR = new CBORMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long eventId;
+
+    @BeforeEach
+    void createEvent() throws Exception {
+        MvcResult created = mockMvc.perform(post("/v1/events").contentType(APPLICATION_JSON).content(eventJson()))
+                .andExpect(status().isCreated())
+                .andReturn();
+        eventId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    @Test
+    void eventIsServedAsCbor() throws Exception {
+        assertSameDocument(() -> get("/v1/events/" + eventId).contentType(APPLICATION_JSON), 200);
+    }
+
+    @Test
+    void pageIsServedAsCbor() throws Exception {
+        assertSameDocument(() -> get("/v1/events").param("page", "0").param("size", "5").contentType(APPLICATION_JSON),
+                200);
+    }
+
+    @Test
+    void errorBodyIsServedAsCbor() throws Exception {
+        JsonNode error = readCbor(get("/v1/events/" + Long.MAX_VALUE).contentType(APPLICATION_JSON), 404);
+
+        assertEquals(404, error.get("status").asInt());
+        assertEquals("/v1/events/" + Long.MAX_VALUE, error.get("path").asText());
+    }
+
+    @Test
+    void eventIsCreatedFromCbor() throws Exception {
+        JsonNode request = objectMapper.readTree(eventJson());
+
+        JsonNode created = readCbor(post("/v1/events").contentType(APPLICATION_CBOR)
+                .content(CBOR.writeValueAsBytes(request)), 201);
+
+        assertEquals(request.get("name").asText(), created.get("name").asText());
+        assertEquals(request.get("location").asText(), created.get("location").asText());
+    }
+
+    /**
+     * Requests the same resource as JSON and as CBOR and compares the decoded documents. The CBOR document is
+     * re-read through JSON so that number node types do not depend on the encoding's integer widths.
+     */
+    private void assertSameDocument(Supplier<MockHttpServletRequestBuilder> request, int expectedStatus)
+            throws Exception {
+        JsonNode cbor = readCbor(request.get(), expectedStatus);
+        JsonNode json = objectMapper.readTree(mockMvc.perform(request.get().accept(APPLICATION_JSON))
+                .andExpect(status().is(expectedStatus))
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString());
+
+        assertEquals(json, objectMapper.readTree(objectMapper.writeValueAsString(cbor)));
+    }
+
+    private JsonNode readCbor(MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+        byte[] body = mockMvc.perform(request.accept(APPLICATION_CBOR))
+                .andExpect(status().is(expectedStatus))
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        return CBOR.readTree(body);
+    }
+
+    private String eventJson() throws Exception {
+        return objectMapper.writeValueAsString(new EventRequest("CBOR event " + EVENT_NUMBERS.incrementAndGet(),
+                "Bhubaneswar", LocalDateTime.now().plusDays(30), "Event used by the CBOR negotiation test",
+                EventStatus.UPCOMING));
+    }
+}
@@ -0,0 +1,121 @@
+package com.bluecomet.event_planner.service.impl;
+
+import com.bluecomet.event_planner.model.entity.EventRegistrationStats;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationRequest;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationStatsResponse;
+import com.bluecomet.event_planner.model.exchange.EventRequest;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner.repository.EventRegistrationStatsRepository;
+import com.bluecomet.event_planner.service.api.EventRegistrationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks the registration counters against H2: the MySQL upsert and delta statements of the summary table,
+ * the deltas applied by registration changes, and the reconcile recount.
+ *
+ * @author Priyansu
+ */
+@SpringBootTest
+@ActiveProfiles("sharding")
+class RegistrationStatsServiceTest {
+
+    private static final AtomicLong USER_IDS = new AtomicLong(1_000_000);
+    private static final AtomicLong EVENT_NUMBERS = new AtomicLong();
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+
+    @Autowired
+    private RegistrationStatsService registrationStatsService;
+
+    @Autowired
+    private EventRegistrationStatsRepository eventRegistrationStatsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void upsertInsertsThenOverwritesTheRow() {
+        long eventId = createEvent();
+
+        transactionTemplate.executeWithoutResult(status -> eventRegistrationStatsRepository.upsert(eventId, 1L, 2L, 3L));
+        assertCounts(eventId, 1, 2, 3);
+
+        transactionTemplate.executeWithoutResult(status -> eventRegistrationStatsRepository.upsert(eventId, 4L, 5L, 6L));
+        assertCounts(eventId, 4, 5, 6);
+
+        int updated = transactionTemplate.execute(status -> eventRegistrationStatsRepository.applyDelta(eventId, -1L, 1L, 0L));
+        assertEquals(1, updated);
+        assertCounts(eventId, 3, 6, 6);
+    }
+
+    @Test
+    void applyDeltaLeavesMissingRowsAlone() {
+        long eventId = createEvent();
+
+        int updated = transactionTemplate.execute(status -> eventRegistrationStatsRepository.applyDelta(eventId, 1L, 0L, 0L));
+
+        assertEquals(0, updated);
+        assertFalse(eventRegistrationStatsRepository.existsById(eventId));
+    }
+
+    @Test
+    void registrationChangesAreCountedOnTheSummaryRow() {
+        long eventId = createEvent();
+        long cancelledUser = USER_IDS.incrementAndGet();
+        register(cancelledUser, eventId);
+        register(USER_IDS.incrementAndGet(), eventId);
+        register(USER_IDS.incrementAndGet(), eventId);
+        eventRegistrationService.cancelRegistration(cancelledUser, eventId);
+
+        assertCounts(eventId, 2, 0, 1);
+        EventRegistrationStatsResponse stats = registrationStatsService.getStats(eventId);
+        assertEquals(new EventRegistrationStatsResponse(eventId, 2, 0, 1, 3), stats);
+    }
+
+    @Test
+    void reconcileRecountsDriftedRows() {
+        long eventId = createEvent();
+        register(USER_IDS.incrementAndGet(), eventId);
+        register(USER_IDS.incrementAndGet(), eventId);
+        registrationStatsService.getStats(eventId);
+        transactionTemplate.executeWithoutResult(status -> eventRegistrationStatsRepository.upsert(eventId, 9L, 9L, 9L));
+
+        registrationStatsService.reconcile();
+
+        assertCounts(eventId, 2, 0, 0);
+        assertEquals(new EventRegistrationStatsResponse(eventId, 2, 0, 0, 2), registrationStatsService.getStats(eventId));
+    }
+
+    private void assertCounts(long eventId, long pending, long confirmed, long cancelled) {
+        EventRegistrationStats stats = eventRegistrationStatsRepository.findById(eventId).orElseThrow();
+        assertEquals(pending, stats.getPendingCount());
+        assertEquals(confirmed, stats.getConfirmedCount());
+        assertEquals(cancelled, stats.getCancelledCount());
+    }
+
+    private long createEvent() {
+        return eventService.createEvent(new EventRequest("Stats event " + EVENT_NUMBERS.incrementAndGet(), "Bhubaneswar",
+                LocalDateTime.now().plusDays(30), "Event used by the registration stats test", EventStatus.UPCOMING)).id();
+    }
+
+    private void register(long userId, long eventId) {
+        EventRegistrationRequest request = new EventRegistrationRequest();
+        request.setEventId(eventId);
+        request.setUserId(userId);
+        eventRegistrationService.registerUserForEvent(request);
+    }
+}
@@ -0,0 +1,214 @@
+package com.bluecomet.event_planner.shard;
+
+import com.bluecomet.event_planner.exception.ShardUnavailableException;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationRequest;
+import com.bluecomet.event_planner.model.exchange.EventRegistrationResponse;
+import com.bluecomet.event_planner.model.exchange.EventRequest;
+import com.bluecomet.event_planner.model.exchange.RegistrationShardReport.BucketMoveResult;
+import com.bluecomet.event_planner.model.vo.EventStatus;
+import com.bluecomet.event_planner.model.vo.Outcome;
+import com.bluecomet.event_planner.model.vo.RegistrationStatus;
+import com.bluecomet.event_planner.model.vo.Rejection;
+import com.bluecomet.event_planner.model.vo.ShardBucketState;
+import com.bluecomet.event_planner.repository.EventRepository;
+import com.bluecomet.event_planner.service.api.EventRegistrationService;
+import com.bluecomet.event_planner.service.impl.EventDeletionService;
+import com.bluecomet.event_planner.service.impl.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the registration flows against a primary H2 database and two more H2 shards, checking where the rows
+ * end up and that a bucket move keeps them readable and writable.
+ *
+ * @author Priyansu
+ */
+@SpringBootTest
+@ActiveProfiles("sharding")
+class RegistrationShardingTest {
+
+    private static final AtomicLong USER_IDS = new AtomicLong();
+    private static final AtomicLong EVENT_NUMBERS = new AtomicLong();
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+
+    @Autowired
+    private RegistrationShardMap registrationShardMap;
+
+    @Autowired
+    private RegistrationShards registrationShards;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private EventDeletionService eventDeletionService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void registrationsLandOnTheShardOfTheirEvent() {
+        for (int i = 0; i < 3; i++) {
+            long eventId = createEvent();
+            register(USER_IDS.incrementAndGet(), eventId);
+
+            String shard = registrationShardMap.shardOf(eventId);
+            for (String name : registrationShards.names()) {
+                assertEquals(name.equals(shard) ? 1 : 0, countOn(name, eventId), "Registrations on shard " + name);
+            }
+        }
+    }
+
+    @Test
+    void registrationsOfAUserAreGatheredFromAllShards() {
+        long userId = USER_IDS.incrementAndGet();
+        List<Long> eventIds = List.of(createEvent(), createEvent(), createEvent());
+        eventIds.forEach(eventId -> register(userId, eventId));
+
+        List<EventRegistrationResponse> registrations = eventRegistrationService.getRegistrationsByUser(userId);
+
+        assertEquals(eventIds, registrations.stream().map(EventRegistrationResponse::eventId).toList());
+    }
+
+    @Test
+    void movedBucketStaysReadableAndWritable() {
+        long eventId = createEvent();
+        for (int i = 0; i < 5; i++) {
+            register(USER_IDS.incrementAndGet(), eventId);
+        }
+        int bucket = registrationShardMap.bucketOf(eventId);
+        String source = registrationShardMap.shardOfBucket(bucket);
+        String target = registrationShards.names().stream().filter(name -> !name.equals(source)).findFirst().orElseThrow();
+
+        BucketMoveResult result = shardRebalancer.move(bucket, target);
+
+        assertNull(result.error());
+        assertEquals(target, registrationShardMap.shardOf(eventId));
+        assertEquals(0, countOn(source, eventId));
+        assertEquals(5, countOn(target, eventId));
+        assertEquals(5, eventRegistrationService.getRegistrationsByEvent(eventId).size());
+
+        long userId = USER_IDS.incrementAndGet();
+        register(userId, eventId);
+        assertInstanceOf(Outcome.Success.class, eventRegistrationService.tryCancelRegistration(userId, eventId));
+        assertEquals(RegistrationStatus.CANCELLED,
+                eventRegistrationService.getRegistrationsByUser(userId).get(0).registrationStatus());
+        assertEquals(6, countOn(target, eventId));
+    }
+
+    @Test
+    void frozenBucketRejectsWrites() {
+        long eventId = createEvent();
+        int bucket = registrationShardMap.bucketOf(eventId);
+        String shard = registrationShardMap.shardOfBucket(bucket);
+
+        registrationShardMap.assign(bucket, shard, ShardBucketState.FROZEN);
+        try {
+            EventRegistrationRequest request = request(USER_IDS.incrementAndGet(), eventId);
+            assertThrows(ShardUnavailableException.class, () -> eventRegistrationService.tryRegisterUserForEvent(request));
+            assertEquals(0, eventRegistrationService.getRegistrationsByEvent(eventId).size());
+        } finally {
+            registrationShardMap.assign(bucket, shard, ShardBucketState.ACTIVE);
+        }
+    }
+
+    @Test
+    void deletedEventTakesItsRegistrationsAlong() {
+        long eventId = createEvent();
+        long userId = USER_IDS.incrementAndGet();
+        register(userId, eventId);
+
+        eventService.deleteEvent(eventId);
+
+        assertEquals(0, countOn(registrationShardMap.shardOf(eventId), eventId));
+        assertTrue(eventRegistrationService.getRegistrationsByUser(userId).isEmpty());
+    }
+
+    @Test
+    void deletionWaitsForRegistrationsInFlight() throws Exception {
+        long eventId = createEvent();
+        long userId = USER_IDS.incrementAndGet();
+
+        // Keep the registering primary transaction, and its share lock on the event, open while the deletion starts
+        CompletableFuture<Void> deletion = transactionTemplate.execute(status -> {
+            register(userId, eventId);
+            CompletableFuture<Void> started = CompletableFuture.runAsync(() -> eventService.deleteEvent(eventId));
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertFalse(started.isDone(), "Deletion should wait for the registration to commit");
+            return started;
+        });
+        deletion.get(10, TimeUnit.SECONDS);
+
+        assertEquals(0, countOn(registrationShardMap.shardOf(eventId), eventId));
+        Outcome<EventRegistrationResponse> late = eventRegistrationService.tryRegisterUserForEvent(
+                request(USER_IDS.incrementAndGet(), eventId));
+        assertEquals(Rejection.EVENT_NOT_FOUND, assertInstanceOf(Outcome.Failure.class, late).rejection());
+        assertEquals(0, countOn(registrationShardMap.shardOf(eventId), eventId));
+    }
+
+    @Test
+    void orphanSweepDeletesRegistrationsWithoutAnEvent() {
+        long eventId = createEvent();
+        register(USER_IDS.incrementAndGet(), eventId);
+        long keptEventId = createEvent();
+        register(USER_IDS.incrementAndGet(), keptEventId);
+
+        // Delete the event row alone, as if the node died before deleting its registrations
+        eventRepository.deleteById(eventId);
+        eventDeletionService.sweepOrphanedRegistrations();
+
+        assertEquals(0, countOn(registrationShardMap.shardOf(eventId), eventId));
+        assertEquals(1, countOn(registrationShardMap.shardOf(keptEventId), keptEventId));
+    }
+
+    private long createEvent() {
+        return eventService.createEvent(new EventRequest("Sharding event " + EVENT_NUMBERS.incrementAndGet(), "Bhubaneswar",
+                LocalDateTime.now().plusDays(30), "Event used by the sharding test", EventStatus.UPCOMING)).id();
+    }
+
+    private void register(long userId, long eventId) {
+        assertInstanceOf(Outcome.Success.class, eventRegistrationService.tryRegisterUserForEvent(request(userId, eventId)));
+    }
+
+    private static EventRegistrationRequest request(long userId, long eventId) {
+        EventRegistrationRequest request = new EventRegistrationRequest();
+        request.setEventId(eventId);
+        request.setUserId(userId);
+        return request;
+    }
+
+    private long countOn(String shard, long eventId) {
+        return registrationShards.get(shard).jdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM event_registrations WHERE event_id = :eventId",
+                new MapSqlParameterSource("eventId", eventId), Long.class);
+    }
+}